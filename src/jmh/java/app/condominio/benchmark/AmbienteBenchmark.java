@@ -0,0 +1,118 @@
+package app.condominio.benchmark;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.condominio.BancoTeste;
+import app.condominio.CondominioApplication;
+import app.condominio.dao.GeradorDados;
+import app.condominio.service.EncargosService;
+import app.condominio.service.SaldoMensalService;
+import app.condominio.service.UsuarioAutenticado;
+
+/**
+ * Sobe a aplicação com o perfil benchmark (MySQL do BancoTeste, um contêiner
+ * por fork), popula o banco com o GeradorDados e autentica o síndico do
+ * Condomínio sintético para todas as threads do JMH.
+ */
+@State(Scope.Benchmark)
+public class AmbienteBenchmark {
+
+	private ConfigurableApplicationContext contexto;
+
+	private TransactionTemplate leitura;
+
+	@Setup(Level.Trial)
+	public void subir() throws Exception {
+		contexto = new SpringApplicationBuilder(CondominioApplication.class).profiles("benchmark")
+				.properties(BancoTeste.propriedades()).run();
+		Long idCondominio = popular(contexto);
+		Long idUsuario = contexto.getBean(JdbcTemplate.class)
+				.queryForObject("select id from usuarios where username = ?", Long.class, "sindico" + idCondominio);
+
+		SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+		UsuarioAutenticado sindico = new UsuarioAutenticado("sindico" + idCondominio, "", true,
+				Collections.singletonList(new SimpleGrantedAuthority("SINDICO")), idUsuario, idCondominio,
+				"Síndico Benchmark");
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(sindico, null, sindico.getAuthorities()));
+
+		leitura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+		leitura.setReadOnly(true);
+	}
+
+	/**
+	 * Gera o Condomínio sintético com os volumes do perfil benchmark e o mesmo
+	 * estado derivado que a aplicação mantém em produção. O síndico dele é o
+	 * usuário "sindico" + id, com a senha "sindico".
+	 *
+	 * @return Retorna o id do Condomínio gerado.
+	 */
+	static Long popular(ConfigurableApplicationContext contexto) {
+		Environment ambiente = contexto.getEnvironment();
+		GeradorDados gerador = new GeradorDados(ambiente.getProperty("benchmark.semente", Long.class));
+		gerador.setContas(ambiente.getProperty("benchmark.contas", Integer.class));
+		gerador.setBlocos(ambiente.getProperty("benchmark.blocos", Integer.class));
+		gerador.setMoradiasPorBloco(ambiente.getProperty("benchmark.moradias-por-bloco", Integer.class));
+		gerador.setGruposPorTipo(ambiente.getProperty("benchmark.grupos-por-tipo", Integer.class));
+		gerador.setSubcategoriasPorGrupo(ambiente.getProperty("benchmark.subcategorias-por-grupo", Integer.class));
+		gerador.setAnos(ambiente.getProperty("benchmark.anos", Integer.class));
+		gerador.setLancamentosPorMes(ambiente.getProperty("benchmark.lancamentos-por-mes", Integer.class));
+		gerador.setTransferenciasPorMes(ambiente.getProperty("benchmark.transferencias-por-mes", Integer.class));
+		gerador.setReferencia(referencia(contexto));
+		Long idCondominio = gerador.gerar(contexto.getBean(DataSource.class)).get(0);
+		contexto.getBean(SaldoMensalService.class).reconstruir();
+		contexto.getBean(EncargosService.class).atualizarVencidas();
+		return idCondominio;
+	}
+
+	/**
+	 * @return Retorna a data em que terminam os dados gerados, que os benchmarks
+	 *         usam como "hoje" nos períodos dos relatórios.
+	 */
+	static LocalDate referencia(ConfigurableApplicationContext contexto) {
+		return LocalDate.parse(contexto.getEnvironment().getProperty("benchmark.referencia"));
+	}
+
+	public LocalDate getReferencia() {
+		return referencia(contexto);
+	}
+
+	@TearDown(Level.Trial)
+	public void descer() {
+		SecurityContextHolder.clearContext();
+		contexto.close();
+	}
+
+	public <T> T getBean(Class<T> tipo) {
+		return contexto.getBean(tipo);
+	}
+
+	/**
+	 * Executa como uma requisição web: numa transação somente leitura que mantém
+	 * a sessão aberta para as coleções carregadas sob demanda, como o
+	 * open-session-in-view faz nos controllers.
+	 */
+	public <T> T emRequisicao(Supplier<T> operacao) {
+		return leitura.execute(status -> operacao.get());
+	}
+
+}
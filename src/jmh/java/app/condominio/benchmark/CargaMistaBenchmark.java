@@ -0,0 +1,198 @@
+package app.condominio.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import app.condominio.BancoTeste;
+import app.condominio.CondominioApplication;
+
+/**
+ * Vazão das requisições HTTP do síndico sob carga mista, com o pool de threads
+ * do Tomcat (virtuais=false) e com threads virtuais (virtuais=true, Java 21 ou
+ * superior). São mais clientes simultâneos que as 200 threads padrão do Tomcat:
+ * relatórios (balancete e painel) disputam o servidor e o banco com listagens
+ * de cadastro e com gravações (inclusão e alteração de Lançamentos, alteração
+ * de Cobranças), sobre o MySQL do BancoTeste.
+ * <p>
+ * O cache do painel fica desligado (tamanho 0): com ele, o painel mediria
+ * acertos no cache em vez das consultas, e as gravações só apareceriam como
+ * invalidações.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Dhttp.maxConnections=512")
+public class CargaMistaBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean virtuais;
+
+	private ConfigurableApplicationContext contexto;
+
+	private int porta;
+
+	private String sindico;
+
+	private String balancete;
+
+	// Lançamentos do Período aberto e Cobranças em aberto, um de cada por thread
+	// de gravação, com os campos nos nomes do formulário de cadastro
+	private List<Map<String, Object>> lancamentos;
+
+	private List<Map<String, Object>> cobrancas;
+
+	private final AtomicInteger proximo = new AtomicInteger();
+
+	@Setup(Level.Trial)
+	public void subir() {
+		contexto = new SpringApplicationBuilder(CondominioApplication.class).profiles("benchmark")
+				.properties(BancoTeste.propriedades()).properties("condominio.threads.virtuais=" + virtuais)
+				.properties("condominio.painel.cache.tamanho=0").run();
+		Long idCondominio = AmbienteBenchmark.popular(contexto);
+		sindico = "sindico" + idCondominio;
+		porta = contexto.getEnvironment().getProperty("local.server.port", Integer.class);
+		LocalDate inicioAno = AmbienteBenchmark.referencia(contexto).withDayOfYear(1);
+		balancete = "inicio=" + inicioAno.minusYears(1) + "&fim=" + inicioAno.minusDays(1);
+
+		JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+		lancamentos = jdbcTemplate.queryForList("select m.idMovimento, m.data, m.documento, m.valor, m.reducao, "
+				+ "m.descricao, l.idPeriodo as periodo, m.idConta as conta, l.idSubcategoria as subcategoria "
+				+ "from movimentos m join lancamentos l on l.idMovimento = m.idMovimento "
+				+ "join periodos p on p.idPeriodo = l.idPeriodo "
+				+ "where p.idCondominio = ? and not p.encerrado order by m.idMovimento desc limit 256", idCondominio);
+		cobrancas = jdbcTemplate.queryForList("select idCobranca, idCondominio as condominio, idMoradia as moradia, "
+				+ "motivoEmissao, numero, parcela, dataEmissao, dataVencimento, valor, desconto, abatimento, "
+				+ "outrasDeducoes, jurosMora, multa, outrosAcrescimos, total, descricao, percentualJurosMes, "
+				+ "percentualMulta, situacao, dataRecebimento, motivoBaixa from cobrancas "
+				+ "where idCondominio = ? and dataRecebimento is null order by idCobranca desc limit 256",
+				idCondominio);
+	}
+
+	@TearDown(Level.Trial)
+	public void descer() {
+		contexto.close();
+	}
+
+	@State(Scope.Thread)
+	public static class Sessao {
+
+		private ClienteHttp cliente;
+
+		private String csrf;
+
+		private Map<String, Object> lancamento;
+
+		private Map<String, Object> cobranca;
+
+		private boolean alterado;
+
+		@Setup(Level.Trial)
+		public void entrar(CargaMistaBenchmark carga) throws IOException {
+			cliente = new ClienteHttp(carga.porta);
+			cliente.entrar(carga.sindico, "sindico");
+			csrf = ClienteHttp.csrf(cliente.get("/sindico/relatorios/balancete"));
+			int indice = carga.proximo.getAndIncrement();
+			lancamento = new LinkedHashMap<>(carga.lancamentos.get(indice % carga.lancamentos.size()));
+			cobranca = new LinkedHashMap<>(carga.cobrancas.get(indice % carga.cobrancas.size()));
+		}
+
+		// Cada alteração desfaz a anterior, para que todas mudem de fato o
+		// registro sem afastá-lo dos dados gerados
+		private boolean alternar() {
+			alterado = !alterado;
+			return alterado;
+		}
+
+		private String formulario(Map<String, Object> campos) throws IOException {
+			return ClienteHttp.formulario(campos) + "&_csrf=" + ClienteHttp.codificar(csrf);
+		}
+
+	}
+
+	@Benchmark
+	@Group("mista")
+	@GroupThreads(32)
+	public String balancete(Sessao sessao) throws IOException {
+		return sessao.cliente.post("/sindico/relatorios/balancete",
+				balancete + "&_csrf=" + ClienteHttp.codificar(sessao.csrf));
+	}
+
+	@Benchmark
+	@Group("mista")
+	@GroupThreads(32)
+	public String painel(Sessao sessao) throws IOException {
+		return sessao.cliente.get("/sindico/painel");
+	}
+
+	@Benchmark
+	@Group("mista")
+	@GroupThreads(96)
+	public String movimentos(Sessao sessao) throws IOException {
+		return sessao.cliente.get("/sindico/movimentos");
+	}
+
+	@Benchmark
+	@Group("mista")
+	@GroupThreads(96)
+	public String cobrancas(Sessao sessao) throws IOException {
+		return sessao.cliente.get("/sindico/cobrancas");
+	}
+
+	@Benchmark
+	@Group("mista")
+	@GroupThreads(16)
+	public String incluirLancamento(Sessao sessao) throws IOException {
+		Map<String, Object> campos = new LinkedHashMap<>(sessao.lancamento);
+		campos.put("idMovimento", null);
+		campos.put("periodo", null);
+		campos.put("documento", "BENCH");
+		return sessao.cliente.gravar("/sindico/movimentos/cadastro?L", "POST", sessao.formulario(campos));
+	}
+
+	@Benchmark
+	@Group("mista")
+	@GroupThreads(16)
+	public String alterarLancamento(Sessao sessao) throws IOException {
+		Map<String, Object> campos = new LinkedHashMap<>(sessao.lancamento);
+		BigDecimal valor = (BigDecimal) sessao.lancamento.get("valor");
+		campos.put("valor", sessao.alternar() ? valor.add(new BigDecimal("0.01")) : valor);
+		return sessao.cliente.gravar("/sindico/movimentos/cadastro?L", "PUT", sessao.formulario(campos));
+	}
+
+	@Benchmark
+	@Group("mista")
+	@GroupThreads(16)
+	public String alterarCobranca(Sessao sessao) throws IOException {
+		Map<String, Object> campos = new LinkedHashMap<>(sessao.cobranca);
+		campos.put("descricao", sessao.alternar() ? "Benchmark" : sessao.cobranca.get("descricao"));
+		return sessao.cliente.gravar("/sindico/cobrancas/cadastro", "PUT", sessao.formulario(campos));
+	}
+
+}
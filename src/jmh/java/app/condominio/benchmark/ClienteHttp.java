@@ -0,0 +1,148 @@
+package app.condominio.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cliente HTTP mínimo para as rotas do síndico: guarda o cookie de sessão e lê
+ * o token CSRF dos formulários renderizados pelo Thymeleaf. Uma instância por
+ * thread do JMH.
+ */
+class ClienteHttp {
+
+	private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+	private static final Pattern SESSAO = Pattern.compile("JSESSIONID=([^;]+)");
+
+	private final String base;
+
+	private String sessao;
+
+	ClienteHttp(int porta) {
+		this.base = "http://localhost:" + porta;
+	}
+
+	void entrar(String usuario, String senha) throws IOException {
+		String token = csrf(get("/entrar"));
+		HttpURLConnection conexao = enviar("/entrar", "POST",
+				"username=" + codificar(usuario) + "&password=" + codificar(senha) + "&_csrf=" + codificar(token));
+		String destino = conexao.getHeaderField("Location");
+		ler(conexao);
+		if (destino == null || destino.contains("erro")) {
+			throw new IOException("Falha ao entrar como " + usuario);
+		}
+	}
+
+	String get(String caminho) throws IOException {
+		HttpURLConnection conexao = abrir(caminho);
+		return ler(conexao);
+	}
+
+	String post(String caminho, String formulario) throws IOException {
+		return ler(enviar(caminho, "POST", formulario));
+	}
+
+	/**
+	 * Envia um formulário de cadastro, como POST (inclusão) ou PUT (alteração),
+	 * e exige o redirecionamento que o controller devolve quando grava: um
+	 * formulário recusado pela validação volta com 200 e não gravou nada.
+	 *
+	 * @return Retorna o destino do redirecionamento.
+	 */
+	String gravar(String caminho, String metodo, String formulario) throws IOException {
+		HttpURLConnection conexao = enviar(caminho, metodo, formulario);
+		String destino = conexao.getHeaderField("Location");
+		ler(conexao);
+		if (destino == null) {
+			throw new IOException("Formulário recusado em " + metodo + " " + caminho + ": " + formulario);
+		}
+		return destino;
+	}
+
+	static String csrf(String html) throws IOException {
+		Matcher matcher = CSRF.matcher(html);
+		if (!matcher.find()) {
+			throw new IOException("Página sem token CSRF");
+		}
+		return matcher.group(1);
+	}
+
+	static String codificar(String valor) throws IOException {
+		return URLEncoder.encode(valor, StandardCharsets.UTF_8.name());
+	}
+
+	/**
+	 * Monta o corpo application/x-www-form-urlencoded dos campos, na ordem do
+	 * mapa. Um valor nulo vai como campo vazio, como no formulário do navegador.
+	 */
+	static String formulario(Map<String, ?> campos) throws IOException {
+		StringBuilder corpo = new StringBuilder();
+		for (Map.Entry<String, ?> campo : campos.entrySet()) {
+			if (corpo.length() > 0) {
+				corpo.append('&');
+			}
+			corpo.append(codificar(campo.getKey())).append('=');
+			if (campo.getValue() != null) {
+				corpo.append(codificar(campo.getValue().toString()));
+			}
+		}
+		return corpo.toString();
+	}
+
+	private HttpURLConnection abrir(String caminho) throws IOException {
+		HttpURLConnection conexao = (HttpURLConnection) new URL(base + caminho).openConnection();
+		conexao.setInstanceFollowRedirects(false);
+		if (sessao != null) {
+			conexao.setRequestProperty("Cookie", "JSESSIONID=" + sessao);
+		}
+		return conexao;
+	}
+
+	private HttpURLConnection enviar(String caminho, String metodo, String formulario) throws IOException {
+		HttpURLConnection conexao = abrir(caminho);
+		conexao.setRequestMethod(metodo);
+		conexao.setDoOutput(true);
+		conexao.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+		try (OutputStream saida = conexao.getOutputStream()) {
+			saida.write(formulario.getBytes(StandardCharsets.UTF_8));
+		}
+		return conexao;
+	}
+
+	// Lê a resposta inteira, para que a renderização conte no tempo medido
+	private String ler(HttpURLConnection conexao) throws IOException {
+		int status = conexao.getResponseCode();
+		List<String> cookies = conexao.getHeaderFields().get("Set-Cookie");
+		if (cookies != null) {
+			for (String cookie : cookies) {
+				Matcher matcher = SESSAO.matcher(cookie);
+				if (matcher.find()) {
+					sessao = matcher.group(1);
+				}
+			}
+		}
+		if (status >= 400) {
+			throw new IOException("HTTP " + status + " em " + conexao.getURL());
+		}
+		ByteArrayOutputStream corpo = new ByteArrayOutputStream();
+		try (InputStream entrada = conexao.getInputStream()) {
+			byte[] buffer = new byte[8192];
+			int lidos;
+			while ((lidos = entrada.read(buffer)) != -1) {
+				corpo.write(buffer, 0, lidos);
+			}
+		}
+		return new String(corpo.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,87 @@
+package app.condominio.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import app.condominio.CondominioApplication;
+import app.condominio.dao.GeradorDados;
+import app.condominio.service.CacheEntidadesService;
+import app.condominio.service.EncargosService;
+import app.condominio.service.SaldoMensalService;
+
+/**
+ * Popula um banco vazio com Condomínios sintéticos, para testes de carga. Fica
+ * fora do artefato da aplicação, com o GeradorDados: é executado pelo perfil
+ * benchmark do Maven, sobre o banco configurado como na aplicação
+ * (SPRING_DATASOURCE_URL etc.), e recusa um banco que já tenha Condomínios.
+ * <p>
+ * As quantidades vêm das opções --semente, --condominios, --blocos,
+ * --moradias-por-bloco, --contas, --grupos-por-tipo, --subcategorias-por-grupo,
+ * --anos, --lancamentos-por-mes, --transferencias-por-mes, --senha (do síndico
+ * de cada Condomínio) e --referencia (a data, aaaa-mm-dd, em que terminam os
+ * dados gerados). Ao final reconstrói os saldos mensais e atualiza os encargos
+ * e o resumo de inadimplência, como a aplicação os manteria, e esvazia o cache
+ * de segundo nível, que não vê as gravações por JDBC.
+ */
+public class GeracaoDados {
+
+	private static final Logger log = LoggerFactory.getLogger(GeracaoDados.class);
+
+	public static void main(String[] argumentos) {
+		ApplicationArguments args = new DefaultApplicationArguments(argumentos);
+		try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(CondominioApplication.class)
+				.web(WebApplicationType.NONE).run(argumentos)) {
+			Long existentes = contexto.getBean(JdbcTemplate.class).queryForObject("select count(*) from condominios",
+					Long.class);
+			if (existentes != null && existentes > 0) {
+				throw new IllegalStateException(
+						"O banco já tem " + existentes + " condomínios: a geração só é feita num banco vazio");
+			}
+
+			GeradorDados gerador = new GeradorDados(opcao(args, "semente", 1));
+			gerador.setCondominios((int) opcao(args, "condominios", 1));
+			gerador.setBlocos((int) opcao(args, "blocos", 4));
+			gerador.setMoradiasPorBloco((int) opcao(args, "moradias-por-bloco", 40));
+			gerador.setContas((int) opcao(args, "contas", 3));
+			gerador.setGruposPorTipo((int) opcao(args, "grupos-por-tipo", 4));
+			gerador.setSubcategoriasPorGrupo((int) opcao(args, "subcategorias-por-grupo", 5));
+			gerador.setAnos((int) opcao(args, "anos", 3));
+			gerador.setLancamentosPorMes((int) opcao(args, "lancamentos-por-mes", 300));
+			gerador.setTransferenciasPorMes((int) opcao(args, "transferencias-por-mes", 10));
+			gerador.setSenhaSindico(contexto.getBean(PasswordEncoder.class)
+					.encode(args.containsOption("senha") ? args.getOptionValues("senha").get(0) : "sindico"));
+			if (args.containsOption("referencia") && !args.getOptionValues("referencia").isEmpty()) {
+				gerador.setReferencia(LocalDate.parse(args.getOptionValues("referencia").get(0)));
+			}
+
+			long inicio = System.currentTimeMillis();
+			List<Long> condominios = gerador.gerar(contexto.getBean(DataSource.class));
+			contexto.getBean(CacheEntidadesService.class).descartar();
+			log.info("Gerados {} condomínios em {} ms", condominios.size(), System.currentTimeMillis() - inicio);
+			contexto.getBean(SaldoMensalService.class).reconstruir();
+			contexto.getBean(EncargosService.class).atualizarVencidas();
+			log.info("Saldos mensais, encargos e inadimplência atualizados em {} ms",
+					System.currentTimeMillis() - inicio);
+		}
+	}
+
+	private static long opcao(ApplicationArguments args, String nome, long padrao) {
+		if (!args.containsOption(nome) || args.getOptionValues(nome).isEmpty()) {
+			return padrao;
+		}
+		return Long.parseLong(args.getOptionValues(nome).get(0));
+	}
+
+}
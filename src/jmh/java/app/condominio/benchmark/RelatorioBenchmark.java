@@ -0,0 +1,195 @@
+package app.condominio.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.ui.ModelMap;
+
+import app.condominio.controller.PainelController;
+import app.condominio.domain.Cobranca;
+import app.condominio.domain.Moradia;
+import app.condominio.domain.Movimento;
+import app.condominio.domain.Periodo;
+import app.condominio.domain.Subcategoria;
+import app.condominio.domain.enums.TipoCategoria;
+import app.condominio.service.AlteracaoFinanceira;
+import app.condominio.service.PeriodoService;
+import app.condominio.service.RelatorioService;
+
+/**
+ * Mede cada método público do RelatorioService e a montagem do painel do
+ * síndico sobre o Condomínio sintético. Vazão e latência (com percentis) vêm
+ * dos modos abaixo; a taxa de alocação, do profiler gc configurado no perfil
+ * benchmark do pom.xml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RelatorioBenchmark {
+
+	private RelatorioService relatorioService;
+
+	private PainelController painelController;
+
+	private LocalDate inicioAno;
+
+	private LocalDate inicioTrimestre;
+
+	private LocalDate hoje;
+
+	private Periodo periodoAtual;
+
+	private List<Movimento> movimentosTrimestre;
+
+	private BigDecimal saldoInicialTrimestre;
+
+	private SortedMap<Moradia, List<Cobranca>> inadimplenciaDetalhada;
+
+	private Map<Subcategoria, BigDecimal[]> orcadoRealizado;
+
+	@Setup(Level.Trial)
+	public void preparar(AmbienteBenchmark ambiente) {
+		relatorioService = ambiente.getBean(RelatorioService.class);
+		painelController = ambiente.getBean(PainelController.class);
+		hoje = ambiente.getReferencia();
+		inicioAno = hoje.withDayOfYear(1);
+		inicioTrimestre = hoje.minusMonths(3);
+		ambiente.emRequisicao(() -> {
+			periodoAtual = ambiente.getBean(PeriodoService.class).ler(hoje);
+			movimentosTrimestre = relatorioService.lancamentosEntre(inicioTrimestre, hoje);
+			saldoInicialTrimestre = relatorioService.saldoInicialTodasContasEm(inicioTrimestre);
+			inadimplenciaDetalhada = relatorioService.inadimplenciaAtualDetalhada();
+			orcadoRealizado = relatorioService.somaOrcadoRealizadoSubcategorias(periodoAtual);
+			return null;
+		});
+	}
+
+	@Benchmark
+	public Object saldoAtualTodasContas(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.saldoAtualTodasContas());
+	}
+
+	@Benchmark
+	public Object saldoInicialTodasContasEm(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.saldoInicialTodasContasEm(inicioTrimestre));
+	}
+
+	@Benchmark
+	public Object saldoFinalTodasContasEm(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.saldoFinalTodasContasEm(hoje));
+	}
+
+	@Benchmark
+	public Object inadimplenciaAtual(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.inadimplenciaAtual());
+	}
+
+	@Benchmark
+	public Object receitaDespesaMesAtual(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.receitaDespesaMesAtual());
+	}
+
+	@Benchmark
+	public Object receitaDespesaEntre(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.receitaDespesaEntre(inicioAno, hoje));
+	}
+
+	@Benchmark
+	public Object receitaDespesaRealizadaPeriodoAtual(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.receitaDespesaRealizadaPeriodoAtual());
+	}
+
+	@Benchmark
+	public Object receitaDespesaOrcadaPeriodoAtual(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.receitaDespesaOrcadaPeriodoAtual());
+	}
+
+	@Benchmark
+	public Object lancamentosEntre(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.lancamentosEntre(inicioTrimestre, hoje));
+	}
+
+	@Benchmark
+	public Object saldosAposMovimentos() {
+		return relatorioService.saldosAposMovimentos(movimentosTrimestre, saldoInicialTrimestre);
+	}
+
+	@Benchmark
+	public Object percorrerLancamentosEntre(AmbienteBenchmark ambiente, Blackhole blackhole) {
+		return ambiente.emRequisicao(() -> relatorioService.percorrerLancamentosEntre(inicioTrimestre, hoje,
+				saldoInicialTrimestre, (lancamento, saldo) -> blackhole.consume(saldo)));
+	}
+
+	@Benchmark
+	public Object somasPorTipoEntreReceitas(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.somasPorTipoEntre(inicioAno, hoje, TipoCategoria.R));
+	}
+
+	@Benchmark
+	public Object somasPorTipoEntreDespesas(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.somasPorTipoEntre(inicioAno, hoje, TipoCategoria.D));
+	}
+
+	@Benchmark
+	public Object inadimplenciaAtualDetalhada(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.inadimplenciaAtualDetalhada());
+	}
+
+	@Benchmark
+	public Object inadimplenciaAtualPorMoradia(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.inadimplenciaAtualPorMoradia());
+	}
+
+	@Benchmark
+	public Object somaCobrancas() {
+		return relatorioService.somaCobrancas(inadimplenciaDetalhada);
+	}
+
+	@Benchmark
+	public Object somaOrcadoRealizadoSubcategorias(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.somaOrcadoRealizadoSubcategorias(periodoAtual));
+	}
+
+	@Benchmark
+	public Object somaOrcadoRealizadoCategorias(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> relatorioService.somaOrcadoRealizadoCategorias(periodoAtual));
+	}
+
+	@Benchmark
+	public Object somaOrcadoRealizadoCategoriasAgrupando() {
+		return relatorioService.somaOrcadoRealizadoCategorias(orcadoRealizado);
+	}
+
+	@Benchmark
+	public Object painelSemCache(AmbienteBenchmark ambiente) {
+		// Descarta os indicadores em cache para medir a montagem completa
+		ambiente.getBean(ApplicationEventPublisher.class).publishEvent(new AlteracaoFinanceira(null));
+		return ambiente.emRequisicao(() -> painelController.sindico(new ModelMap()));
+	}
+
+	@Benchmark
+	public Object painelEmCache(AmbienteBenchmark ambiente) {
+		return ambiente.emRequisicao(() -> painelController.sindico(new ModelMap()));
+	}
+
+}
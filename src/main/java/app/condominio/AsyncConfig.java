@@ -1,18 +1,36 @@
 package app.condominio;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import app.condominio.dao.ContadorConsultas;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
 	@Bean
-	public Executor asyncExecutor() {
+	@Primary
+	public Executor asyncExecutor(@Value("${condominio.threads.virtuais:false}") boolean virtuais,
+			@Value("${condominio.threads.async-limite:32}") int limite) {
+		ThreadFactory fabrica = virtuais ? ThreadsVirtuais.fabrica("CondominioApp-") : null;
+		if (fabrica != null) {
+			// Uma thread virtual por tarefa, sem fila; o limite só evita abrir conexões
+			// SMTP demais ao mesmo tempo
+			SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(fabrica);
+			executor.setConcurrencyLimit(limite);
+			return executor;
+		}
 		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 		executor.setCorePoolSize(2);
 		executor.setMaxPoolSize(2);
@@ -21,4 +39,24 @@ public class AsyncConfig {
 		executor.initialize();
 		return executor;
 	}
+
+	// Seções de relatório executadas em paralelo (ComposicaoRelatorioService). Cada
+	// thread ocupa uma conexão do pool além da requisição que espera por ela: um
+	// relatório de n seções usa até n + 1 conexões, então o pool comporta
+	// pool / (n + 1) relatórios em paralelo, e mais threads que isso vezes n não
+	// ajudam. Com a fila cheia a seção roda na própria requisição. Cada seção leva
+	// o SecurityContext e a contagem de comandos SQL da requisição.
+	@Bean
+	public ThreadPoolTaskExecutor relatorioExecutor(@Value("${condominio.relatorios.threads:4}") int threads,
+			@Value("${condominio.relatorios.fila:100}") int fila) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(fila);
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setTaskDecorator(tarefa -> new DelegatingSecurityContextRunnable(ContadorConsultas.propagar(tarefa)));
+		executor.setThreadNamePrefix("CondominioRelatorio-");
+		executor.initialize();
+		return executor;
+	}
 }
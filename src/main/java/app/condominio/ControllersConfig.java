@@ -8,22 +8,17 @@ import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.context.request.WebRequest;
 
-import app.condominio.domain.Usuario;
-import app.condominio.service.UsuarioService;
+import app.condominio.service.ContextoUsuario;
 
 @ControllerAdvice
 public class ControllersConfig {
 
 	@Autowired
-	UsuarioService usuarioService;
+	ContextoUsuario contextoUsuario;
 
 	@ModelAttribute("haCondominio")
 	public boolean haCondominio() {
-		Usuario usuario = usuarioService.lerLogado();
-		if (usuario == null) {
-			return false;
-		}
-		return usuario.getCondominio() != null;
+		return contextoUsuario.getCondominio() != null;
 	}
 
 	@InitBinder
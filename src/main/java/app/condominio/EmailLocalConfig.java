@@ -0,0 +1,42 @@
+package app.condominio;
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Perfil email-local: substitui o servidor SMTP por um que só registra no log
+ * os e-mails despachados da caixa de saída, para desenvolvimento e testes.
+ */
+@Configuration
+@Profile("email-local")
+public class EmailLocalConfig {
+
+	private static final Logger log = LoggerFactory.getLogger(EmailLocalConfig.class);
+
+	@Bean
+	public JavaMailSender javaMailSender() {
+		return new JavaMailSenderImpl() {
+			@Override
+			protected void doSend(MimeMessage[] mensagens, Object[] originais) {
+				for (MimeMessage mensagem : mensagens) {
+					try {
+						log.info("E-mail para {}: {}", Arrays.toString(mensagem.getAllRecipients()), mensagem.getSubject());
+					} catch (MessagingException e) {
+						log.warn("E-mail ilegível", e);
+					}
+				}
+			}
+		};
+	}
+
+}
@@ -0,0 +1,62 @@
+package app.condominio;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import app.condominio.controller.MetricasRequisicaoInterceptor;
+import app.condominio.dao.ContadorConsultas;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+/**
+ * Métricas exportadas no formato do Prometheus em /actuator/prometheus. Os
+ * métodos dos repositórios Spring Data e o pool do Hikari são medidos pelo
+ * próprio Spring Boot; aqui ficam os @Timed dos serviços e gravadores, a
+ * contagem de comandos SQL por requisição e os histogramas das rotas de
+ * relatório.
+ */
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+	@Autowired
+	private MetricasRequisicaoInterceptor metricasRequisicaoInterceptor;
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry registro) {
+		return new TimedAspect(registro);
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer contadorConsultasHibernate(ContadorConsultas contadorConsultas) {
+		return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, contadorConsultas);
+	}
+
+	@Bean
+	public MeterFilter histogramaRelatorios() {
+		return new MeterFilter() {
+			@Override
+			public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+				String uri = id.getTag("uri");
+				if ("http.server.requests".equals(id.getName()) && uri != null
+						&& uri.startsWith("/sindico/relatorios")) {
+					return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+				}
+				return config;
+			}
+		};
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(metricasRequisicaoInterceptor);
+	}
+
+}
@@ -0,0 +1,28 @@
+package app.condominio;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import app.condominio.service.SaldoMensalService;
+
+/**
+ * Recalcula todos os saldos mensais quando a aplicação é iniciada com a opção
+ * --reconstruir-saldos (por exemplo, logo após criar a tabela saldosmensais em
+ * uma base com movimentos antigos).
+ */
+@Component
+public class ReconstrucaoSaldosRunner implements ApplicationRunner {
+
+	@Autowired
+	private SaldoMensalService saldoMensalService;
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		if (args.containsOption("reconstruir-saldos")) {
+			saldoMensalService.reconstruir();
+		}
+	}
+
+}
@@ -0,0 +1,34 @@
+package app.condominio;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Cria threads virtuais (Java 21) por reflexão, já que o projeto não depende da
+ * API nova para compilar. Em JVMs sem suporte fabrica() devolve nulo e quem
+ * chama continua com as threads de plataforma.
+ */
+final class ThreadsVirtuais {
+
+	private ThreadsVirtuais() {
+	}
+
+	/**
+	 * @param prefixo
+	 *            Prefixo do nome das threads, seguido de um contador
+	 * @return Retorna uma ThreadFactory de threads virtuais, ou nulo se a JVM não
+	 *         as suporta.
+	 */
+	static ThreadFactory fabrica(String prefixo) {
+		try {
+			Object construtor = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> tipoConstrutor = Class.forName("java.lang.Thread$Builder");
+			Method nome = tipoConstrutor.getMethod("name", String.class, long.class);
+			construtor = nome.invoke(construtor, prefixo, 0L);
+			return (ThreadFactory) tipoConstrutor.getMethod("factory").invoke(construtor);
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+package app.condominio;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import app.condominio.dao.DataSourceLimitado;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Modo de execução com threads virtuais (condominio.threads.virtuais=true, Java
+ * 21 ou superior): cada requisição do Tomcat roda numa thread virtual própria
+ * em vez do pool de plataforma, assim como as tarefas @Async (ver AsyncConfig).
+ * Como as requisições deixam de ser limitadas pelo pool do Tomcat, as conexões
+ * ao banco passam a ser limitadas pelo DataSourceLimitado. Em JVMs sem threads
+ * virtuais só o limite de conexões é aplicado.
+ */
+@Configuration
+@ConditionalOnProperty(name = "condominio.threads.virtuais", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+	private static final Logger log = LoggerFactory.getLogger(ThreadsVirtuaisConfig.class);
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> threadsVirtuaisTomcat() {
+		ThreadFactory fabrica = ThreadsVirtuais.fabrica("CondominioWeb-");
+		if (fabrica == null) {
+			log.warn("Threads virtuais não suportadas pela JVM {}; mantendo o pool de threads do Tomcat",
+					System.getProperty("java.version"));
+			return protocolHandler -> {
+			};
+		}
+		return protocolHandler -> protocolHandler.setExecutor(tarefa -> fabrica.newThread(tarefa).start());
+	}
+
+	@Bean
+	public static BeanPostProcessor dataSourceLimitado(
+			@Value("${condominio.datasource.limite:${spring.datasource.hikari.maximum-pool-size:10}}") int limite,
+			@Value("${condominio.datasource.espera:PT30S}") Duration espera) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource && !(bean instanceof DataSourceLimitado)) {
+					return new DataSourceLimitado((DataSource) bean, limite, espera);
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Bean
+	public MeterBinder conexoesLimitadas(DataSource dataSource) {
+		return registro -> {
+			if (dataSource instanceof DataSourceLimitado) {
+				DataSourceLimitado limitado = (DataSourceLimitado) dataSource;
+				Gauge.builder("condominio.datasource.conexoes", limitado, DataSourceLimitado::getEmUso)
+						.tag("estado", "emUso").register(registro);
+				Gauge.builder("condominio.datasource.conexoes", limitado, DataSourceLimitado::getEsperando)
+						.tag("estado", "esperando").register(registro);
+			}
+		};
+	}
+
+}
@@ -8,16 +8,25 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.SavedRequestAwareAuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.rememberme.JdbcTokenRepositoryImpl;
 import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
 
+import app.condominio.service.AutenticacaoService;
+
 @Configuration
 public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
 	@Autowired
 	DataSource dataSource;
 
+	@Autowired
+	AutenticacaoService autenticacaoService;
+
+	@Autowired
+	PasswordEncoder passwordEncoder;
+
 	@Override
 	protected void configure(HttpSecurity http) throws Exception {
 		// @formatter:off
@@ -43,6 +52,7 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 			//.accessDeniedPage("/erro")
 		.and().rememberMe()
 		  	.tokenRepository(persistentTokenRepository())
+		  	.userDetailsService(autenticacaoService)
 		  	.tokenValiditySeconds(120960)
 		.and().csrf();
 		// @formatter:on
@@ -50,14 +60,8 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
 	@Override
 	public void configure(AuthenticationManagerBuilder auth) throws Exception {
-		auth.jdbcAuthentication().dataSource(dataSource)
-				.usersByUsernameQuery("select username,password,ativo from usuarios where username=?")
-				.authoritiesByUsernameQuery(
-						"select username,autorizacao from usuarios join autorizacoes on id = id_usuario where username=?");
+		auth.userDetailsService(autenticacaoService).passwordEncoder(passwordEncoder);
 	}
-	// LATER implementar meu próprio UserDetailsService para mostrar primeiro nome
-	// do usuário no site
-	// https://stackoverflow.com/questions/17297322/in-spring-how-to-print-user-first-name-and-last-name-from-secauthentication-p
 
 	@Bean
 	public PersistentTokenRepository persistentTokenRepository() {
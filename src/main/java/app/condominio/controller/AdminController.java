@@ -0,0 +1,56 @@
+package app.condominio.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import app.condominio.service.CacheEntidadesService;
+import app.condominio.service.EncargosService;
+import app.condominio.service.EnvioEmailsService;
+import app.condominio.service.PainelService;
+
+@Controller
+@RequestMapping("/admin")
+public class AdminController {
+
+	@Autowired
+	PainelService painelService;
+
+	@Autowired
+	EncargosService encargosService;
+
+	@Autowired
+	CacheEntidadesService cacheEntidadesService;
+
+	@Autowired
+	EnvioEmailsService envioEmailsService;
+
+	@GetMapping("/cache/painel")
+	@ResponseBody
+	public Map<String, Object> cachePainel() {
+		return painelService.estatisticas();
+	}
+
+	@GetMapping("/cache/entidades")
+	@ResponseBody
+	public Map<String, Object> cacheEntidades() {
+		return cacheEntidadesService.estatisticas();
+	}
+
+	@GetMapping("/encargos")
+	@ResponseBody
+	public Map<String, Object> encargos() {
+		return encargosService.estatisticas();
+	}
+
+	@GetMapping("/emails")
+	@ResponseBody
+	public Map<String, Object> emails() {
+		return envioEmailsService.estatisticas();
+	}
+
+}
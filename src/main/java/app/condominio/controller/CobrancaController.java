@@ -1,13 +1,22 @@
 package app.condominio.controller;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
 import org.springframework.validation.BindingResult;
@@ -19,15 +28,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.ModelAndView;
 
 import app.condominio.domain.Cobranca;
+import app.condominio.domain.Conta;
 import app.condominio.domain.Moradia;
+import app.condominio.domain.Subcategoria;
 import app.condominio.domain.enums.MotivoBaixa;
 import app.condominio.domain.enums.MotivoEmissao;
 import app.condominio.domain.enums.SituacaoCobranca;
+import app.condominio.service.CampanhaInadimplenciaService;
 import app.condominio.service.CobrancaService;
+import app.condominio.service.ContaService;
+import app.condominio.service.EncargosService;
 import app.condominio.service.MoradiaService;
+import app.condominio.service.ResultadoRetorno;
+import app.condominio.service.RetornoBancarioService;
+import app.condominio.service.SubcategoriaService;
 
 @Controller
 @RequestMapping("sindico/cobrancas")
@@ -39,6 +57,21 @@ public class CobrancaController {
 	@Autowired
 	MoradiaService moradiaService;
 
+	@Autowired
+	private EncargosService encargosService;
+
+	@Autowired
+	private CampanhaInadimplenciaService campanhaInadimplenciaService;
+
+	@Autowired
+	private RetornoBancarioService retornoBancarioService;
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private SubcategoriaService subcategoriaService;
+
 	@ModelAttribute("ativo")
 	public String[] ativo() {
 		return new String[] { "financeiro", "cobrancas" };
@@ -64,11 +97,26 @@ public class CobrancaController {
 		return moradiaService.listar();
 	}
 
+	@GetMapping(value = { "", "/", "/lista" }, params = { "apos" })
+	public ModelAndView getCobrancasSequencial(@RequestParam(value = "apos", required = false) Long apos,
+			@RequestParam(value = "emissao", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate emissao,
+			@RequestParam("tamanho") Optional<Integer> tamanho, ModelMap model) {
+		Slice<Cobranca> cobrancas = cobrancaService.listarPaginaApos(emissao, apos, tamanho.orElse(20));
+		model.addAttribute("cobrancas", cobrancas);
+		// Valor atualizado calculado na leitura, sem esperar a atualização noturna
+		model.addAttribute("encargos", encargosService.calcular(cobrancas, LocalDate.now()));
+		model.addAttribute("sequencial", true);
+		model.addAttribute("conteudo", "cobrancaLista");
+		return new ModelAndView("fragmentos/layoutSindico", model);
+	}
+
 	@GetMapping({ "", "/", "/lista" })
 	public ModelAndView getCobrancas(@RequestParam("pagina") Optional<Integer> pagina,
 			@RequestParam("tamanho") Optional<Integer> tamanho, ModelMap model) {
-		model.addAttribute("cobrancas",
-				cobrancaService.listarPagina(PageRequest.of(pagina.orElse(1) - 1, tamanho.orElse(20))));
+		Page<Cobranca> cobrancas = cobrancaService
+				.listarPagina(PageRequest.of(pagina.orElse(1) - 1, tamanho.orElse(20)));
+		model.addAttribute("cobrancas", cobrancas);
+		model.addAttribute("encargos", encargosService.calcular(cobrancas, LocalDate.now()));
 		model.addAttribute("conteudo", "cobrancaLista");
 		return new ModelAndView("fragmentos/layoutSindico", model);
 	}
@@ -115,4 +163,138 @@ public class CobrancaController {
 		cobrancaService.excluir(cobrancaService.ler(idObj));
 		return new ModelAndView("redirect:/sindico/cobrancas");
 	}
+
+	@GetMapping("/gerar")
+	public ModelAndView getCobrancaGeracao(ModelMap model) {
+		model.addAttribute("referencia", YearMonth.now().plusMonths(1));
+		model.addAttribute("conteudo", "cobrancaGeracao");
+		return new ModelAndView("fragmentos/layoutSindico", model);
+	}
+
+	@PostMapping("/gerar")
+	public ModelAndView postCobrancaGeracao(
+			@RequestParam("referencia") @DateTimeFormat(pattern = "yyyy-MM") YearMonth referencia,
+			@RequestParam("dataVencimento") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataVencimento,
+			@RequestParam("valor") BigDecimal valor,
+			@RequestParam(value = "rateio", defaultValue = "false") boolean rateio,
+			@RequestParam("percentualJurosMes") Optional<Float> percentualJurosMes,
+			@RequestParam("percentualMulta") Optional<Float> percentualMulta,
+			@RequestParam("descricao") Optional<String> descricao, ModelMap model) {
+		model.addAttribute("referencia", referencia);
+		model.addAttribute("conteudo", "cobrancaGeracao");
+		if (valor.signum() <= 0 || dataVencimento.isBefore(LocalDate.now())) {
+			model.addAttribute("erro", true);
+			return new ModelAndView("fragmentos/layoutSindico", model);
+		}
+		model.addAttribute("resultado",
+				cobrancaService.gerarMensais(referencia, dataVencimento, valor, rateio, percentualJurosMes.orElse(null),
+						percentualMulta.orElse(null), descricao.filter(d -> !d.trim().isEmpty()).orElse(null)));
+		return new ModelAndView("fragmentos/layoutSindico", model);
+	}
+
+	@GetMapping("/lembretes")
+	public ModelAndView getCobrancaLembretes(ModelMap model) {
+		model.addAttribute("assunto", campanhaInadimplenciaService.assuntoPadrao());
+		model.addAttribute("modelo", campanhaInadimplenciaService.modeloPadrao());
+		model.addAttribute("conteudo", "cobrancaLembretes");
+		return new ModelAndView("fragmentos/layoutSindico", model);
+	}
+
+	@PostMapping("/lembretes")
+	public ModelAndView postCobrancaLembretes(@RequestParam("assunto") String assunto,
+			@RequestParam("modelo") String modelo, ModelMap model) {
+		model.addAttribute("assunto", assunto);
+		model.addAttribute("modelo", modelo);
+		model.addAttribute("conteudo", "cobrancaLembretes");
+		if (assunto.trim().isEmpty() || modelo.trim().isEmpty()) {
+			model.addAttribute("erro", true);
+			return new ModelAndView("fragmentos/layoutSindico", model);
+		}
+		model.addAttribute("resultado", campanhaInadimplenciaService.enviarLembretes(assunto.trim(), modelo));
+		return new ModelAndView("fragmentos/layoutSindico", model);
+	}
+
+	@GetMapping("/retorno")
+	public ModelAndView getCobrancaRetorno(ModelMap model) {
+		model.addAttribute("contas", contaService.listar());
+		model.addAttribute("receitas", subcategoriaService.listarReceitas());
+		model.addAttribute("despesas", subcategoriaService.listarDespesas());
+		model.addAttribute("conteudo", "cobrancaRetorno");
+		return new ModelAndView("fragmentos/layoutSindico", model);
+	}
+
+	@PostMapping("/retorno")
+	public ModelAndView postCobrancaRetorno(@RequestParam("arquivo") MultipartFile arquivo,
+			@RequestParam("conta") Long idConta, @RequestParam("receita") Long idReceita,
+			@RequestParam("tarifas") Optional<Long> idTarifas, @RequestParam("codificacao") String codificacao,
+			ModelMap model) throws IOException {
+		ResultadoRetorno resultado = processarRetorno(arquivo, idConta, idReceita, idTarifas, codificacao, model);
+		if (resultado != null) {
+			model.addAttribute("resultado", resultado);
+		}
+		return new ModelAndView("fragmentos/layoutSindico", model);
+	}
+
+	@PostMapping(value = "/retorno", params = { "csv" })
+	public ModelAndView postCobrancaRetornoCsv(@RequestParam("arquivo") MultipartFile arquivo,
+			@RequestParam("conta") Long idConta, @RequestParam("receita") Long idReceita,
+			@RequestParam("tarifas") Optional<Long> idTarifas, @RequestParam("codificacao") String codificacao,
+			ModelMap model, HttpServletResponse response) throws IOException {
+		ResultadoRetorno resultado = processarRetorno(arquivo, idConta, idReceita, idTarifas, codificacao, model);
+		if (resultado == null) {
+			return new ModelAndView("fragmentos/layoutSindico", model);
+		}
+		response.setContentType("text/csv;charset=UTF-8");
+		response.setHeader("Content-Disposition",
+				"attachment; filename=\"retorno_" + LocalDate.now() + ".csv\"");
+		PrintWriter saida = response.getWriter();
+		// BOM para o Excel reconhecer a codificação
+		saida.print('\uFEFF');
+		saida.println("Linha;Documento;Ocorrência;Situação;Cobrança;Valor pago;Tarifa;Observação");
+		for (ResultadoRetorno.Linha linha : resultado.getLinhas()) {
+			saida.println(linha.getNumero() + ";" + csv(linha.getDocumento()) + ";" + csv(linha.getOcorrencia())
+					+ ";" + linha.getSituacao() + ";" + csv(linha.getCobranca()) + ";"
+					+ (linha.getValorPago() == null ? "" : linha.getValorPago()) + ";"
+					+ (linha.getTarifa() == null ? "" : linha.getTarifa()) + ";" + csv(linha.getObservacao()));
+		}
+		for (String erro : resultado.getErros()) {
+			saida.println(";;;Erro;;;;" + csv(erro));
+		}
+		saida.flush();
+		return null;
+	}
+
+	private ResultadoRetorno processarRetorno(MultipartFile arquivo, Long idConta, Long idReceita,
+			Optional<Long> idTarifas, String codificacao, ModelMap model) throws IOException {
+		List<Conta> contas = contaService.listar();
+		List<Subcategoria> receitas = subcategoriaService.listarReceitas();
+		List<Subcategoria> despesas = subcategoriaService.listarDespesas();
+		model.addAttribute("contas", contas);
+		model.addAttribute("receitas", receitas);
+		model.addAttribute("despesas", despesas);
+		model.addAttribute("conteudo", "cobrancaRetorno");
+		// Só aceita Conta e Subcategorias do próprio Condomínio
+		Conta conta = contas.stream().filter(c -> c.getIdConta().equals(idConta)).findFirst().orElse(null);
+		Subcategoria receita = receitas.stream().filter(s -> s.getIdSubcategoria().equals(idReceita)).findFirst()
+				.orElse(null);
+		Subcategoria tarifas = idTarifas.flatMap(id -> despesas.stream()
+				.filter(s -> s.getIdSubcategoria().equals(id)).findFirst()).orElse(null);
+		if (arquivo.isEmpty() || conta == null || receita == null || (idTarifas.isPresent() && tarifas == null)
+				|| !Charset.isSupported(codificacao)) {
+			model.addAttribute("erro", true);
+			return null;
+		}
+		return retornoBancarioService.processar(arquivo.getInputStream(), Charset.forName(codificacao), conta,
+				receita, tarifas);
+	}
+
+	private static String csv(String valor) {
+		if (valor == null) {
+			return "";
+		}
+		if (valor.contains(";") || valor.contains("\"") || valor.contains("\n")) {
+			return "\"" + valor.replace("\"", "\"\"") + "\"";
+		}
+		return valor;
+	}
 }
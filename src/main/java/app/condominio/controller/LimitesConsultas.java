@@ -0,0 +1,52 @@
+package app.condominio.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Quantos comandos SQL cada rota pode executar por requisição antes de ser
+ * registrado um aviso. As rotas são padrões Ant comparados com o mapeamento do
+ * controller, na ordem em que foram configurados, por exemplo
+ * condominio.consultas.rotas[/sindico/relatorios/**]=60; as demais usam
+ * condominio.consultas.limite.
+ */
+@Component
+@ConfigurationProperties("condominio.consultas")
+public class LimitesConsultas {
+
+	private final AntPathMatcher comparador = new AntPathMatcher();
+
+	private int limite = 50;
+
+	private Map<String, Integer> rotas = new LinkedHashMap<>();
+
+	public int para(String rota) {
+		for (Map.Entry<String, Integer> entrada : rotas.entrySet()) {
+			if (comparador.match(entrada.getKey(), rota)) {
+				return entrada.getValue();
+			}
+		}
+		return limite;
+	}
+
+	public int getLimite() {
+		return limite;
+	}
+
+	public void setLimite(int limite) {
+		this.limite = limite;
+	}
+
+	public Map<String, Integer> getRotas() {
+		return rotas;
+	}
+
+	public void setRotas(Map<String, Integer> rotas) {
+		this.rotas = rotas;
+	}
+
+}
@@ -0,0 +1,85 @@
+package app.condominio.controller;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import app.condominio.dao.ContadorConsultas;
+import app.condominio.dao.ContadorConsultas.Contagem;
+import app.condominio.service.UsuarioAutenticado;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registra quantos comandos SQL cada requisição executou, incluindo os
+ * disparados pelos templates ao percorrer associações LAZY, por rota e por
+ * Condomínio. Quando a rota passa do seu limite em LimitesConsultas, registra
+ * um aviso com as formas de comando mais repetidas. A contagem e o limite
+ * ficam nos atributos da requisição para os testes com MockMvc.
+ */
+@Component
+public class MetricasRequisicaoInterceptor implements HandlerInterceptor {
+
+	public static final String ATRIBUTO_CONTAGEM = MetricasRequisicaoInterceptor.class.getName() + ".CONTAGEM";
+
+	public static final String ATRIBUTO_LIMITE = MetricasRequisicaoInterceptor.class.getName() + ".LIMITE";
+
+	private static final Logger log = LoggerFactory.getLogger(MetricasRequisicaoInterceptor.class);
+
+	@Autowired
+	private ContadorConsultas contadorConsultas;
+
+	@Autowired
+	private LimitesConsultas limitesConsultas;
+
+	@Autowired
+	private MeterRegistry registro;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		contadorConsultas.iniciar();
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		Contagem contagem = contadorConsultas.encerrar();
+		if (contagem == null) {
+			return;
+		}
+		Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String rota = padrao == null ? "desconhecida" : padrao.toString();
+		int limite = limitesConsultas.para(rota);
+		request.setAttribute(ATRIBUTO_CONTAGEM, contagem);
+		request.setAttribute(ATRIBUTO_LIMITE, limite);
+		DistributionSummary.builder("condominio.sql.comandos").description("Comandos SQL por requisição")
+				.baseUnit("comandos").tag("rota", rota).tag("condominio", condominio()).register(registro)
+				.record(contagem.getTotal());
+		if (contagem.getTotal() > limite) {
+			registro.counter("condominio.sql.limite.excedido", "rota", rota).increment();
+			log.warn("{} {} executou {} comandos SQL (limite {}). Mais repetidos: {}", request.getMethod(), rota,
+					contagem.getTotal(), limite, contagem.maisFrequentes(5));
+		}
+	}
+
+	private static String condominio() {
+		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+		if (auth != null && auth.getPrincipal() instanceof UsuarioAutenticado) {
+			Long idCondominio = ((UsuarioAutenticado) auth.getPrincipal()).getIdCondominio();
+			if (idCondominio != null) {
+				return idCondominio.toString();
+			}
+		}
+		return "nenhum";
+	}
+
+}
@@ -1,5 +1,7 @@
 package app.condominio.controller;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -19,18 +21,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.ModelAndView;
 
 import app.condominio.domain.Categoria;
 import app.condominio.domain.Conta;
 import app.condominio.domain.Lancamento;
 import app.condominio.domain.Movimento;
+import app.condominio.domain.Subcategoria;
 import app.condominio.domain.Transferencia;
 import app.condominio.domain.enums.TipoCategoria;
 import app.condominio.domain.enums.TipoClasseMovimento;
 import app.condominio.service.CategoriaService;
 import app.condominio.service.ContaService;
+import app.condominio.service.ImportacaoService;
 import app.condominio.service.MovimentoService;
+import app.condominio.service.SubcategoriaService;
 
 @Controller
 @RequestMapping({ "sindico/movimentos", "sindico/lancamentos" })
@@ -45,6 +51,12 @@ public class MovimentoController {
 	@Autowired
 	private ContaService contaService;
 
+	@Autowired
+	private SubcategoriaService subcategoriaService;
+
+	@Autowired
+	private ImportacaoService importacaoService;
+
 	@ModelAttribute("ativo")
 	public String[] ativo() {
 		return new String[] { "contabilidade", "movimentos" };
@@ -70,6 +82,15 @@ public class MovimentoController {
 		return contaService.listar();
 	}
 
+	@GetMapping(value = { "", "/", "/lista" }, params = { "apos" })
+	public ModelAndView getMovimentosSequencial(@RequestParam(value = "apos", required = false) Long apos,
+			@RequestParam("tamanho") Optional<Integer> tamanho, ModelMap model) {
+		model.addAttribute("movimentos", movimentoService.listarPaginaApos(apos, tamanho.orElse(20)));
+		model.addAttribute("sequencial", true);
+		model.addAttribute("conteudo", "movimentoLista");
+		return new ModelAndView("fragmentos/layoutSindico", model);
+	}
+
 	@GetMapping({ "", "/", "/lista" })
 	public ModelAndView getMovimentos(@RequestParam("pagina") Optional<Integer> pagina,
 			@RequestParam("tamanho") Optional<Integer> tamanho, ModelMap model) {
@@ -153,6 +174,41 @@ public class MovimentoController {
 		return new ModelAndView("redirect:/sindico/movimentos");
 	}
 
+	@GetMapping("/importar")
+	public ModelAndView getMovimentoImportacao(ModelMap model) {
+		model.addAttribute("receitas", subcategoriaService.listarReceitas());
+		model.addAttribute("despesas", subcategoriaService.listarDespesas());
+		model.addAttribute("conteudo", "movimentoImportacao");
+		return new ModelAndView("fragmentos/layoutSindico", model);
+	}
+
+	@PostMapping("/importar")
+	public ModelAndView postMovimentoImportacao(@RequestParam("arquivo") MultipartFile arquivo,
+			@RequestParam("conta") Long idConta, @RequestParam("receita") Long idReceita,
+			@RequestParam("despesa") Long idDespesa, @RequestParam("codificacao") String codificacao, ModelMap model)
+			throws IOException {
+		List<Subcategoria> receitas = subcategoriaService.listarReceitas();
+		List<Subcategoria> despesas = subcategoriaService.listarDespesas();
+		model.addAttribute("receitas", receitas);
+		model.addAttribute("despesas", despesas);
+		model.addAttribute("conteudo", "movimentoImportacao");
+		// Só aceita Conta e Subcategorias do próprio Condomínio
+		Conta conta = contaService.listar().stream().filter(c -> c.getIdConta().equals(idConta)).findFirst()
+				.orElse(null);
+		Subcategoria receita = receitas.stream().filter(s -> s.getIdSubcategoria().equals(idReceita)).findFirst()
+				.orElse(null);
+		Subcategoria despesa = despesas.stream().filter(s -> s.getIdSubcategoria().equals(idDespesa)).findFirst()
+				.orElse(null);
+		if (arquivo.isEmpty() || conta == null || receita == null || despesa == null
+				|| !Charset.isSupported(codificacao)) {
+			model.addAttribute("erro", true);
+			return new ModelAndView("fragmentos/layoutSindico", model);
+		}
+		model.addAttribute("resultado", importacaoService.importar(arquivo.getInputStream(),
+				Charset.forName(codificacao), conta, receita, despesa));
+		return new ModelAndView("fragmentos/layoutSindico", model);
+	}
+
 	@DeleteMapping("/excluir")
 	public ModelAndView deleteMovimentoCadastro(@RequestParam("idObj") Long idObj) {
 		movimentoService.excluir(movimentoService.ler(idObj));
@@ -8,7 +8,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.ModelAndView;
 
-import app.condominio.service.RelatorioService;
+import app.condominio.service.PainelService;
 
 @Controller
 @RequestMapping("/sindico")
@@ -20,16 +20,12 @@ public class PainelController {
 	}
 
 	@Autowired
-	RelatorioService relatorioService;
+	PainelService painelService;
 
 	@GetMapping({ "/", "", "/painel", "/dashboard" })
 	public ModelAndView sindico(ModelMap model) {
 
-		model.addAttribute("saldoAtual", relatorioService.saldoAtualTodasContas());
-		model.addAttribute("inadimplencia", relatorioService.inadimplenciaAtual());
-		model.addAttribute("receitaDespesaMes", relatorioService.receitaDespesaMesAtual());
-		model.addAttribute("receitaDespesaRealizada", relatorioService.receitaDespesaRealizadaPeriodoAtual());
-		model.addAttribute("receitaDespesaOrcada", relatorioService.receitaDespesaOrcadaPeriodoAtual());
+		model.addAllAttributes(painelService.indicadores());
 
 		model.addAttribute("conteudo", "painel");
 		return new ModelAndView("fragmentos/layoutSindico", model);
@@ -1,9 +1,20 @@
 package app.condominio.controller;
 
+import java.io.IOException;
+import java.io.PrintWriter;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.SortedMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -15,13 +26,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
 
-import app.condominio.domain.Cobranca;
-import app.condominio.domain.Moradia;
+import app.condominio.domain.Lancamento;
 import app.condominio.domain.Movimento;
 import app.condominio.domain.Periodo;
+import app.condominio.domain.Subcategoria;
 import app.condominio.domain.enums.TipoCategoria;
 import app.condominio.service.CategoriaService;
+import app.condominio.service.ComposicaoRelatorioService;
 import app.condominio.service.CondominioService;
 import app.condominio.service.PeriodoService;
 import app.condominio.service.RelatorioService;
@@ -42,6 +56,20 @@ public class RelatorioController {
 	@Autowired
 	CategoriaService categoriaService;
 
+	@Autowired
+	ComposicaoRelatorioService composicaoRelatorioService;
+
+	@Autowired
+	ITemplateEngine templateEngine;
+
+	private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+	// A cada quantas linhas o livro caixa em HTML é enviado ao navegador
+	private static final int LINHAS_POR_ENVIO = 200;
+
+	// Fragmentos cabecalho, linhas e rodape do livro caixa contínuo
+	private static final String LIVRO_CAIXA_CONTINUO = "sindico/relatorioLivroCaixaContinuo";
+
 	@ModelAttribute("ativo")
 	public String[] ativo() {
 		return new String[] { "relatorios", "" };
@@ -76,11 +104,118 @@ public class RelatorioController {
 		model.addAttribute("fim", fim);
 		model.addAttribute("saldoInicial", saldoInicial);
 		model.addAttribute("lancamentos", lancamentos);
-		model.addAttribute("saldos", relatorioService.saldosAposMovimentos(lancamentos, saldoInicial));
+		BigDecimal[] saldos = relatorioService.saldosAposMovimentos(lancamentos, saldoInicial);
+		model.addAttribute("saldos", saldos);
+		model.addAttribute("saldoFinal", saldos[saldos.length - 1]);
 		model.addAttribute("relatorio", "relatorioLivroCaixa");
 		return new ModelAndView("fragmentos/layoutRelatorio", model);
 	}
 
+	@PostMapping(value = "/livroCaixa", params = { "csv" })
+	public ModelAndView postLivroCaixaCsv(
+			@RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+			@RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim, ModelMap model,
+			HttpServletResponse response) throws IOException {
+
+		if (inicio.isAfter(fim)) {
+			model.addAttribute("fimInvalido", "true");
+			model.addAttribute("conteudo", "relatorioLivroCaixa");
+			return new ModelAndView("fragmentos/layoutSindico", model);
+		}
+
+		BigDecimal saldoInicial = relatorioService.saldoInicialTodasContasEm(inicio);
+
+		response.setContentType("text/csv;charset=UTF-8");
+		response.setHeader("Content-Disposition",
+				"attachment; filename=\"livroCaixa_" + inicio + "_" + fim + ".csv\"");
+		PrintWriter saida = response.getWriter();
+		// BOM para o Excel reconhecer a codificação
+		saida.print('\uFEFF');
+		saida.println("Data;Descrição;Documento;Entrada;Saída;Saldo");
+		saida.println(FORMATO_DATA.format(inicio) + ";Saldo inicial;;;;" + saldoInicial);
+		BigDecimal saldoFinal = relatorioService.percorrerLancamentosEntre(inicio, fim, saldoInicial,
+				(lancamento, saldo) -> saida.println(FORMATO_DATA.format(lancamento.getData()) + ";"
+						+ csv(descricao(lancamento)) + ";" + csv(lancamento.getDocumento()) + ";"
+						+ (lancamento.getReducao() ? "" : lancamento.getValor()) + ";"
+						+ (lancamento.getReducao() ? lancamento.getValor() : "") + ";" + saldo));
+		saida.println(FORMATO_DATA.format(fim) + ";Saldo final;;;;" + saldoFinal);
+		saida.flush();
+		return null;
+	}
+
+	@PostMapping(value = "/livroCaixa", params = { "continuo" })
+	public ModelAndView postLivroCaixaContinuo(
+			@RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+			@RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim, ModelMap model,
+			HttpServletRequest request, HttpServletResponse response, Locale locale) throws IOException {
+
+		if (inicio.isAfter(fim)) {
+			model.addAttribute("fimInvalido", "true");
+			model.addAttribute("conteudo", "relatorioLivroCaixa");
+			return new ModelAndView("fragmentos/layoutSindico", model);
+		}
+
+		BigDecimal saldoInicial = relatorioService.saldoInicialTodasContasEm(inicio);
+
+		// O relatório é enviado em três fragmentos: o cabeçalho, as linhas a cada
+		// lote de lançamentos lidos e o saldo final
+		Context contexto = new Context(locale);
+		contexto.setVariable("contexto", request.getContextPath());
+		contexto.setVariable("condominio", condominioService.ler());
+		contexto.setVariable("inicio", inicio);
+		contexto.setVariable("fim", fim);
+		contexto.setVariable("saldoInicial", saldoInicial);
+
+		response.setContentType("text/html;charset=UTF-8");
+		PrintWriter saida = response.getWriter();
+		saida.println("<!doctype html>");
+		templateEngine.process(LIVRO_CAIXA_CONTINUO, Collections.singleton("cabecalho"), contexto, saida);
+		// O cabeçalho já pode ser exibido enquanto os lançamentos são lidos
+		saida.flush();
+		List<Movimento> lancamentos = new ArrayList<>(LINHAS_POR_ENVIO);
+		List<BigDecimal> saldos = new ArrayList<>(LINHAS_POR_ENVIO);
+		int[] linhas = { 0 };
+		BigDecimal saldoFinal = relatorioService.percorrerLancamentosEntre(inicio, fim, saldoInicial,
+				(lancamento, saldo) -> {
+					lancamentos.add(lancamento);
+					saldos.add(saldo);
+					if (++linhas[0] % LINHAS_POR_ENVIO == 0) {
+						enviarLinhas(lancamentos, saldos, contexto, saida);
+					}
+				});
+		if (!lancamentos.isEmpty() || linhas[0] == 0) {
+			enviarLinhas(lancamentos, saldos, contexto, saida);
+		}
+		contexto.setVariable("saldoFinal", saldoFinal);
+		templateEngine.process(LIVRO_CAIXA_CONTINUO, Collections.singleton("rodape"), contexto, saida);
+		saida.flush();
+		return null;
+	}
+
+	private void enviarLinhas(List<Movimento> lancamentos, List<BigDecimal> saldos, Context contexto,
+			PrintWriter saida) {
+		contexto.setVariable("lancamentos", lancamentos);
+		contexto.setVariable("saldos", saldos);
+		templateEngine.process(LIVRO_CAIXA_CONTINUO, Collections.singleton("linhas"), contexto, saida);
+		saida.flush();
+		lancamentos.clear();
+		saldos.clear();
+	}
+
+	private static String descricao(Lancamento lancamento) {
+		return lancamento.getDescricao() != null ? lancamento.getDescricao() : lancamento.detalhe();
+	}
+
+	private static String csv(String valor) {
+		if (valor == null) {
+			return "";
+		}
+		if (valor.contains(";") || valor.contains("\"") || valor.contains("\n")) {
+			return "\"" + valor.replace("\"", "\"\"") + "\"";
+		}
+		return valor;
+	}
+
 	@GetMapping("/balancete")
 	public ModelAndView getBalancete() {
 		return new ModelAndView("fragmentos/layoutSindico", "conteudo", "relatorioBalancete");
@@ -100,9 +235,11 @@ public class RelatorioController {
 		model.addAttribute("condominio", condominioService.ler());
 		model.addAttribute("inicio", inicio);
 		model.addAttribute("fim", fim);
-		model.addAttribute("receitas", relatorioService.somasPorTipoEntre(inicio, fim, TipoCategoria.R));
-		model.addAttribute("despesas", relatorioService.somasPorTipoEntre(inicio, fim, TipoCategoria.D));
-		model.addAttribute("totalReceitasDespesas", relatorioService.receitaDespesaEntre(inicio, fim));
+		Map<String, Supplier<?>> secoes = new LinkedHashMap<>();
+		secoes.put("receitas", () -> relatorioService.somasPorTipoEntre(inicio, fim, TipoCategoria.R));
+		secoes.put("despesas", () -> relatorioService.somasPorTipoEntre(inicio, fim, TipoCategoria.D));
+		secoes.put("totalReceitasDespesas", () -> relatorioService.receitaDespesaEntre(inicio, fim));
+		model.addAllAttributes(composicaoRelatorioService.compor("balancete", secoes));
 		model.addAttribute("relatorio", "relatorioBalancete");
 		return new ModelAndView("fragmentos/layoutRelatorio", model);
 	}
@@ -114,12 +251,9 @@ public class RelatorioController {
 
 	@PostMapping("/inadimplencia")
 	public ModelAndView postInadimplencia(ModelMap model) {
-		SortedMap<Moradia, List<Cobranca>> inadimplencia = relatorioService.inadimplenciaAtualDetalhada();
-
 		model.addAttribute("condominio", condominioService.ler());
 		model.addAttribute("fim", LocalDate.now());
-		model.addAttribute("inadimplencia", inadimplencia);
-		model.addAttribute("subtotais", relatorioService.somaCobrancas(inadimplencia));
+		model.addAttribute("inadimplencia", relatorioService.inadimplenciaAtualPorMoradia());
 		model.addAttribute("total", relatorioService.inadimplenciaAtual());
 		model.addAttribute("relatorio", "relatorioInadimplencia");
 		return new ModelAndView("fragmentos/layoutRelatorio", model);
@@ -134,11 +268,13 @@ public class RelatorioController {
 
 	@PostMapping("/orcamento")
 	public ModelAndView postOrcamento(@RequestParam("periodo") Periodo periodo, ModelMap model) {
+		Map<Subcategoria, BigDecimal[]> analitico = relatorioService.somaOrcadoRealizadoSubcategorias(periodo);
+
 		model.addAttribute("condominio", condominioService.ler());
 		model.addAttribute("periodo", periodo.toString());
 		model.addAttribute("categorias", categoriaService.listar());
-		model.addAttribute("orcadoRealizadoSintetico", relatorioService.somaOrcadoRealizadoCategorias(periodo));
-		model.addAttribute("orcadoRealizadoAnalitico", relatorioService.somaOrcadoRealizadoSubcategorias(periodo));
+		model.addAttribute("orcadoRealizadoSintetico", relatorioService.somaOrcadoRealizadoCategorias(analitico));
+		model.addAttribute("orcadoRealizadoAnalitico", analitico);
 		model.addAttribute("relatorio", "relatorioOrcamento");
 		return new ModelAndView("fragmentos/layoutRelatorio", model);
 	}
@@ -1,7 +1,12 @@
 package app.condominio.dao;
 
+import java.util.List;
+
+import javax.persistence.QueryHint;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 import app.condominio.domain.Bloco;
@@ -15,4 +20,7 @@ public interface BlocoDao extends PagingAndSortingRepository<Bloco, Long> {
 
 	Page<Bloco> findAllByCondominioOrderBySiglaAsc(Condominio condominio, Pageable pagina);
 
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+	List<Bloco> findAllByCondominioOrderBySiglaAsc(Condominio condominio);
+
 }
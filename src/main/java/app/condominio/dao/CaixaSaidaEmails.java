@@ -0,0 +1,288 @@
+package app.condominio.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+
+import app.condominio.domain.EmailPendente;
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Caixa de saída de e-mails (tabela emailspendentes), por JDBC e na mesma
+ * conexão da transação Spring em andamento, como os gravadores em lote. A
+ * reserva usa SELECT ... FOR UPDATE SKIP LOCKED (MySQL 8), para que várias
+ * instâncias da aplicação despachem a mesma fila sem enviar o mesmo e-mail.
+ */
+@Timed(value = "condominio.gravador", description = "Tempo das gravações em lote")
+@Repository
+public class CaixaSaidaEmails {
+
+	private static final String INSERT_EMAIL = "insert into emailspendentes (idCondominio, origem, para, assunto, mensagem, situacao, tentativas, criacao, proximaTentativa) values (?, ?, ?, ?, ?, 'P', 0, ?, ?)";
+
+	private static final String SELECT_PRONTOS = "select idEmail, idCondominio, origem, para, assunto, mensagem, tentativas, criacao from emailspendentes where situacao = 'P' and proximaTentativa <= ? order by proximaTentativa, idEmail limit ? for update skip locked";
+
+	private static final String UPDATE_RESERVA = "update emailspendentes set proximaTentativa = ? where idEmail = ?";
+
+	private static final String UPDATE_ENVIADO = "update emailspendentes set situacao = 'E', envio = ?, tentativas = tentativas + 1, ultimoErro = null where idEmail = ?";
+
+	private static final String UPDATE_FALHA = "update emailspendentes set situacao = ?, tentativas = ?, proximaTentativa = ?, ultimoErro = ? where idEmail = ?";
+
+	private static final String SELECT_PENDENTES = "select count(*) from emailspendentes where situacao = 'P'";
+
+	private static final String INSERT_CAMPANHA = "insert ignore into campanhas (idCondominio, origem, criacao) values (?, ?, ?)";
+
+	private static final String DELETE_ENVIADOS = "delete from emailspendentes where situacao = 'E' and envio < ?";
+
+	private static final int LINHAS_POR_LOTE = 500;
+
+	@Autowired
+	private DataSource dataSource;
+
+	/**
+	 * @param emails
+	 *            E-mails a enviar assim que possível, ou a partir da próxima
+	 *            tentativa de cada um, se informada
+	 */
+	public void inserir(List<EmailPendente> emails) {
+		if (emails.isEmpty()) {
+			return;
+		}
+		Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		PreparedStatement insert = null;
+		try {
+			insert = conexao.prepareStatement(INSERT_EMAIL);
+			int pendentes = 0;
+			for (EmailPendente email : emails) {
+				if (email.getIdCondominio() != null) {
+					insert.setLong(1, email.getIdCondominio());
+				} else {
+					insert.setNull(1, Types.BIGINT);
+				}
+				insert.setString(2, email.getOrigem());
+				insert.setString(3, email.getPara());
+				insert.setString(4, email.getAssunto());
+				insert.setString(5, email.getMensagem());
+				insert.setTimestamp(6, agora);
+				insert.setTimestamp(7, email.getProximaTentativa() != null
+						? Timestamp.valueOf(email.getProximaTentativa()) : agora);
+				insert.addBatch();
+				if (++pendentes == LINHAS_POR_LOTE) {
+					insert.executeBatch();
+					pendentes = 0;
+				}
+			}
+			if (pendentes > 0) {
+				insert.executeBatch();
+			}
+		} catch (SQLException e) {
+			throw traduzir("inserir e-mails na caixa de saída", INSERT_EMAIL, e);
+		} finally {
+			JdbcUtils.closeStatement(insert);
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	/**
+	 * Reserva os próximos e-mails prontos para envio, adiando a próxima
+	 * tentativa deles para o fim da reserva. Se a instância cair antes de
+	 * registrar o resultado, eles voltam à fila quando a reserva expira. Deve
+	 * ser chamado numa transação curta, que libera os bloqueios ao terminar.
+	 *
+	 * @param quantidade
+	 *            Quantidade máxima de e-mails
+	 * @param agora
+	 *            Data e hora de referência
+	 * @param fimReserva
+	 *            Até quando os e-mails ficam reservados
+	 * @return Retorna os e-mails reservados, os mais antigos primeiro.
+	 */
+	public List<EmailPendente> reservar(int quantidade, LocalDateTime agora, LocalDateTime fimReserva) {
+		List<EmailPendente> emails = new ArrayList<>();
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		PreparedStatement select = null;
+		PreparedStatement update = null;
+		ResultSet resultado = null;
+		try {
+			select = conexao.prepareStatement(SELECT_PRONTOS);
+			select.setTimestamp(1, Timestamp.valueOf(agora));
+			select.setInt(2, quantidade);
+			resultado = select.executeQuery();
+			while (resultado.next()) {
+				EmailPendente email = new EmailPendente(resultado.getString(4), resultado.getString(5),
+						resultado.getString(6));
+				email.setIdEmail(resultado.getLong(1));
+				long idCondominio = resultado.getLong(2);
+				email.setIdCondominio(resultado.wasNull() ? null : idCondominio);
+				email.setOrigem(resultado.getString(3));
+				email.setTentativas(resultado.getInt(7));
+				email.setCriacao(resultado.getTimestamp(8).toLocalDateTime());
+				emails.add(email);
+			}
+			if (!emails.isEmpty()) {
+				update = conexao.prepareStatement(UPDATE_RESERVA);
+				for (EmailPendente email : emails) {
+					update.setTimestamp(1, Timestamp.valueOf(fimReserva));
+					update.setLong(2, email.getIdEmail());
+					update.addBatch();
+				}
+				update.executeBatch();
+			}
+			return emails;
+		} catch (SQLException e) {
+			throw traduzir("reservar e-mails da caixa de saída", SELECT_PRONTOS, e);
+		} finally {
+			JdbcUtils.closeResultSet(resultado);
+			JdbcUtils.closeStatement(select);
+			JdbcUtils.closeStatement(update);
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	/**
+	 * @param emails
+	 *            E-mails aceitos pelo servidor SMTP
+	 * @param envio
+	 *            Data e hora do envio
+	 */
+	public void marcarEnviados(List<EmailPendente> emails, LocalDateTime envio) {
+		if (emails.isEmpty()) {
+			return;
+		}
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		PreparedStatement update = null;
+		try {
+			update = conexao.prepareStatement(UPDATE_ENVIADO);
+			for (EmailPendente email : emails) {
+				update.setTimestamp(1, Timestamp.valueOf(envio));
+				update.setLong(2, email.getIdEmail());
+				update.addBatch();
+			}
+			update.executeBatch();
+		} catch (SQLException e) {
+			throw traduzir("marcar e-mails enviados", UPDATE_ENVIADO, e);
+		} finally {
+			JdbcUtils.closeStatement(update);
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	/**
+	 * Registra uma tentativa de envio que falhou. A tentativa já deve estar
+	 * somada em getTentativas().
+	 *
+	 * @param email
+	 *            E-mail que falhou
+	 * @param proximaTentativa
+	 *            Quando tentar de novo, ou nulo se não há mais tentativas
+	 * @param erro
+	 *            Descrição do erro
+	 */
+	public void marcarFalha(EmailPendente email, LocalDateTime proximaTentativa, String erro) {
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		PreparedStatement update = null;
+		try {
+			update = conexao.prepareStatement(UPDATE_FALHA);
+			update.setString(1, proximaTentativa != null ? "P" : "F");
+			update.setInt(2, email.getTentativas());
+			update.setTimestamp(3, Timestamp.valueOf(proximaTentativa != null ? proximaTentativa : LocalDateTime.now()));
+			if (erro != null) {
+				update.setString(4, erro.length() > 500 ? erro.substring(0, 500) : erro);
+			} else {
+				update.setNull(4, Types.VARCHAR);
+			}
+			update.setLong(5, email.getIdEmail());
+			update.executeUpdate();
+		} catch (SQLException e) {
+			throw traduzir("registrar falha no envio de e-mail", UPDATE_FALHA, e);
+		} finally {
+			JdbcUtils.closeStatement(update);
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	/**
+	 * @return Retorna a quantidade de e-mails ainda não enviados.
+	 */
+	public long contarPendentes() {
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		PreparedStatement select = null;
+		ResultSet resultado = null;
+		try {
+			select = conexao.prepareStatement(SELECT_PENDENTES);
+			resultado = select.executeQuery();
+			resultado.next();
+			return resultado.getLong(1);
+		} catch (SQLException e) {
+			throw traduzir("contar e-mails pendentes", SELECT_PENDENTES, e);
+		} finally {
+			JdbcUtils.closeResultSet(resultado);
+			JdbcUtils.closeStatement(select);
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	/**
+	 * Registra o disparo de uma campanha pela chave única (idCondominio,
+	 * origem). Um disparo simultâneo da mesma campanha espera no bloqueio da
+	 * chave até a transação deste terminar e então não registra nada; por isso
+	 * deve ser chamado na mesma transação que grava os e-mails da campanha.
+	 *
+	 * @return Retorna falso se a campanha já tinha sido registrada.
+	 */
+	public boolean registrarCampanha(Long idCondominio, String origem) {
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		PreparedStatement insert = null;
+		try {
+			insert = conexao.prepareStatement(INSERT_CAMPANHA);
+			insert.setLong(1, idCondominio);
+			insert.setString(2, origem);
+			insert.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+			return insert.executeUpdate() > 0;
+		} catch (SQLException e) {
+			throw traduzir("registrar campanha", INSERT_CAMPANHA, e);
+		} finally {
+			JdbcUtils.closeStatement(insert);
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	/**
+	 * @param antes
+	 *            Remove os e-mails enviados antes desta data e hora
+	 * @return Retorna a quantidade de e-mails removidos
+	 */
+	public int removerEnviados(LocalDateTime antes) {
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		PreparedStatement delete = null;
+		try {
+			delete = conexao.prepareStatement(DELETE_ENVIADOS);
+			delete.setTimestamp(1, Timestamp.valueOf(antes));
+			return delete.executeUpdate();
+		} catch (SQLException e) {
+			throw traduzir("remover e-mails enviados", DELETE_ENVIADOS, e);
+		} finally {
+			JdbcUtils.closeStatement(delete);
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	private RuntimeException traduzir(String tarefa, String sql, SQLException e) {
+		return new SQLErrorCodeSQLExceptionTranslator(dataSource).translate(tarefa, sql, e);
+	}
+
+}
@@ -2,6 +2,9 @@ package app.condominio.dao;
 
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 import app.condominio.domain.Categoria;
@@ -10,10 +13,14 @@ import app.condominio.domain.enums.TipoCategoria;
 
 public interface CategoriaDao extends PagingAndSortingRepository<Categoria, Long> {
 
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+	List<Categoria> findAllByCondominioOrderByOrdemAsc(Condominio condominio);
+
 	Boolean existsByOrdemAndCondominio(String ordem, Condominio condominio);
 
 	Boolean existsByOrdemAndCondominioAndIdCategoriaNot(String ordem, Condominio condominio, Long idCategoria);
 
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	List<Categoria> findAllByCondominioAndTipo(Condominio condominio, TipoCategoria tipo);
 
 }
@@ -6,6 +6,8 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +15,7 @@ import org.springframework.data.repository.query.Param;
 import app.condominio.domain.Cobranca;
 import app.condominio.domain.Condominio;
 import app.condominio.domain.Moradia;
+import app.condominio.domain.enums.MotivoEmissao;
 
 public interface CobrancaDao extends PagingAndSortingRepository<Cobranca, Long> {
 
@@ -22,6 +25,14 @@ public interface CobrancaDao extends PagingAndSortingRepository<Cobranca, Long>
 	Boolean existsByNumeroAndParcelaAndDataEmissaoAndMoradiaAndCondominioAndIdCobrancaNot(String numero, String parcela,
 			LocalDate dataEmissao, Moradia moradia, Condominio condominoi, Long idCobranca);
 
+	// Chave única ukCobrancasMoradiaNumeroMensal, para as Cobranças mensais
+	// (parcela nula, comparada com is null)
+	Boolean existsByMoradiaAndMotivoEmissaoAndNumeroAndParcela(Moradia moradia, MotivoEmissao motivoEmissao,
+			String numero, String parcela);
+
+	Boolean existsByMoradiaAndMotivoEmissaoAndNumeroAndParcelaAndIdCobrancaNot(Moradia moradia,
+			MotivoEmissao motivoEmissao, String numero, String parcela, Long idCobranca);
+
 	@Query("select sum(total) from #{#entityName} c where c.condominio = :condominio and c.dataRecebimento is null and c.dataVencimento < :data")
 	BigDecimal sumTotalByCondominioAndDataVencimentoBeforeAndDataRecebimentoIsNull(
 			@Param("condominio") Condominio condominio, @Param("data") LocalDate data);
@@ -29,6 +40,52 @@ public interface CobrancaDao extends PagingAndSortingRepository<Cobranca, Long>
 	List<Cobranca> findAllByCondominioAndDataVencimentoBeforeAndDataRecebimentoIsNullOrderByMoradiaAscDataVencimentoAsc(
 			Condominio condominio, LocalDate data);
 
+	// Ordem do índice idxCobrancasCondominioEmissaoMoradia
 	Page<Cobranca> findAllByCondominioOrderByDataEmissaoDescMoradiaAscNumeroAscParcelaAsc(Condominio condominio,
 			Pageable pagina);
+
+	// Paginação por chave (dataEmissao, idCobranca), as duas no mesmo sentido e na
+	// ordem do índice idxCobrancasCondominioEmissaoId: sem OFFSET e sem COUNT
+	@EntityGraph(attributePaths = { "moradia" })
+	Slice<Cobranca> findSliceByCondominioOrderByDataEmissaoDescIdCobrancaDesc(Condominio condominio,
+			Pageable pagina);
+
+	@EntityGraph(attributePaths = { "moradia" })
+	@Query("select c from #{#entityName} c where c.condominio = :condominio and (c.dataEmissao < :dataEmissao or (c.dataEmissao = :dataEmissao and c.idCobranca < :idCobranca)) order by c.dataEmissao desc, c.idCobranca desc")
+	Slice<Cobranca> findAllByCondominioAfterOrderByDataEmissaoDescIdCobrancaDesc(
+			@Param("condominio") Condominio condominio, @Param("dataEmissao") LocalDate dataEmissao,
+			@Param("idCobranca") Long idCobranca, Pageable pagina);
+
+	// Moradias que já têm a Cobrança de um número (mês de referência): uma consulta
+	// para todo o Condomínio em vez de um exists por Moradia
+	@Query("select c.moradia.idMoradia from #{#entityName} c where c.condominio = :condominio and c.numero = :numero and c.motivoEmissao = :motivoEmissao")
+	List<Long> findIdMoradiaByCondominioAndNumeroAndMotivoEmissao(@Param("condominio") Condominio condominio,
+			@Param("numero") String numero, @Param("motivoEmissao") MotivoEmissao motivoEmissao);
+
+	// Campos do cálculo de encargos das Cobranças vencidas de todos os Condomínios,
+	// em lotes por chave (idCobranca)
+	@Query("select c.idCobranca, c.valor, c.multa, c.jurosMora, c.total, c.percentualMulta, c.percentualJurosMes, c.dataVencimento, c.moradia.idMoradia from #{#entityName} c where c.dataRecebimento is null and c.dataVencimento < :data and c.idCobranca > :idCobranca order by c.idCobranca")
+	List<Object[]> findEncargosByDataRecebimentoIsNullAndDataVencimentoBeforeAfter(@Param("data") LocalDate data,
+			@Param("idCobranca") Long idCobranca, Pageable pagina);
+
+	// Moradias com Cobranças em aberto que venceram no intervalo [desde, ate), que
+	// passam a contar no resumo da inadimplência
+	@Query("select distinct c.moradia.idMoradia from #{#entityName} c where c.dataRecebimento is null and c.dataVencimento >= :desde and c.dataVencimento < :ate")
+	List<Long> findIdMoradiaByDataRecebimentoIsNullAndDataVencimentoBetween(@Param("desde") LocalDate desde,
+			@Param("ate") LocalDate ate);
+
+	@Query("select distinct c.moradia.idMoradia from #{#entityName} c where c.dataRecebimento is null and c.dataVencimento < :data")
+	List<Long> findIdMoradiaByDataRecebimentoIsNullAndDataVencimentoBefore(@Param("data") LocalDate data);
+
+	// Cobranças vencidas de cada Moradia para os lembretes de inadimplência, já com
+	// as siglas do Bloco e da Moradia, numa só consulta
+	@Query("select c.moradia.idMoradia, c.moradia.bloco.sigla, c.moradia.sigla, c.numero, c.parcela, c.dataVencimento, coalesce(c.total, c.valor) from #{#entityName} c where c.condominio = :condominio and c.dataRecebimento is null and c.dataVencimento < :data order by c.moradia.bloco.sigla, c.moradia.sigla, c.dataVencimento")
+	List<Object[]> findLembretesByCondominioAndDataVencimentoBefore(@Param("condominio") Condominio condominio,
+			@Param("data") LocalDate data);
+
+	// Cobranças em aberto do Condomínio, para localizar em memória as do arquivo de
+	// retorno do banco pelo número e parcela
+	@Query("select c.idCobranca, c.numero, c.parcela, c.valor, coalesce(c.total, c.valor), c.dataVencimento, c.moradia.bloco.sigla, c.moradia.sigla from #{#entityName} c where c.condominio = :condominio and c.dataRecebimento is null")
+	List<Object[]> findAbertasByCondominio(@Param("condominio") Condominio condominio);
+
 }
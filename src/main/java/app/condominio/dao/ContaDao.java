@@ -1,9 +1,14 @@
 package app.condominio.dao;
 
 import java.math.BigDecimal;
+import java.util.List;
+
+import javax.persistence.LockModeType;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +20,8 @@ public interface ContaDao extends PagingAndSortingRepository<Conta, Long> {
 
 	Page<Conta> findAllByCondominioOrderBySiglaAsc(Condominio condominio, Pageable pagina);
 
+	List<Conta> findAllByCondominioOrderBySiglaAsc(Condominio condominio);
+
 	Boolean existsBySiglaAndCondominio(String sigla, Condominio condominio);
 
 	Boolean existsBySiglaAndCondominioAndIdContaNot(String sigla, Condominio condominio, Long idConta);
@@ -22,4 +29,20 @@ public interface ContaDao extends PagingAndSortingRepository<Conta, Long> {
 	@Query("select sum(saldoAtual) from #{#entityName} c where c.condominio = :condominio")
 	BigDecimal sumSaldoAtualByCondominio(@Param("condominio") Condominio condominio);
 
+	@Modifying(flushAutomatically = true)
+	@Query("update #{#entityName} c set c.saldoAtual = c.saldoAtual + :valor where c.idConta = :idConta")
+	int addSaldoAtualByIdConta(@Param("idConta") Long idConta, @Param("valor") BigDecimal valor);
+
+	/**
+	 * Lê a Conta com select ... for update, que a mantém bloqueada até o fim da
+	 * transação: serializa o fechamento mensal com os movimentos retroativos da
+	 * mesma Conta.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select c from #{#entityName} c where c.idConta = :idConta")
+	Conta findAndLockByIdConta(@Param("idConta") Long idConta);
+
+	@Query("select c.idConta, c.saldoAtual, coalesce(c.saldoInicial, 0) + coalesce((select sum(case when m.reducao = true then -m.valor else m.valor end) from Movimento m where m.conta = c), 0) from #{#entityName} c")
+	List<Object[]> findSaldoAtualAndSaldoCalculado();
+
 }
@@ -0,0 +1,135 @@
+package app.condominio.dao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conta os comandos SQL que o Hibernate envia ao banco na thread atual, entre
+ * iniciar() e encerrar(), agrupados pela forma do comando (sem literais e com
+ * listas IN resumidas). Registrado como StatementInspector da SessionFactory;
+ * fora de uma contagem iniciada não faz nada.
+ */
+@Component
+public class ContadorConsultas implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+	private static final Pattern LITERAIS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+
+	private static final Pattern LISTAS_IN = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+	private static final ThreadLocal<Contagem> contagem = new ThreadLocal<>();
+
+	@Override
+	public String inspect(String sql) {
+		Contagem atual = contagem.get();
+		if (atual != null) {
+			atual.registrar(forma(sql));
+		}
+		return sql;
+	}
+
+	/**
+	 * Inicia (ou reinicia) a contagem na thread atual.
+	 */
+	public void iniciar() {
+		contagem.set(new Contagem());
+	}
+
+	/**
+	 * Encerra a contagem na thread atual.
+	 *
+	 * @return Retorna os comandos executados desde iniciar(), ou nulo se não
+	 *         havia contagem iniciada.
+	 */
+	public Contagem encerrar() {
+		Contagem atual = contagem.get();
+		contagem.remove();
+		return atual;
+	}
+
+	/**
+	 * Faz a tarefa contar na Contagem da thread que a criou, para que os comandos
+	 * de uma tarefa executada em outra thread (como as seções paralelas de um
+	 * relatório) entrem na contagem da requisição. Usado como TaskDecorator.
+	 */
+	public static Runnable propagar(Runnable tarefa) {
+		Contagem origem = contagem.get();
+		if (origem == null) {
+			return tarefa;
+		}
+		return () -> {
+			// Com CallerRunsPolicy a tarefa roda na própria thread de origem, que não
+			// pode perder a sua contagem no fim
+			Contagem anterior = contagem.get();
+			contagem.set(origem);
+			try {
+				tarefa.run();
+			} finally {
+				if (anterior != null) {
+					contagem.set(anterior);
+				} else {
+					contagem.remove();
+				}
+			}
+		};
+	}
+
+	static String forma(String sql) {
+		String forma = LITERAIS.matcher(sql).replaceAll("?");
+		forma = LISTAS_IN.matcher(forma).replaceAll("(...)");
+		return ESPACOS.matcher(forma).replaceAll(" ").trim();
+	}
+
+	public static class Contagem {
+
+		private int total;
+
+		private final Map<String, Integer> formas = new HashMap<>();
+
+		// Sincronizados: as seções paralelas de um relatório registram na mesma
+		// Contagem da requisição
+		private synchronized void registrar(String forma) {
+			total++;
+			formas.merge(forma, 1, Integer::sum);
+		}
+
+		public synchronized int getTotal() {
+			return total;
+		}
+
+		/**
+		 * @return Retorna as formas de comando executadas, sem repetição.
+		 */
+		public synchronized Set<String> getFormas() {
+			return new TreeSet<>(formas.keySet());
+		}
+
+		/**
+		 * @return Retorna as formas de comando mais repetidas, da mais para a menos
+		 *         frequente, no formato "quantidade× comando". Uma forma repetida
+		 *         muitas vezes numa mesma requisição costuma ser um N+1.
+		 */
+		public synchronized List<String> maisFrequentes(int limite) {
+			List<Map.Entry<String, Integer>> entradas = new ArrayList<>(formas.entrySet());
+			entradas.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+			List<String> resultado = new ArrayList<>();
+			for (Map.Entry<String, Integer> entrada : entradas.subList(0, Math.min(limite, entradas.size()))) {
+				resultado.add(entrada.getValue() + "× " + entrada.getKey());
+			}
+			return resultado;
+		}
+
+	}
+
+}
@@ -0,0 +1,119 @@
+package app.condominio.dao;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Limita as conexões abertas ao mesmo tempo com um semáforo justo, à frente do
+ * pool. Com threads virtuais o número de requisições simultâneas deixa de ser
+ * limitado pelo Tomcat; as que passam do limite esperam aqui, em ordem de
+ * chegada e sem ocupar uma thread de plataforma, até o tempo máximo de espera.
+ * A permissão é devolvida quando a conexão é fechada (devolvida ao pool).
+ */
+public class DataSourceLimitado extends DelegatingDataSource {
+
+	private final Semaphore permissoes;
+
+	private final int limite;
+
+	private final Duration espera;
+
+	public DataSourceLimitado(DataSource alvo, int limite, Duration espera) {
+		super(alvo);
+		this.permissoes = new Semaphore(limite, true);
+		this.limite = limite;
+		this.espera = espera;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		adquirir();
+		try {
+			return liberandoAoFechar(super.getConnection());
+		} catch (SQLException | RuntimeException e) {
+			permissoes.release();
+			throw e;
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		adquirir();
+		try {
+			return liberandoAoFechar(super.getConnection(username, password));
+		} catch (SQLException | RuntimeException e) {
+			permissoes.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return Retorna quantas threads esperam por uma conexão.
+	 */
+	public int getEsperando() {
+		return permissoes.getQueueLength();
+	}
+
+	/**
+	 * @return Retorna quantas conexões estão em uso.
+	 */
+	public int getEmUso() {
+		return limite - permissoes.availablePermits();
+	}
+
+	public int getLimite() {
+		return limite;
+	}
+
+	private void adquirir() throws SQLException {
+		try {
+			if (!permissoes.tryAcquire(espera.toNanos(), TimeUnit.NANOSECONDS)) {
+				throw new SQLTransientConnectionException("Nenhuma conexão livre após " + espera + " (limite de "
+						+ limite + " conexões, " + getEsperando() + " threads esperando)");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrompido esperando por uma conexão", e);
+		}
+	}
+
+	private Connection liberandoAoFechar(Connection conexao) {
+		AtomicBoolean fechada = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(DataSourceLimitado.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, metodo, args) -> {
+					switch (metodo.getName()) {
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "close":
+						if (fechada.compareAndSet(false, true)) {
+							try {
+								conexao.close();
+							} finally {
+								permissoes.release();
+							}
+						}
+						return null;
+					default:
+						try {
+							return metodo.invoke(conexao, args);
+						} catch (InvocationTargetException e) {
+							throw e.getTargetException();
+						}
+					}
+				});
+	}
+
+}
@@ -0,0 +1,290 @@
+package app.condominio.dao;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+
+import app.condominio.domain.Baixa;
+import app.condominio.domain.Cobranca;
+import app.condominio.domain.Encargos;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Grava Cobranças em lote por JDBC, sem passar pelo Hibernate, para a geração
+ * mensal de todas as Moradias. Usa a mesma conexão da transação Spring em
+ * andamento.
+ */
+@Timed(value = "condominio.gravador", description = "Tempo das gravações em lote")
+@Repository
+public class GravadorCobrancas {
+
+	private static final String INSERT_COBRANCA = "insert into cobrancas (idMoradia, motivoEmissao, numero, parcela, dataEmissao, dataVencimento, valor, desconto, abatimento, outrasDeducoes, jurosMora, multa, outrosAcrescimos, total, descricao, percentualJurosMes, percentualMulta, situacao, idCondominio) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	// O total é ajustado sobre o valor gravado, trocando os encargos antigos pelos
+	// novos, e não sobrescrito (o MySQL avalia as atribuições em ordem: total vem
+	// antes de multa e jurosMora). Só grava se a Cobrança continua em aberto e com
+	// os encargos lidos no cálculo: uma edição ou baixa concorrente não é perdida
+	private static final String UPDATE_ENCARGOS = "update cobrancas set total = coalesce(total, valor) - coalesce(multa, 0) - coalesce(jurosMora, 0) + ? + ?, multa = ?, jurosMora = ? where idCobranca = ? and dataRecebimento is null and coalesce(multa, 0) = ? and coalesce(jurosMora, 0) = ?";
+
+	// Só baixa Cobranças ainda em aberto: um retorno processado duas vezes não
+	// altera o recebimento já registrado
+	private static final String UPDATE_BAIXA = "update cobrancas set dataRecebimento = ?, motivoBaixa = 'N', valorRecebido = ?, tarifa = ? where idCobranca = ? and dataRecebimento is null";
+
+	// Bloqueia as Cobranças ainda em aberto antes da baixa: estas serão baixadas
+	// pelo update, mesmo que o driver não informe a contagem de cada comando
+	private static final String SELECT_ABERTAS = "select idCobranca from cobrancas where dataRecebimento is null and idCobranca in (%s) for update";
+
+	private static final String SELECT_ENCARGOS = "select idCobranca, multa, jurosMora from cobrancas where idCobranca in (%s)";
+
+	private static final int LINHAS_POR_LOTE = 500;
+
+	@Autowired
+	private DataSource dataSource;
+
+	/**
+	 * @param cobrancas
+	 *            Cobranças ainda não gravadas, já padronizadas (sem campos nulos
+	 *            além de parcela e descrição)
+	 */
+	public void inserir(List<Cobranca> cobrancas) {
+		if (cobrancas.isEmpty()) {
+			return;
+		}
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		PreparedStatement insert = null;
+		try {
+			insert = conexao.prepareStatement(INSERT_COBRANCA);
+			int pendentes = 0;
+			for (Cobranca cobranca : cobrancas) {
+				insert.setLong(1, cobranca.getMoradia().getIdMoradia());
+				insert.setString(2, cobranca.getMotivoEmissao().name());
+				insert.setString(3, cobranca.getNumero());
+				if (cobranca.getParcela() != null) {
+					insert.setString(4, cobranca.getParcela());
+				} else {
+					insert.setNull(4, Types.VARCHAR);
+				}
+				insert.setDate(5, Date.valueOf(cobranca.getDataEmissao()));
+				insert.setDate(6, Date.valueOf(cobranca.getDataVencimento()));
+				insert.setBigDecimal(7, cobranca.getValor());
+				insert.setBigDecimal(8, cobranca.getDesconto());
+				insert.setBigDecimal(9, cobranca.getAbatimento());
+				insert.setBigDecimal(10, cobranca.getOutrasDeducoes());
+				insert.setBigDecimal(11, cobranca.getJurosMora());
+				insert.setBigDecimal(12, cobranca.getMulta());
+				insert.setBigDecimal(13, cobranca.getOutrosAcrescimos());
+				insert.setBigDecimal(14, cobranca.getTotal());
+				if (cobranca.getDescricao() != null) {
+					insert.setString(15, cobranca.getDescricao());
+				} else {
+					insert.setNull(15, Types.VARCHAR);
+				}
+				insert.setFloat(16, cobranca.getPercentualJurosMes());
+				insert.setFloat(17, cobranca.getPercentualMulta());
+				insert.setString(18, cobranca.getSituacao().name());
+				insert.setLong(19, cobranca.getCondominio().getIdCondominio());
+				insert.addBatch();
+				if (++pendentes == LINHAS_POR_LOTE) {
+					insert.executeBatch();
+					pendentes = 0;
+				}
+			}
+			if (pendentes > 0) {
+				insert.executeBatch();
+			}
+		} catch (SQLException e) {
+			throw new SQLErrorCodeSQLExceptionTranslator(dataSource).translate("inserir cobranças em lote",
+					INSERT_COBRANCA, e);
+		} finally {
+			JdbcUtils.closeStatement(insert);
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	/**
+	 * @param encargos
+	 *            Os novos valores de multa e juros de mora de cada Cobrança, com
+	 *            os valores lidos no cálculo
+	 * @return Retorna a quantidade de Cobranças alteradas; as que mudaram desde o
+	 *         cálculo ficam para a próxima execução
+	 */
+	public int atualizarEncargos(List<Encargos> encargos) {
+		if (encargos.isEmpty()) {
+			return 0;
+		}
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		PreparedStatement update = null;
+		try {
+			update = conexao.prepareStatement(UPDATE_ENCARGOS);
+			for (Encargos encargo : encargos) {
+				update.setBigDecimal(1, encargo.getMulta());
+				update.setBigDecimal(2, encargo.getJurosMora());
+				update.setBigDecimal(3, encargo.getMulta());
+				update.setBigDecimal(4, encargo.getJurosMora());
+				update.setLong(5, encargo.getIdCobranca());
+				update.setBigDecimal(6, zeroSeNulo(encargo.getMultaAnterior()));
+				update.setBigDecimal(7, zeroSeNulo(encargo.getJurosMoraAnterior()));
+				update.addBatch();
+			}
+			int[] linhas = update.executeBatch();
+			int alteradas = 0;
+			List<Encargos> semContagem = new ArrayList<>();
+			for (int i = 0; i < linhas.length; i++) {
+				if (linhas[i] == Statement.SUCCESS_NO_INFO) {
+					semContagem.add(encargos.get(i));
+				} else {
+					alteradas += linhas[i];
+				}
+			}
+			// O driver pode não informar a contagem de cada comando do lote: estas
+			// contam como alteradas se agora têm os novos encargos
+			return alteradas + conferirEncargos(conexao, semContagem);
+		} catch (SQLException e) {
+			throw new SQLErrorCodeSQLExceptionTranslator(dataSource).translate("atualizar encargos em lote",
+					UPDATE_ENCARGOS, e);
+		} finally {
+			JdbcUtils.closeStatement(update);
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	private int conferirEncargos(Connection conexao, List<Encargos> encargos) throws SQLException {
+		if (encargos.isEmpty()) {
+			return 0;
+		}
+		Map<Long, Encargos> porId = new HashMap<>();
+		for (Encargos encargo : encargos) {
+			porId.put(encargo.getIdCobranca(), encargo);
+		}
+		int alteradas = 0;
+		PreparedStatement select = null;
+		ResultSet linhas = null;
+		try {
+			select = conexao.prepareStatement(String.format(SELECT_ENCARGOS, marcadores(porId.size())));
+			int indice = 1;
+			for (Long idCobranca : porId.keySet()) {
+				select.setLong(indice++, idCobranca);
+			}
+			linhas = select.executeQuery();
+			while (linhas.next()) {
+				Encargos encargo = porId.get(linhas.getLong(1));
+				if (iguais(linhas.getBigDecimal(2), encargo.getMulta())
+						&& iguais(linhas.getBigDecimal(3), encargo.getJurosMora())) {
+					alteradas++;
+				}
+			}
+		} finally {
+			JdbcUtils.closeResultSet(linhas);
+			JdbcUtils.closeStatement(select);
+		}
+		return alteradas;
+	}
+
+	private static boolean iguais(BigDecimal gravado, BigDecimal novo) {
+		return gravado != null && novo != null && gravado.compareTo(novo) == 0;
+	}
+
+	private static BigDecimal zeroSeNulo(BigDecimal valor) {
+		return valor != null ? valor : BigDecimal.ZERO;
+	}
+
+	private static String marcadores(int quantidade) {
+		return String.join(", ", Collections.nCopies(quantidade, "?"));
+	}
+
+	/**
+	 * @param baixas
+	 *            Os recebimentos informados pelo banco
+	 * @return Retorna, na ordem das baixas, se cada Cobrança foi baixada; falso
+	 *         se ela já não estava em aberto. Vale também quando o driver não
+	 *         informa a contagem de cada update do lote.
+	 */
+	public boolean[] baixar(List<Baixa> baixas) {
+		if (baixas.isEmpty()) {
+			return new boolean[0];
+		}
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		PreparedStatement update = null;
+		try {
+			Set<Long> abertas = bloquearAbertas(conexao, baixas);
+			update = conexao.prepareStatement(UPDATE_BAIXA);
+			for (Baixa baixa : baixas) {
+				update.setDate(1, Date.valueOf(baixa.getDataRecebimento()));
+				update.setBigDecimal(2, baixa.getValorRecebido());
+				if (baixa.getTarifa() != null) {
+					update.setBigDecimal(3, baixa.getTarifa());
+				} else {
+					update.setNull(3, Types.DECIMAL);
+				}
+				update.setLong(4, baixa.getIdCobranca());
+				update.addBatch();
+			}
+			// Com rewriteBatchedStatements o Connector/J envia os updates como
+			// múltiplos comandos e informa a contagem de cada um. Sem a contagem, só
+			// a primeira baixa de cada Cobrança bloqueada em aberto a baixou
+			int[] linhas = update.executeBatch();
+			boolean[] baixadas = new boolean[linhas.length];
+			for (int i = 0; i < linhas.length; i++) {
+				if (linhas[i] == Statement.SUCCESS_NO_INFO) {
+					baixadas[i] = abertas.remove(baixas.get(i).getIdCobranca());
+				} else {
+					baixadas[i] = linhas[i] > 0;
+				}
+			}
+			return baixadas;
+		} catch (SQLException e) {
+			throw new SQLErrorCodeSQLExceptionTranslator(dataSource).translate("baixar cobranças em lote",
+					UPDATE_BAIXA, e);
+		} finally {
+			JdbcUtils.closeStatement(update);
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	private Set<Long> bloquearAbertas(Connection conexao, List<Baixa> baixas) throws SQLException {
+		Set<Long> ids = new HashSet<>();
+		for (Baixa baixa : baixas) {
+			ids.add(baixa.getIdCobranca());
+		}
+		Set<Long> abertas = new HashSet<>();
+		PreparedStatement select = null;
+		ResultSet linhas = null;
+		try {
+			select = conexao.prepareStatement(String.format(SELECT_ABERTAS, marcadores(ids.size())));
+			int indice = 1;
+			for (Long idCobranca : ids) {
+				select.setLong(indice++, idCobranca);
+			}
+			linhas = select.executeQuery();
+			while (linhas.next()) {
+				abertas.add(linhas.getLong(1));
+			}
+		} finally {
+			JdbcUtils.closeResultSet(linhas);
+			JdbcUtils.closeStatement(select);
+		}
+		return abertas;
+	}
+
+}
@@ -0,0 +1,104 @@
+package app.condominio.dao;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+
+import app.condominio.domain.Lancamento;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Grava Lançamentos em lote por JDBC, sem passar pelo Hibernate, para
+ * importações com milhares de linhas. Usa a mesma conexão da transação Spring
+ * em andamento. Não altera saldos: quem chama deve registrá-los no
+ * SaldoContaService e no SaldoMensalService.
+ */
+@Timed(value = "condominio.gravador", description = "Tempo das gravações em lote")
+@Repository
+public class GravadorLancamentos {
+
+	private static final String INSERT_MOVIMENTO = "insert into movimentos (data, valor, documento, descricao, reducao, idConta) values (?, ?, ?, ?, ?, ?)";
+
+	private static final String INSERT_LANCAMENTO = "insert into lancamentos (idMovimento, idPeriodo, idSubcategoria) values (?, ?, ?)";
+
+	@Autowired
+	private DataSource dataSource;
+
+	/**
+	 * @param lancamentos
+	 *            Lançamentos ainda não gravados, com Conta, Periodo, Subcategoria
+	 *            e reducao preenchidos. Recebem o idMovimento gerado pelo banco.
+	 */
+	public void inserir(List<Lancamento> lancamentos) {
+		if (lancamentos.isEmpty()) {
+			return;
+		}
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		try {
+			inserirMovimentos(conexao, lancamentos);
+			inserirLancamentos(conexao, lancamentos);
+		} catch (SQLException e) {
+			throw new SQLErrorCodeSQLExceptionTranslator(dataSource).translate("inserir lançamentos em lote",
+					INSERT_MOVIMENTO, e);
+		} finally {
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	private void inserirMovimentos(Connection conexao, List<Lancamento> lancamentos) throws SQLException {
+		PreparedStatement insert = conexao.prepareStatement(INSERT_MOVIMENTO, Statement.RETURN_GENERATED_KEYS);
+		ResultSet chaves = null;
+		try {
+			for (Lancamento lancamento : lancamentos) {
+				insert.setDate(1, Date.valueOf(lancamento.getData()));
+				insert.setBigDecimal(2, lancamento.getValor());
+				insert.setString(3, lancamento.getDocumento());
+				insert.setString(4, lancamento.getDescricao());
+				insert.setBoolean(5, lancamento.getReducao());
+				insert.setLong(6, lancamento.getConta().getIdConta());
+				insert.addBatch();
+			}
+			insert.executeBatch();
+			chaves = insert.getGeneratedKeys();
+			for (Lancamento lancamento : lancamentos) {
+				if (!chaves.next()) {
+					throw new DataRetrievalFailureException("O banco não retornou o id de todos os movimentos");
+				}
+				lancamento.setIdMovimento(chaves.getLong(1));
+			}
+		} finally {
+			JdbcUtils.closeResultSet(chaves);
+			JdbcUtils.closeStatement(insert);
+		}
+	}
+
+	private void inserirLancamentos(Connection conexao, List<Lancamento> lancamentos) throws SQLException {
+		PreparedStatement insert = conexao.prepareStatement(INSERT_LANCAMENTO);
+		try {
+			for (Lancamento lancamento : lancamentos) {
+				insert.setLong(1, lancamento.getIdMovimento());
+				insert.setLong(2, lancamento.getPeriodo().getIdPeriodo());
+				insert.setLong(3, lancamento.getSubcategoria().getIdSubcategoria());
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		} finally {
+			JdbcUtils.closeStatement(insert);
+		}
+	}
+
+}
@@ -4,8 +4,13 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 
@@ -30,15 +35,41 @@ public interface LancamentoDao extends PagingAndSortingRepository<Lancamento, Lo
 			@Param("dataInicial") LocalDate dataInicial, @Param("dataFinal") LocalDate dataFinal,
 			@Param("subcategoria") Subcategoria subcategoria);
 
+	@Query("select l.subcategoria.idSubcategoria as idSubcategoria, sum(l.valor) as soma from #{#entityName} l where l.conta in :contas and l.data between :dataInicial and :dataFinal and l.subcategoria in :subcategorias group by l.subcategoria.idSubcategoria")
+	List<SomaSubcategoria> sumValorByContaInAndDataBetweenAndSubcategoriaInGroupBySubcategoria(
+			@Param("contas") Collection<Conta> contas, @Param("dataInicial") LocalDate dataInicial,
+			@Param("dataFinal") LocalDate dataFinal, @Param("subcategorias") Collection<Subcategoria> subcategorias);
+
 	@Query("select sum(valor) from #{#entityName} l where l.conta in :contas and l.periodo = :periodo and l.subcategoria = :subcategoria ")
 	BigDecimal sumValorByContaInAndPeriodoAndSubcategoria(@Param("contas") Collection<Conta> contas,
 			@Param("periodo") Periodo periodo, @Param("subcategoria") Subcategoria subcategoria);
 
+	@Query("select l.subcategoria.idSubcategoria as idSubcategoria, sum(l.valor) as soma from #{#entityName} l where l.conta in :contas and l.periodo = :periodo and l.subcategoria in :subcategorias group by l.subcategoria.idSubcategoria")
+	List<SomaSubcategoria> sumValorByContaInAndPeriodoAndSubcategoriaInGroupBySubcategoria(
+			@Param("contas") Collection<Conta> contas, @Param("periodo") Periodo periodo,
+			@Param("subcategorias") Collection<Subcategoria> subcategorias);
+
 	@Query("select sum(valor) from #{#entityName} l where l.conta in :contas and l.periodo = :periodo and l.subcategoria.categoriaPai.ordem like :ordem%")
 	BigDecimal sumValorByContaInAndPeriodoAndSubcategoria_CategoriaPai_OrdemStartingWith(
 			@Param("contas") Collection<Conta> contas, @Param("periodo") Periodo periodo, @Param("ordem") String ordem);
 
+	@EntityGraph(attributePaths = { "conta", "subcategoria", "subcategoria.categoriaPai" })
 	List<Lancamento> findAllByContaInAndDataBetweenOrderByDataAsc(Collection<Conta> conta, LocalDate inicio,
 			LocalDate fim);
 
+	// Carrega de uma vez as Subcategorias de Lançamentos já lidos (por exemplo, de
+	// uma página de Movimentos), evitando uma consulta por linha
+	@Query("select l from #{#entityName} l join fetch l.subcategoria s join fetch s.categoriaPai where l.idMovimento in :ids")
+	List<Lancamento> findAllWithSubcategoriaByIdMovimentoIn(@Param("ids") Collection<Long> ids);
+
+	// Integer.MIN_VALUE como fetch size faz o driver do MySQL entregar as linhas
+	// uma a uma, em vez de carregar todo o resultado na memória. Enquanto o cursor
+	// está aberto a conexão não aceita outro comando, por isso tudo o que
+	// detalhe() usa (Subcategoria e sua Categoria, EAGER) vem na mesma consulta
+	@QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+			@QueryHint(name = "org.hibernate.readOnly", value = "true") })
+	@Query("select l from #{#entityName} l join fetch l.subcategoria s join fetch s.categoriaPai where l.conta in :contas and l.data between :inicio and :fim order by l.data asc, l.idMovimento asc")
+	Stream<Lancamento> streamAllByContaInAndDataBetweenOrderByDataAsc(@Param("contas") Collection<Conta> contas,
+			@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
 }
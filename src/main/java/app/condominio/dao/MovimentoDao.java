@@ -1,12 +1,17 @@
 package app.condominio.dao;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 import app.condominio.domain.Conta;
 import app.condominio.domain.Movimento;
@@ -15,9 +20,34 @@ public interface MovimentoDao extends PagingAndSortingRepository<Movimento, Long
 
 	List<Movimento> findAllByContaInOrderByDataDesc(Collection<Conta> conta);
 
+	@EntityGraph(attributePaths = { "conta" })
 	Page<Movimento> findAllByContaInOrderByDataDesc(Collection<Conta> conta, Pageable pageable);
 
+	// Paginação por chave (data, idMovimento): sem OFFSET e sem COUNT
+	@EntityGraph(attributePaths = { "conta" })
+	Slice<Movimento> findAllByContaInOrderByDataDescIdMovimentoDesc(Collection<Conta> conta, Pageable pageable);
+
+	@EntityGraph(attributePaths = { "conta" })
+	@Query("select m from #{#entityName} m where m.conta in :contas and (m.data < :data or (m.data = :data and m.idMovimento < :idMovimento)) order by m.data desc, m.idMovimento desc")
+	Slice<Movimento> findAllByContaInAfterOrderByDataDescIdMovimentoDesc(@Param("contas") Collection<Conta> contas,
+			@Param("data") LocalDate data, @Param("idMovimento") Long idMovimento, Pageable pageable);
+
 	List<Movimento> findAllByContaInAndDataBetweenOrderByDataAsc(Collection<Conta> conta, LocalDate inicio,
 			LocalDate fim);
 
+	@Query("select sum(case when m.reducao = true then -m.valor else m.valor end) from #{#entityName} m where m.conta = :conta and m.data >= :inicio and m.data < :fim")
+	BigDecimal sumValorComSinalByContaAndDataGreaterThanEqualAndDataBefore(@Param("conta") Conta conta,
+			@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+	@Query("select sum(case when m.reducao = true then -m.valor else m.valor end) from #{#entityName} m where m.conta = :conta and m.data < :data")
+	BigDecimal sumValorComSinalByContaAndDataBefore(@Param("conta") Conta conta, @Param("data") LocalDate data);
+
+	// Chaves para deduplicar importações de extrato: uma consulta por bloco de linhas
+	@Query("select m.data, m.valor, m.documento, m.reducao from #{#entityName} m where m.conta = :conta and m.data between :inicio and :fim")
+	List<Object[]> findDataAndValorAndDocumentoAndReducaoByContaAndDataBetween(@Param("conta") Conta conta,
+			@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+	@Query("select year(m.data), month(m.data), sum(case when m.reducao = true then -m.valor else m.valor end) from #{#entityName} m where m.conta = :conta group by year(m.data), month(m.data) order by year(m.data), month(m.data)")
+	List<Object[]> sumValorComSinalByContaGroupByMes(@Param("conta") Conta conta);
+
 }
@@ -34,6 +34,10 @@ public interface OrcamentoDao extends PagingAndSortingRepository<Orcamento, Long
 	BigDecimal sumByPeriodoAndSubcategoria_CategoriaPai_OrdemStartingWith(@Param("periodo") Periodo periodo,
 			@Param("ordem") String ordem);
 
+	@Query("select o.subcategoria.idSubcategoria as idSubcategoria, sum(o.orcado) as soma from #{#entityName} o where o.periodo = :periodo and o.subcategoria in :subcategorias group by o.subcategoria.idSubcategoria")
+	List<SomaSubcategoria> sumByPeriodoAndSubcategoriaInGroupBySubcategoria(@Param("periodo") Periodo periodo,
+			@Param("subcategorias") Collection<Subcategoria> subcategorias);
+
 	Orcamento findOneByPeriodoAndSubcategoria(Periodo periodo, Subcategoria subcategoria);
 
 }
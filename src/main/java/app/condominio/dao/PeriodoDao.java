@@ -1,9 +1,13 @@
 package app.condominio.dao;
 
 import java.time.LocalDate;
+import java.util.List;
+
+import javax.persistence.QueryHint;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 import app.condominio.domain.Condominio;
@@ -13,6 +17,9 @@ public interface PeriodoDao extends PagingAndSortingRepository<Periodo, Long> {
 
 	Page<Periodo> findAllByCondominioOrderByInicioDesc(Condominio condominio, Pageable pagina);
 
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+	List<Periodo> findAllByCondominioOrderByInicioDesc(Condominio condominio);
+
 	boolean existsByCondominioAndInicioLessThanEqualAndFimGreaterThanEqual(Condominio condominio, LocalDate inicio,
 			LocalDate fim);
 
@@ -24,6 +31,7 @@ public interface PeriodoDao extends PagingAndSortingRepository<Periodo, Long> {
 	boolean existsByCondominioAndInicioAfterAndFimBeforeAndIdPeriodoNot(Condominio condominio, LocalDate inicio,
 			LocalDate fim, Long idPeriodo);
 
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	Periodo findOneByCondominioAndInicioLessThanEqualAndFimGreaterThanEqual(Condominio condominio, LocalDate inicio,
 			LocalDate fim);
 
@@ -1,8 +1,13 @@
 package app.condominio.dao;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 import app.condominio.domain.Condominio;
 import app.condominio.domain.Pessoa;
@@ -12,4 +17,10 @@ public interface PessoaDao extends PagingAndSortingRepository<Pessoa, Long> {
 	// LATER ordenação do sobrenome?
 	Page<Pessoa> findAllByCondominioOrderByNome(Condominio condominio, Pageable pagina);
 
+	// Pessoas com e-mail ainda relacionadas às Moradias com Cobranças vencidas,
+	// numa só consulta para todo o Condomínio
+	@Query("select r.moradia.idMoradia, r.pessoa.nome, r.pessoa.email, r.tipo, r.participacaoDono from Relacao r where r.pessoa.condominio = :condominio and r.pessoa.email is not null and r.pessoa.email <> '' and (r.dataSaida is null or r.dataSaida > :data) and r.moradia.idMoradia in (select c.moradia.idMoradia from Cobranca c where c.condominio = :condominio and c.dataRecebimento is null and c.dataVencimento < :data)")
+	List<Object[]> findResponsaveisInadimplentesByCondominio(@Param("condominio") Condominio condominio,
+			@Param("data") LocalDate data);
+
 }
@@ -0,0 +1,58 @@
+package app.condominio.dao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import app.condominio.domain.Condominio;
+import app.condominio.domain.ResumoInadimplencia;
+
+public interface ResumoInadimplenciaDao extends CrudRepository<ResumoInadimplencia, Long> {
+
+	@EntityGraph(attributePaths = { "moradia", "moradia.bloco" })
+	@Query("select r from #{#entityName} r where r.condominio = :condominio order by r.moradia.bloco.sigla, r.moradia.sigla")
+	List<ResumoInadimplencia> findAllByCondominioOrderByMoradia(@Param("condominio") Condominio condominio);
+
+	@Query("select sum(r.total) from #{#entityName} r where r.condominio = :condominio")
+	BigDecimal sumTotalByCondominio(@Param("condominio") Condominio condominio);
+
+	// Recálculo por Moradia: apaga o resumo e reinsere a partir das Cobranças, em
+	// duas instruções por conjunto de Moradias. Os comandos nativos declaram a
+	// tabela que alteram para o Hibernate não esvaziar todo o cache de segundo
+	// nível a cada recálculo
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "resumosinadimplencia"))
+	@Query(value = "delete from resumosinadimplencia where idMoradia in (:moradias)", nativeQuery = true)
+	int deleteByIdMoradiaIn(@Param("moradias") Collection<Long> moradias);
+
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "resumosinadimplencia"))
+	@Query(value = "insert into resumosinadimplencia (idMoradia, idCondominio, quantidade, principal, encargos, total, vencimentoMaisAntigo, atualizacao) select idMoradia, idCondominio, count(*), sum(valor), sum(coalesce(multa, 0) + coalesce(jurosMora, 0)), sum(coalesce(total, valor)), min(dataVencimento), :data from cobrancas where idMoradia in (:moradias) and dataRecebimento is null and dataVencimento < :data group by idMoradia, idCondominio", nativeQuery = true)
+	int insertByIdMoradiaIn(@Param("moradias") Collection<Long> moradias, @Param("data") LocalDate data);
+
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "resumosinadimplencia"))
+	@Query(value = "delete from resumosinadimplencia where idCondominio = :idCondominio", nativeQuery = true)
+	int deleteByIdCondominio(@Param("idCondominio") Long idCondominio);
+
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "resumosinadimplencia"))
+	@Query(value = "insert into resumosinadimplencia (idMoradia, idCondominio, quantidade, principal, encargos, total, vencimentoMaisAntigo, atualizacao) select idMoradia, idCondominio, count(*), sum(valor), sum(coalesce(multa, 0) + coalesce(jurosMora, 0)), sum(coalesce(total, valor)), min(dataVencimento), :data from cobrancas where idCondominio = :idCondominio and dataRecebimento is null and dataVencimento < :data group by idMoradia, idCondominio", nativeQuery = true)
+	int insertByIdCondominio(@Param("idCondominio") Long idCondominio, @Param("data") LocalDate data);
+
+	// Moradias que já têm resumo, para a primeira manutenção noturna descartar os
+	// que ficaram desatualizados
+	@Query("select r.idMoradia from #{#entityName} r")
+	List<Long> findAllIdMoradia();
+
+}
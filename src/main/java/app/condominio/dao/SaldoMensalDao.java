@@ -0,0 +1,33 @@
+package app.condominio.dao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+
+import app.condominio.domain.Conta;
+import app.condominio.domain.SaldoMensal;
+
+public interface SaldoMensalDao extends PagingAndSortingRepository<SaldoMensal, Long> {
+
+	SaldoMensal findFirstByContaAndMesBeforeOrderByMesDesc(Conta conta, LocalDate mes);
+
+	boolean existsByContaAndMes(Conta conta, LocalDate mes);
+
+	@Modifying
+	@Query("update #{#entityName} s set s.saldo = s.saldo + :valor where s.conta = :conta and s.mes >= :mes")
+	int addSaldoByContaAndMesGreaterThanEqual(@Param("conta") Conta conta, @Param("mes") LocalDate mes,
+			@Param("valor") BigDecimal valor);
+
+	@Modifying
+	@Query("update #{#entityName} s set s.saldo = s.saldo + :valor where s.conta = :conta")
+	int addSaldoByConta(@Param("conta") Conta conta, @Param("valor") BigDecimal valor);
+
+	@Modifying
+	@Query("delete from #{#entityName} s where s.conta = :conta")
+	int deleteAllByConta(@Param("conta") Conta conta);
+
+}
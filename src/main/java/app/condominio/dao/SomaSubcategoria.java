@@ -0,0 +1,43 @@
+package app.condominio.dao;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import app.condominio.domain.Subcategoria;
+
+/**
+ * Projeção usada nas consultas agrupadas por Subcategoria. Cada linha traz o ID
+ * da Subcategoria e a soma dos valores agrupados.
+ */
+public interface SomaSubcategoria {
+
+	Long getIdSubcategoria();
+
+	BigDecimal getSoma();
+
+	/**
+	 * @param subcategorias
+	 *            As Subcategorias usadas como filtro da consulta agrupada
+	 * @param somas
+	 *            O resultado da consulta agrupada
+	 * @return Retorna um mapa do tipo Map{@literal <}Subcategoria,
+	 *         BigDecimal{@literal >} associando cada soma à respectiva
+	 *         Subcategoria já carregada. Nunca retorna nulo.
+	 */
+	static Map<Subcategoria, BigDecimal> porSubcategoria(Collection<Subcategoria> subcategorias,
+			List<SomaSubcategoria> somas) {
+		Map<Long, Subcategoria> porId = new HashMap<>();
+		for (Subcategoria subcategoria : subcategorias) {
+			porId.put(subcategoria.getIdSubcategoria(), subcategoria);
+		}
+		Map<Subcategoria, BigDecimal> mapa = new HashMap<>();
+		for (SomaSubcategoria soma : somas) {
+			mapa.put(porId.get(soma.getIdSubcategoria()), soma.getSoma());
+		}
+		return mapa;
+	}
+
+}
@@ -3,6 +3,9 @@ package app.condominio.dao;
 import java.util.Collection;
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 import app.condominio.domain.Categoria;
@@ -10,6 +13,7 @@ import app.condominio.domain.Subcategoria;
 
 public interface SubcategoriaDao extends PagingAndSortingRepository<Subcategoria, Long> {
 
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	List<Subcategoria> findAllByCategoriaPaiInOrderByCategoriaPai_OrdemAscDescricao(Collection<Categoria> categoriaPai);
 
 	int countByCategoriaPaiIn(Collection<Categoria> categoriaPai);
@@ -1,6 +1,8 @@
 package app.condominio.dao;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 import app.condominio.domain.Usuario;
 
@@ -12,4 +14,8 @@ public interface UsuarioDao extends PagingAndSortingRepository<Usuario, Long> {
 
 	Boolean existsByUsernameAndIdNot(String username, Long id);
 
+	// Username gravado no banco, antes de uma alteração que pode renomeá-lo
+	@Query("select u.username from #{#entityName} u where u.id = :id")
+	String findUsernameById(@Param("id") Long id);
+
 }
@@ -0,0 +1,43 @@
+package app.condominio.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Recebimento de uma Cobrança informado pelo banco no arquivo de retorno: data,
+ * valor pago e tarifa cobrada pelo banco.
+ */
+public class Baixa {
+
+	private final Long idCobranca;
+
+	private final LocalDate dataRecebimento;
+
+	private final BigDecimal valorRecebido;
+
+	private final BigDecimal tarifa;
+
+	public Baixa(Long idCobranca, LocalDate dataRecebimento, BigDecimal valorRecebido, BigDecimal tarifa) {
+		this.idCobranca = idCobranca;
+		this.dataRecebimento = dataRecebimento;
+		this.valorRecebido = valorRecebido;
+		this.tarifa = tarifa;
+	}
+
+	public Long getIdCobranca() {
+		return idCobranca;
+	}
+
+	public LocalDate getDataRecebimento() {
+		return dataRecebimento;
+	}
+
+	public BigDecimal getValorRecebido() {
+		return valorRecebido;
+	}
+
+	public BigDecimal getTarifa() {
+		return tarifa;
+	}
+
+}
@@ -1,6 +1,8 @@
 package app.condominio.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
@@ -10,6 +12,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "blocos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Bloco implements Serializable, Comparable<Bloco> {
 
     @Id
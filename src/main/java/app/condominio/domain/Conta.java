@@ -29,7 +29,10 @@ public class Conta implements Serializable, Comparable<Conta> {
     @Column(name = "saldoinicial")
     private BigDecimal saldoInicial;
 
-    @Column(name = "saldoatual")
+    // Alterado só por incremento atômico (SaldoContaService), nunca pelo Hibernate.
+    // Por isso a Conta não fica no cache de segundo nível: cada movimento
+    // descartaria a região inteira
+    @Column(name = "saldoatual", updatable = false)
     private BigDecimal saldoAtual;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,104 @@
+package app.condominio.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Um e-mail da caixa de saída (tabela emailspendentes), gravado pelo
+ * EmailService e enviado pelo EnvioEmailsService.
+ */
+public class EmailPendente {
+
+	private Long idEmail;
+
+	// Condomínio que originou o e-mail, se houver
+	private Long idCondominio;
+
+	// Funcionalidade que originou o e-mail, para consultas e estatísticas
+	private String origem;
+
+	private final String para;
+
+	private final String assunto;
+
+	private final String mensagem;
+
+	private int tentativas;
+
+	private LocalDateTime criacao;
+
+	// Envio a partir desta data e hora, para espaçar envios em massa; nulo para
+	// enviar assim que possível
+	private LocalDateTime proximaTentativa;
+
+	public EmailPendente(String para, String assunto, String mensagem) {
+		this.para = para;
+		this.assunto = assunto;
+		this.mensagem = mensagem;
+	}
+
+	public Long getIdEmail() {
+		return idEmail;
+	}
+
+	public void setIdEmail(Long idEmail) {
+		this.idEmail = idEmail;
+	}
+
+	public Long getIdCondominio() {
+		return idCondominio;
+	}
+
+	public void setIdCondominio(Long idCondominio) {
+		this.idCondominio = idCondominio;
+	}
+
+	public String getOrigem() {
+		return origem;
+	}
+
+	public void setOrigem(String origem) {
+		this.origem = origem;
+	}
+
+	public String getPara() {
+		return para;
+	}
+
+	public String getAssunto() {
+		return assunto;
+	}
+
+	public String getMensagem() {
+		return mensagem;
+	}
+
+	public int getTentativas() {
+		return tentativas;
+	}
+
+	public void setTentativas(int tentativas) {
+		this.tentativas = tentativas;
+	}
+
+	public LocalDateTime getCriacao() {
+		return criacao;
+	}
+
+	public void setCriacao(LocalDateTime criacao) {
+		this.criacao = criacao;
+	}
+
+	public LocalDateTime getProximaTentativa() {
+		return proximaTentativa;
+	}
+
+	public void setProximaTentativa(LocalDateTime proximaTentativa) {
+		this.proximaTentativa = proximaTentativa;
+	}
+
+	@Override
+	public String toString() {
+		return para + " - " + assunto;
+	}
+
+}
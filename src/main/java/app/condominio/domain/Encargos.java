@@ -0,0 +1,80 @@
+package app.condominio.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Multa, juros de mora e total de uma Cobrança calculados para uma data, pela
+ * mesma fórmula do antigo evento atTotalCobrancaDiariamente.
+ */
+public class Encargos {
+
+	private final Long idCobranca;
+
+	private final BigDecimal multa;
+
+	private final BigDecimal jurosMora;
+
+	private final BigDecimal total;
+
+	private final BigDecimal multaAnterior;
+
+	private final BigDecimal jurosMoraAnterior;
+
+	private final boolean alterado;
+
+	public Encargos(Long idCobranca, BigDecimal multa, BigDecimal jurosMora, BigDecimal total, boolean alterado) {
+		this(idCobranca, multa, jurosMora, total, multa, jurosMora, alterado);
+	}
+
+	public Encargos(Long idCobranca, BigDecimal multa, BigDecimal jurosMora, BigDecimal total,
+			BigDecimal multaAnterior, BigDecimal jurosMoraAnterior, boolean alterado) {
+		this.idCobranca = idCobranca;
+		this.multa = multa;
+		this.jurosMora = jurosMora;
+		this.total = total;
+		this.multaAnterior = multaAnterior;
+		this.jurosMoraAnterior = jurosMoraAnterior;
+		this.alterado = alterado;
+	}
+
+	public Long getIdCobranca() {
+		return idCobranca;
+	}
+
+	public BigDecimal getMulta() {
+		return multa;
+	}
+
+	public BigDecimal getJurosMora() {
+		return jurosMora;
+	}
+
+	public BigDecimal getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return Retorna a multa lida da Cobrança quando os encargos foram
+	 *         calculados
+	 */
+	public BigDecimal getMultaAnterior() {
+		return multaAnterior;
+	}
+
+	/**
+	 * @return Retorna os juros de mora lidos da Cobrança quando os encargos foram
+	 *         calculados
+	 */
+	public BigDecimal getJurosMoraAnterior() {
+		return jurosMoraAnterior;
+	}
+
+	/**
+	 * @return Retorna verdadeiro se algum valor difere do que está gravado na
+	 *         Cobrança
+	 */
+	public boolean isAlterado() {
+		return alterado;
+	}
+
+}
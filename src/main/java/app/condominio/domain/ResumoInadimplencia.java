@@ -0,0 +1,123 @@
+package app.condominio.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Cobranças vencidas e não recebidas de uma Moradia, já somadas. Somente
+ * leitura: gravado pelo InadimplenciaService com SQL nativo.
+ */
+@SuppressWarnings("serial")
+@Entity
+@Immutable
+@Table(name = "resumosinadimplencia")
+public class ResumoInadimplencia implements Serializable {
+
+	@Id
+	@Column(name = "idmoradia")
+	private Long idMoradia;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "idmoradia", insertable = false, updatable = false)
+	private Moradia moradia;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "idcondominio")
+	private Condominio condominio;
+
+	// Quantidade de Cobranças em aberto
+	private Integer quantidade;
+
+	// Soma do valor original das Cobranças
+	private BigDecimal principal;
+
+	// Soma da multa e dos juros de mora
+	private BigDecimal encargos;
+
+	// Soma do total atual das Cobranças
+	private BigDecimal total;
+
+	@Column(name = "vencimentomaisantigo")
+	private LocalDate vencimentoMaisAntigo;
+
+	// Data de referência do último recálculo
+	private LocalDate atualizacao;
+
+	public Long getIdMoradia() {
+		return idMoradia;
+	}
+
+	public Moradia getMoradia() {
+		return moradia;
+	}
+
+	public Condominio getCondominio() {
+		return condominio;
+	}
+
+	public Integer getQuantidade() {
+		return quantidade;
+	}
+
+	public BigDecimal getPrincipal() {
+		return principal;
+	}
+
+	public BigDecimal getEncargos() {
+		return encargos;
+	}
+
+	public BigDecimal getTotal() {
+		return total;
+	}
+
+	public LocalDate getVencimentoMaisAntigo() {
+		return vencimentoMaisAntigo;
+	}
+
+	public LocalDate getAtualizacao() {
+		return atualizacao;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((idMoradia == null) ? 0 : idMoradia.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		ResumoInadimplencia other = (ResumoInadimplencia) obj;
+		if (idMoradia == null) {
+			if (other.idMoradia != null) {
+				return false;
+			}
+		} else if (!idMoradia.equals(other.idMoradia)) {
+			return false;
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,103 @@
+package app.condominio.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+
+@SuppressWarnings("serial")
+@Entity
+@Table(name = "saldosmensais")
+public class SaldoMensal implements Serializable {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "idsaldomensal")
+	private Long idSaldoMensal;
+
+	@NotNull
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "idconta")
+	private Conta conta;
+
+	// Sempre o primeiro dia do mês
+	@NotNull
+	private LocalDate mes;
+
+	// Saldo da Conta no fim do último dia do mês
+	@NotNull
+	private BigDecimal saldo;
+
+	public Long getIdSaldoMensal() {
+		return idSaldoMensal;
+	}
+
+	public void setIdSaldoMensal(Long idSaldoMensal) {
+		this.idSaldoMensal = idSaldoMensal;
+	}
+
+	public Conta getConta() {
+		return conta;
+	}
+
+	public void setConta(Conta conta) {
+		this.conta = conta;
+	}
+
+	public LocalDate getMes() {
+		return mes;
+	}
+
+	public void setMes(LocalDate mes) {
+		this.mes = mes;
+	}
+
+	public BigDecimal getSaldo() {
+		return saldo;
+	}
+
+	public void setSaldo(BigDecimal saldo) {
+		this.saldo = saldo;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((idSaldoMensal == null) ? 0 : idSaldoMensal.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		SaldoMensal other = (SaldoMensal) obj;
+		if (idSaldoMensal == null) {
+			if (other.idSaldoMensal != null) {
+				return false;
+			}
+		} else if (!idSaldoMensal.equals(other.idSaldoMensal)) {
+			return false;
+		}
+		return true;
+	}
+
+}
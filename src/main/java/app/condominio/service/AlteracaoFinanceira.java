@@ -0,0 +1,27 @@
+package app.condominio.service;
+
+import app.condominio.domain.Condominio;
+
+/**
+ * Evento publicado pelos serviços sempre que uma gravação altera os valores
+ * financeiros de um Condominio (movimentos, cobranças, orçamentos, períodos e
+ * contas).
+ */
+public class AlteracaoFinanceira {
+
+	private final Long idCondominio;
+
+	/**
+	 * @param condominio
+	 *            O Condominio alterado. Se for nulo, o evento vale para todos os
+	 *            Condomínios.
+	 */
+	public AlteracaoFinanceira(Condominio condominio) {
+		this.idCondominio = condominio != null ? condominio.getIdCondominio() : null;
+	}
+
+	public Long getIdCondominio() {
+		return idCondominio;
+	}
+
+}
@@ -0,0 +1,26 @@
+package app.condominio.service;
+
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import app.condominio.domain.Usuario;
+
+public interface AutenticacaoService extends UserDetailsService {
+
+	/**
+	 * @param username
+	 *            O username cujos dados de autenticação guardados em cache devem
+	 *            ser descartados, obrigando a próxima leitura a consultar o banco.
+	 *            Dentro de uma transação, são descartados de novo ao final dela.
+	 */
+	public void descartar(String username);
+
+	/**
+	 * @param usuario
+	 *            O Usuario que teve o cadastro alterado. Se for o usuário logado
+	 *            na requisição atual, o principal do contexto de segurança é
+	 *            substituído por um novo, com username, autorizações e Condominio
+	 *            atualizados.
+	 */
+	public void atualizarLogado(Usuario usuario);
+
+}
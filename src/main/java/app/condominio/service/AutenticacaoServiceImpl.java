@@ -0,0 +1,105 @@
+package app.condominio.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import app.condominio.dao.UsuarioDao;
+import app.condominio.domain.Usuario;
+import app.condominio.domain.enums.Autorizacao;
+
+@Service
+@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+public class AutenticacaoServiceImpl implements AutenticacaoService {
+
+	@Autowired
+	private UsuarioDao usuarioDao;
+
+	private final Cache<String, UsuarioAutenticado> cache;
+
+	public AutenticacaoServiceImpl(@Value("${condominio.autenticacao.cache.ttl:PT5M}") Duration ttl,
+			@Value("${condominio.autenticacao.cache.tamanho:1000}") long tamanho) {
+		cache = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(tamanho).build();
+	}
+
+	@Override
+	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+		UsuarioAutenticado usuarioAutenticado = cache.getIfPresent(username);
+		if (usuarioAutenticado == null) {
+			usuarioAutenticado = criar(usuarioDao.findOneByUsername(username), username);
+			cache.put(username, usuarioAutenticado);
+		}
+		// Sempre entrega uma cópia, pois o Spring Security apaga a senha do
+		// principal ao final da autenticação
+		return new UsuarioAutenticado(usuarioAutenticado);
+	}
+
+	private UsuarioAutenticado criar(Usuario usuario, String username) {
+		if (usuario == null) {
+			throw new UsernameNotFoundException(username);
+		}
+		List<GrantedAuthority> autorizacoes = new ArrayList<>();
+		for (Autorizacao autorizacao : usuario.getAutorizacoes()) {
+			autorizacoes.add(new SimpleGrantedAuthority(autorizacao.name()));
+		}
+		return new UsuarioAutenticado(usuario.getUsername(), usuario.getPassword(), usuario.getAtivo(),
+				autorizacoes, usuario.getId(),
+				usuario.getCondominio() != null ? usuario.getCondominio().getIdCondominio() : null,
+				usuario.nomeCompleto());
+	}
+
+	@Override
+	public void descartar(String username) {
+		if (username == null) {
+			return;
+		}
+		cache.invalidate(username);
+		// Um login concorrente pode ler a linha antes do commit e guardar de novo os
+		// dados antigos, então descarta outra vez ao fim da transação (também no
+		// rollback, caso a própria transação tenha guardado dados não gravados)
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCompletion(int status) {
+					cache.invalidate(username);
+				}
+
+			});
+		}
+	}
+
+	@Override
+	public void atualizarLogado(Usuario usuario) {
+		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+		if (auth != null && auth.getPrincipal() instanceof UsuarioAutenticado
+				&& ((UsuarioAutenticado) auth.getPrincipal()).getIdUsuario().equals(usuario.getId())) {
+			// O username pode ter mudado, então descarta também o antigo
+			descartar(auth.getName());
+			UserDetails principal = loadUserByUsername(usuario.getUsername());
+			UsernamePasswordAuthenticationToken novo = new UsernamePasswordAuthenticationToken(principal, null,
+					principal.getAuthorities());
+			novo.setDetails(auth.getDetails());
+			SecurityContextHolder.getContext().setAuthentication(novo);
+		}
+	}
+
+}
@@ -23,7 +23,7 @@ public class BlocoServiceImpl implements BlocoService {
 	private BlocoDao blocoDao;
 
 	@Autowired
-	private UsuarioService usuarioService;
+	private ContextoUsuario contextoUsuario;
 
 	@Override
 	public void salvar(Bloco entidade) {
@@ -42,16 +42,16 @@ public class BlocoServiceImpl implements BlocoService {
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public List<Bloco> listar() {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return new ArrayList<>();
 		}
-		return condominio.getBlocos();
+		return blocoDao.findAllByCondominioOrderBySiglaAsc(condominio);
 	}
 
 	@Override
 	public Page<Bloco> listarPagina(Pageable pagina) {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return Page.empty(pagina);
 		}
@@ -75,7 +75,7 @@ public class BlocoServiceImpl implements BlocoService {
 		// VALIDAÇÕES NA INCLUSÃO
 		if (entidade.getIdBloco() == null) {
 			// Sigla não pode repetir
-			if (blocoDao.existsBySiglaAndCondominio(entidade.getSigla(), usuarioService.lerLogado().getCondominio())) {
+			if (blocoDao.existsBySiglaAndCondominio(entidade.getSigla(), contextoUsuario.getCondominio())) {
 				validacao.rejectValue("sigla", "Unique");
 			}
 		}
@@ -83,7 +83,7 @@ public class BlocoServiceImpl implements BlocoService {
 		else {
 			// Sigla não pode repetir
 			if (blocoDao.existsBySiglaAndCondominioAndIdBlocoNot(entidade.getSigla(),
-					usuarioService.lerLogado().getCondominio(), entidade.getIdBloco())) {
+					contextoUsuario.getCondominio(), entidade.getIdBloco())) {
 				validacao.rejectValue("sigla", "Unique");
 			}
 		}
@@ -94,7 +94,7 @@ public class BlocoServiceImpl implements BlocoService {
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public void padronizar(Bloco entidade) {
 		if (entidade.getCondominio() == null) {
-			entidade.setCondominio(usuarioService.lerLogado().getCondominio());
+			entidade.setCondominio(contextoUsuario.getCondominio());
 		}
 	}
 
@@ -0,0 +1,20 @@
+package app.condominio.service;
+
+import java.util.Map;
+
+public interface CacheEntidadesService {
+
+	/**
+	 * @return Retorna um Map com as estatísticas do cache de segundo nível do
+	 *         Hibernate, com uma entrada por região (acertos, falhas, inclusões e
+	 *         tamanho) e uma para o cache de consultas
+	 */
+	public Map<String, Object> estatisticas();
+
+	/**
+	 * Esvazia o cache de segundo nível e o cache de consultas, para quando o
+	 * banco é alterado por fora do Hibernate (por exemplo pelo GeradorDados).
+	 */
+	public void descartar();
+
+}
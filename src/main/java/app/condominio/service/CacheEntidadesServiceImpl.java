@@ -0,0 +1,48 @@
+package app.condominio.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CacheEntidadesServiceImpl implements CacheEntidadesService {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Override
+	public Map<String, Object> estatisticas() {
+		Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		Map<String, Object> estatisticas = new LinkedHashMap<>();
+		estatisticas.put("ativas", stats.isStatisticsEnabled());
+		for (String regiao : stats.getSecondLevelCacheRegionNames()) {
+			CacheRegionStatistics regiaoStats = stats.getDomainDataRegionStatistics(regiao);
+			Map<String, Object> valores = new LinkedHashMap<>();
+			valores.put("acertos", regiaoStats.getHitCount());
+			valores.put("falhas", regiaoStats.getMissCount());
+			valores.put("inclusoes", regiaoStats.getPutCount());
+			valores.put("tamanho", regiaoStats.getElementCountInMemory());
+			estatisticas.put(regiao, valores);
+		}
+		Map<String, Object> consultas = new LinkedHashMap<>();
+		consultas.put("acertos", stats.getQueryCacheHitCount());
+		consultas.put("falhas", stats.getQueryCacheMissCount());
+		consultas.put("inclusoes", stats.getQueryCachePutCount());
+		estatisticas.put("consultas", consultas);
+		return estatisticas;
+	}
+
+	@Override
+	public void descartar() {
+		entityManagerFactory.getCache().evictAll();
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+	}
+
+}
@@ -0,0 +1,35 @@
+package app.condominio.service;
+
+public interface CampanhaInadimplenciaService {
+
+	/**
+	 * @return Retorna o assunto sugerido para os lembretes.
+	 */
+	public String assuntoPadrao();
+
+	/**
+	 * @return Retorna o modelo sugerido para os lembretes, com todos os campos
+	 *         disponíveis.
+	 */
+	public String modeloPadrao();
+
+	/**
+	 * Grava na caixa de saída um lembrete para cada Moradia do Condomínio com
+	 * Cobranças vencidas, endereçado à Pessoa responsável: o proprietário com
+	 * maior participação ou, na falta dele, o inquilino ou outro morador com
+	 * e-mail. Os e-mails são espaçados no tempo pelo limite de envio das
+	 * campanhas. Só uma campanha por Condomínio por dia.
+	 *
+	 * @param assunto
+	 *            Assunto dos e-mails
+	 * @param modelo
+	 *            Texto dos e-mails, com os campos {nome}, {moradia},
+	 *            {quantidade}, {total}, {vencimento} (o mais antigo) e
+	 *            {cobrancas} (uma linha por Cobrança)
+	 * @return Retorna o resumo da campanha; se já houve campanha hoje, nada é
+	 *         gravado e o resumo vem marcado como repetido; sem Condomínio, o
+	 *         resumo vem vazio
+	 */
+	public ResultadoCampanhaInadimplencia enviarLembretes(String assunto, String modelo);
+
+}
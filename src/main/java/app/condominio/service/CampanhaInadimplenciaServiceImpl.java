@@ -0,0 +1,178 @@
+package app.condominio.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.condominio.dao.CaixaSaidaEmails;
+import app.condominio.dao.CobrancaDao;
+import app.condominio.dao.PessoaDao;
+import app.condominio.domain.Condominio;
+import app.condominio.domain.EmailPendente;
+import app.condominio.domain.enums.TipoRelacao;
+
+@Service
+@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+public class CampanhaInadimplenciaServiceImpl implements CampanhaInadimplenciaService {
+
+	private static final Logger log = LoggerFactory.getLogger(CampanhaInadimplenciaServiceImpl.class);
+
+	private static final List<String> CAMPOS = Arrays.asList("nome", "moradia", "quantidade", "total", "vencimento",
+			"cobrancas");
+
+	private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+	@Autowired
+	private CobrancaDao cobrancaDao;
+
+	@Autowired
+	private PessoaDao pessoaDao;
+
+	@Autowired
+	private CaixaSaidaEmails caixaSaidaEmails;
+
+	@Autowired
+	private EmailService emailService;
+
+	@Autowired
+	private ContextoUsuario contextoUsuario;
+
+	@Value("${condominio.campanhas.por-segundo:4}")
+	private double porSegundo;
+
+	@Override
+	public String assuntoPadrao() {
+		return "Condomínio App - Cobranças em aberto";
+	}
+
+	@Override
+	public String modeloPadrao() {
+		return "Olá, {nome}.\n\nConsta em nosso controle que a moradia {moradia} possui {quantidade} cobrança(s) vencida(s), "
+				+ "a mais antiga desde {vencimento}, no total atualizado de R$ {total}:\n\n{cobrancas}\n"
+				+ "Caso o pagamento já tenha sido feito, por favor desconsidere esta mensagem.\n\nAtenciosamente,\nO síndico";
+	}
+
+	@Override
+	@Transactional
+	public ResultadoCampanhaInadimplencia enviarLembretes(String assunto, String modelo) {
+		long inicio = System.currentTimeMillis();
+		Condominio condominio = contextoUsuario.getCondominio();
+		LocalDate hoje = LocalDate.now();
+		ResultadoCampanhaInadimplencia resultado = new ResultadoCampanhaInadimplencia("inadimplencia:" + hoje);
+		// Síndico ainda sem Condomínio cadastrado: não há a quem lembrar
+		if (condominio == null) {
+			return resultado;
+		}
+		if (!caixaSaidaEmails.registrarCampanha(condominio.getIdCondominio(), resultado.getOrigem())) {
+			resultado.setRepetida(true);
+			return resultado;
+		}
+
+		// Duas consultas para todo o Condomínio: as Cobranças vencidas, já em ordem
+		// de Bloco e Moradia, e as Pessoas relacionadas a essas Moradias
+		Map<Long, Unidade> unidades = new LinkedHashMap<>();
+		for (Object[] linha : cobrancaDao.findLembretesByCondominioAndDataVencimentoBefore(condominio, hoje)) {
+			Unidade unidade = unidades.computeIfAbsent((Long) linha[0],
+					id -> new Unidade(linha[1] + " - " + linha[2]));
+			unidade.cobranca((String) linha[3], (String) linha[4], (LocalDate) linha[5], (BigDecimal) linha[6]);
+		}
+		Map<Long, Object[]> responsaveis = new HashMap<>();
+		for (Object[] linha : pessoaDao.findResponsaveisInadimplentesByCondominio(condominio, hoje)) {
+			responsaveis.merge((Long) linha[0], linha,
+					(atual, candidato) -> prioridade(candidato) < prioridade(atual) ? candidato : atual);
+		}
+
+		ModeloMensagem mensagem = new ModeloMensagem(modelo, CAMPOS);
+		// Espaça os envios para que a campanha não ocupe toda a taxa do despacho
+		// nem atrase os demais e-mails, que entram na fila entre os lembretes
+		LocalDateTime envio = LocalDateTime.now();
+		long intervalo = (long) (1_000_000_000L / porSegundo);
+		List<EmailPendente> emails = new ArrayList<>(unidades.size());
+		Map<String, String> valores = new HashMap<>();
+		for (Map.Entry<Long, Unidade> entrada : unidades.entrySet()) {
+			Unidade unidade = entrada.getValue();
+			resultado.moradia(unidade.total);
+			Object[] responsavel = responsaveis.get(entrada.getKey());
+			if (responsavel == null) {
+				resultado.semEmail(unidade.descricao);
+				continue;
+			}
+			valores.put("nome", (String) responsavel[1]);
+			valores.put("moradia", unidade.descricao);
+			valores.put("quantidade", String.valueOf(unidade.quantidade));
+			valores.put("total", unidade.total.toString());
+			valores.put("vencimento", unidade.vencimento.format(DATA));
+			valores.put("cobrancas", unidade.linhas.toString());
+			EmailPendente email = new EmailPendente((String) responsavel[2], assunto, mensagem.preencher(valores));
+			email.setIdCondominio(condominio.getIdCondominio());
+			email.setOrigem(resultado.getOrigem());
+			email.setProximaTentativa(envio.plusNanos(intervalo * emails.size()));
+			emails.add(email);
+			resultado.email();
+		}
+		emailService.enviarEmails(emails);
+		resultado.setPrevisaoTermino(envio.plusNanos(intervalo * emails.size()));
+		resultado.setMilissegundos(System.currentTimeMillis() - inicio);
+		log.info("Campanha de inadimplência do condomínio {}: {} e-mails para {} moradias em {} ms",
+				condominio.getIdCondominio(), resultado.getEmails(), resultado.getMoradias(),
+				resultado.getMilissegundos());
+		return resultado;
+	}
+
+	// Proprietário antes de inquilino e de outros; entre proprietários, a maior
+	// participação
+	private static double prioridade(Object[] responsavel) {
+		TipoRelacao tipo = (TipoRelacao) responsavel[3];
+		Float participacao = (Float) responsavel[4];
+		return (tipo != null ? tipo.ordinal() : TipoRelacao.values().length) * 1000
+				- (participacao != null ? participacao : 0);
+	}
+
+	private static class Unidade {
+
+		private final String descricao;
+
+		private final StringBuilder linhas = new StringBuilder();
+
+		private int quantidade;
+
+		private BigDecimal total = BigDecimal.ZERO.setScale(2);
+
+		private LocalDate vencimento;
+
+		private Unidade(String descricao) {
+			this.descricao = descricao;
+		}
+
+		private void cobranca(String numero, String parcela, LocalDate dataVencimento, BigDecimal valor) {
+			quantidade++;
+			total = total.add(valor);
+			if (vencimento == null) {
+				vencimento = dataVencimento;
+			}
+			linhas.append("- ").append(numero != null ? numero : "");
+			if (parcela != null) {
+				linhas.append('/').append(parcela);
+			}
+			linhas.append(", vencida em ").append(dataVencimento.format(DATA)).append(": R$ ").append(valor)
+					.append('\n');
+		}
+
+	}
+
+}
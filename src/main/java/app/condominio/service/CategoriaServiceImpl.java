@@ -24,7 +24,7 @@ public class CategoriaServiceImpl implements CategoriaService {
 	private CategoriaDao categoriaDao;
 
 	@Autowired
-	private UsuarioService usuarioService;
+	private ContextoUsuario contextoUsuario;
 
 	@Override
 	public void salvar(Categoria entidade) {
@@ -43,11 +43,11 @@ public class CategoriaServiceImpl implements CategoriaService {
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public List<Categoria> listar() {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return new ArrayList<>();
 		}
-		return condominio.getCategorias();
+		return categoriaDao.findAllByCondominioOrderByOrdemAsc(condominio);
 	}
 
 	@Override
@@ -59,7 +59,7 @@ public class CategoriaServiceImpl implements CategoriaService {
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public List<Categoria> listarReceitas() {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return new ArrayList<>();
 		}
@@ -69,7 +69,7 @@ public class CategoriaServiceImpl implements CategoriaService {
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public List<Categoria> listarDespesas() {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return new ArrayList<>();
 		}
@@ -94,7 +94,7 @@ public class CategoriaServiceImpl implements CategoriaService {
 		if (entidade.getIdCategoria() == null) {
 			// Ordem não pode repetir
 			if (categoriaDao.existsByOrdemAndCondominio(entidade.getOrdem(),
-					usuarioService.lerLogado().getCondominio())) {
+					contextoUsuario.getCondominio())) {
 				validacao.rejectValue("ordem", "Unique");
 			}
 		}
@@ -102,7 +102,7 @@ public class CategoriaServiceImpl implements CategoriaService {
 		else {
 			// Ordem não pode repetir
 			if (categoriaDao.existsByOrdemAndCondominioAndIdCategoriaNot(entidade.getOrdem(),
-					usuarioService.lerLogado().getCondominio(), entidade.getIdCategoria())) {
+					contextoUsuario.getCondominio(), entidade.getIdCategoria())) {
 				validacao.rejectValue("ordem", "Unique");
 			}
 			// Não pode "alterar" o tipo da categoria de RECEITA para DESPESA e vice-versa
@@ -138,7 +138,7 @@ public class CategoriaServiceImpl implements CategoriaService {
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public void padronizar(Categoria entidade) {
 		if (entidade.getCondominio() == null) {
-			entidade.setCondominio(usuarioService.lerLogado().getCondominio());
+			entidade.setCondominio(contextoUsuario.getCondominio());
 		}
 		Categoria categoriaPai = entidade.getCategoriaPai();
 		if (categoriaPai != null) {
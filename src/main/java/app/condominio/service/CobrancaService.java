@@ -1,8 +1,12 @@
 package app.condominio.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
+import org.springframework.data.domain.Slice;
+
 import app.condominio.domain.Cobranca;
 
 public interface CobrancaService extends CrudService<Cobranca, Long> {
@@ -23,4 +27,48 @@ public interface CobrancaService extends CrudService<Cobranca, Long> {
 	 */
 	public List<Cobranca> listarInadimplencia();
 
+	/**
+	 * @param dataEmissao
+	 *            A data de emissão da última Cobrança da página anterior, ou nulo
+	 *            para a primeira página
+	 * @param idCobranca
+	 *            O id da última Cobrança da página anterior, ou nulo para a
+	 *            primeira página
+	 * @param tamanho
+	 *            Quantidade de Cobranças por página
+	 * @return Retorna uma fatia com as Cobranças seguintes à informada, na mesma
+	 *         ordem da listagem paginada (emissão e id decrescentes). Não executa
+	 *         contagem, apenas informa se há próxima página.
+	 */
+	public Slice<Cobranca> listarPaginaApos(LocalDate dataEmissao, Long idCobranca, int tamanho);
+
+	/**
+	 * @param referencia
+	 *            O mês de referência, gravado como número da Cobrança (aaaaMM).
+	 *            Moradias que já têm Cobrança ordinária com este número são
+	 *            ignoradas, então repetir a geração não duplica Cobranças.
+	 * @param dataVencimento
+	 *            A data de vencimento de todas as Cobranças
+	 * @param valor
+	 *            O valor total a ratear pela fração ideal, ou o valor de cada
+	 *            Moradia se não houver rateio
+	 * @param rateio
+	 *            Se verdadeiro, cada Moradia recebe o valor multiplicado pela sua
+	 *            fração ideal, e a diferença de arredondamento fica com a de maior
+	 *            fração. Moradias sem fração ideal são informadas no resultado e
+	 *            não recebem Cobrança.
+	 * @param percentualJurosMes
+	 *            O percentual de juros ao mês, ou nulo para zero
+	 * @param percentualMulta
+	 *            O percentual de multa, ou nulo para zero
+	 * @param descricao
+	 *            Uma descrição comum a todas as Cobranças, ou nulo
+	 * @return Retorna o resumo da geração, com a quantidade de Cobranças geradas
+	 *         e já existentes e o tempo gasto. Se outra geração do mesmo mês for
+	 *         gravada ao mesmo tempo, nada é gravado e o resumo é marcado como
+	 *         concorrente.
+	 */
+	public ResultadoGeracaoCobrancas gerarMensais(YearMonth referencia, LocalDate dataVencimento, BigDecimal valor,
+			boolean rateio, Float percentualJurosMes, Float percentualMulta, String descricao);
+
 }
@@ -1,21 +1,35 @@
 package app.condominio.service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.validation.BindingResult;
 
 import app.condominio.dao.CobrancaDao;
+import app.condominio.dao.GravadorCobrancas;
 import app.condominio.domain.Cobranca;
 import app.condominio.domain.Condominio;
+import app.condominio.domain.Moradia;
 import app.condominio.domain.enums.MotivoEmissao;
 import app.condominio.domain.enums.SituacaoCobranca;
 
@@ -23,17 +37,38 @@ import app.condominio.domain.enums.SituacaoCobranca;
 @Transactional
 public class CobrancaServiceImpl implements CobrancaService {
 
+	private static final DateTimeFormatter NUMERO_REFERENCIA = DateTimeFormatter.ofPattern("yyyyMM");
+
+	// Mesma condição da coluna numeroMensal (chave única ukCobrancasMoradiaNumeroMensal)
+	private static final Pattern NUMERO_MENSAL = Pattern.compile("[0-9]{4}(0[1-9]|1[0-2])");
+
+	private static final BigDecimal CEM = new BigDecimal(100);
+
 	@Autowired
 	private CobrancaDao cobrancaDao;
 
 	@Autowired
-	private UsuarioService usuarioService;
+	private GravadorCobrancas gravadorCobrancas;
+
+	@Autowired
+	private MoradiaService moradiaService;
+
+	@Autowired
+	private InadimplenciaService inadimplenciaService;
+
+	@Autowired
+	private ContextoUsuario contextoUsuario;
+
+	@Autowired
+	private ApplicationEventPublisher publicador;
 
 	@Override
 	public void salvar(Cobranca entidade) {
 		if (entidade.getIdCobranca() == null) {
 			padronizar(entidade);
 			cobrancaDao.save(entidade);
+			inadimplenciaService.registrar(entidade.getMoradia());
+			publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 		}
 	}
 
@@ -46,7 +81,7 @@ public class CobrancaServiceImpl implements CobrancaService {
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public List<Cobranca> listar() {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return new ArrayList<>();
 		}
@@ -55,22 +90,46 @@ public class CobrancaServiceImpl implements CobrancaService {
 
 	@Override
 	public Page<Cobranca> listarPagina(Pageable pagina) {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return Page.empty(pagina);
 		}
 		return cobrancaDao.findAllByCondominioOrderByDataEmissaoDescMoradiaAscNumeroAscParcelaAsc(condominio, pagina);
 	}
 
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public Slice<Cobranca> listarPaginaApos(LocalDate dataEmissao, Long idCobranca, int tamanho) {
+		Condominio condominio = contextoUsuario.getCondominio();
+		Pageable pagina = PageRequest.of(0, tamanho);
+		if (condominio == null) {
+			return new SliceImpl<>(new ArrayList<>(), pagina, false);
+		}
+		// A chave vem da própria página anterior; a consulta já se restringe ao
+		// Condomínio, então não é preciso ler a Cobrança
+		if (dataEmissao == null || idCobranca == null) {
+			return cobrancaDao.findSliceByCondominioOrderByDataEmissaoDescIdCobrancaDesc(condominio, pagina);
+		}
+		return cobrancaDao.findAllByCondominioAfterOrderByDataEmissaoDescIdCobrancaDesc(condominio, dataEmissao,
+				idCobranca, pagina);
+	}
+
 	@Override
 	public void editar(Cobranca entidade) {
 		padronizar(entidade);
+		// A Cobrança pode ter mudado de Moradia: as duas são recalculadas
+		cobrancaDao.findById(entidade.getIdCobranca())
+				.ifPresent(anterior -> inadimplenciaService.registrar(anterior.getMoradia()));
 		cobrancaDao.save(entidade);
+		inadimplenciaService.registrar(entidade.getMoradia());
+		publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 	}
 
 	@Override
 	public void excluir(Cobranca entidade) {
 		cobrancaDao.delete(entidade);
+		inadimplenciaService.registrar(entidade.getMoradia());
+		publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 
 	}
 
@@ -82,7 +141,13 @@ public class CobrancaServiceImpl implements CobrancaService {
 			if (entidade.getDataEmissao() != null && entidade.getMoradia() != null
 					&& cobrancaDao.existsByNumeroAndParcelaAndDataEmissaoAndMoradiaAndCondominio(entidade.getNumero(),
 							entidade.getParcela(), entidade.getDataEmissao(), entidade.getMoradia(),
-							usuarioService.lerLogado().getCondominio())) {
+							contextoUsuario.getCondominio())) {
+				validacao.rejectValue("moradia", "Unique", new Object[] { 0, entidade.toString() }, null);
+			}
+			// Chave única do banco: uma Cobrança mensal por Moradia e mês
+			if (mensal(entidade) && entidade.getMoradia() != null
+					&& cobrancaDao.existsByMoradiaAndMotivoEmissaoAndNumeroAndParcela(entidade.getMoradia(),
+							entidade.getMotivoEmissao(), entidade.getNumero(), entidade.getParcela())) {
 				validacao.rejectValue("moradia", "Unique", new Object[] { 0, entidade.toString() }, null);
 			}
 		}
@@ -91,10 +156,16 @@ public class CobrancaServiceImpl implements CobrancaService {
 			if (entidade.getDataEmissao() != null && entidade.getMoradia() != null
 					&& cobrancaDao.existsByNumeroAndParcelaAndDataEmissaoAndMoradiaAndCondominioAndIdCobrancaNot(
 							entidade.getNumero(), entidade.getParcela(), entidade.getDataEmissao(),
-							entidade.getMoradia(), usuarioService.lerLogado().getCondominio(),
+							entidade.getMoradia(), contextoUsuario.getCondominio(),
 							entidade.getIdCobranca())) {
 				validacao.rejectValue("moradia", "Unique", new Object[] { 0, entidade.toString() }, null);
 			}
+			if (mensal(entidade) && entidade.getMoradia() != null
+					&& cobrancaDao.existsByMoradiaAndMotivoEmissaoAndNumeroAndParcelaAndIdCobrancaNot(
+							entidade.getMoradia(), entidade.getMotivoEmissao(), entidade.getNumero(),
+							entidade.getParcela(), entidade.getIdCobranca())) {
+				validacao.rejectValue("moradia", "Unique", new Object[] { 0, entidade.toString() }, null);
+			}
 			if (entidade.getDataRecebimento() != null) {
 				// Data de recebimento tem que ser maior/igual emissão
 				if (entidade.getDataRecebimento().isBefore(entidade.getDataEmissao())) {
@@ -152,6 +223,16 @@ public class CobrancaServiceImpl implements CobrancaService {
 
 	}
 
+	/**
+	 * @return Retorna verdadeiro se a Cobrança é como as da geração mensal (motivo
+	 *         normal, número aaaaMM e sem parcela), as únicas sujeitas à chave
+	 *         única de Moradia e mês.
+	 */
+	private static boolean mensal(Cobranca cobranca) {
+		return MotivoEmissao.O.equals(cobranca.getMotivoEmissao()) && cobranca.getParcela() == null
+				&& cobranca.getNumero() != null && NUMERO_MENSAL.matcher(cobranca.getNumero()).matches();
+	}
+
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public void padronizar(Cobranca entidade) {
@@ -165,7 +246,7 @@ public class CobrancaServiceImpl implements CobrancaService {
 			entidade.setSituacao(SituacaoCobranca.N);
 		}
 		if (entidade.getCondominio() == null) {
-			entidade.setCondominio(usuarioService.lerLogado().getCondominio());
+			entidade.setCondominio(contextoUsuario.getCondominio());
 		}
 		if (entidade.getDesconto() == null) {
 			entidade.setDesconto(BigDecimal.ZERO);
@@ -196,24 +277,14 @@ public class CobrancaServiceImpl implements CobrancaService {
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public BigDecimal inadimplencia() {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
-		BigDecimal resultado;
-		if (condominio == null) {
-			resultado = BigDecimal.ZERO.setScale(2);
-		} else {
-			resultado = cobrancaDao.sumTotalByCondominioAndDataVencimentoBeforeAndDataRecebimentoIsNull(condominio,
-					LocalDate.now());
-			if (resultado == null) {
-				resultado = BigDecimal.ZERO.setScale(2);
-			}
-		}
-		return resultado;
+		// Lido do resumo por Moradia, sem somar todas as Cobranças em aberto
+		return inadimplenciaService.total();
 	}
 
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public List<Cobranca> listarInadimplencia() {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		List<Cobranca> lista = new ArrayList<>();
 		if (condominio != null && !condominio.getCobrancas().isEmpty()) {
 			lista.addAll(cobrancaDao
@@ -223,4 +294,92 @@ public class CobrancaServiceImpl implements CobrancaService {
 		return lista;
 	}
 
+	@Override
+	public ResultadoGeracaoCobrancas gerarMensais(YearMonth referencia, LocalDate dataVencimento, BigDecimal valor,
+			boolean rateio, Float percentualJurosMes, Float percentualMulta, String descricao) {
+		long inicio = System.currentTimeMillis();
+		Condominio condominio = contextoUsuario.getCondominio();
+		String numero = referencia.format(NUMERO_REFERENCIA);
+		ResultadoGeracaoCobrancas resultado = new ResultadoGeracaoCobrancas(numero);
+		if (condominio == null) {
+			return resultado;
+		}
+		// Uma única consulta no lugar de um exists por Moradia
+		Set<Long> existentes = new HashSet<>(
+				cobrancaDao.findIdMoradiaByCondominioAndNumeroAndMotivoEmissao(condominio, numero, MotivoEmissao.O));
+		LocalDate dataEmissao = LocalDate.now();
+		List<Cobranca> cobrancas = new ArrayList<>();
+		BigDecimal somaFracoes = BigDecimal.ZERO;
+		BigDecimal somaValores = BigDecimal.ZERO;
+		Cobranca maiorFracao = null;
+		for (Moradia moradia : moradiaService.listar()) {
+			resultado.moradia();
+			if (existentes.contains(moradia.getIdMoradia())) {
+				resultado.existente();
+				continue;
+			}
+			BigDecimal valorMoradia = valor;
+			BigDecimal fracao = null;
+			if (rateio) {
+				if (moradia.getFracaoIdeal() == null || moradia.getFracaoIdeal() == 0) {
+					resultado.semFracaoIdeal(moradia.toString());
+					continue;
+				}
+				fracao = new BigDecimal(moradia.getFracaoIdeal().toString());
+				valorMoradia = valor.multiply(fracao).divide(CEM, 2, RoundingMode.HALF_EVEN);
+			}
+			Cobranca cobranca = new Cobranca();
+			cobranca.setCondominio(condominio);
+			cobranca.setMoradia(moradia);
+			cobranca.setMotivoEmissao(MotivoEmissao.O);
+			cobranca.setNumero(numero);
+			cobranca.setDataEmissao(dataEmissao);
+			cobranca.setDataVencimento(dataVencimento);
+			cobranca.setValor(valorMoradia.setScale(2, RoundingMode.HALF_EVEN));
+			cobranca.setTotal(cobranca.getValor());
+			cobranca.setDescricao(descricao);
+			cobranca.setPercentualJurosMes(percentualJurosMes);
+			cobranca.setPercentualMulta(percentualMulta);
+			// Mesmos valores padrão do cadastro individual, sem consultar o usuário
+			// logado a cada Cobrança
+			padronizar(cobranca);
+			cobrancas.add(cobranca);
+			if (rateio) {
+				somaFracoes = somaFracoes.add(fracao);
+				somaValores = somaValores.add(cobranca.getValor());
+				if (maiorFracao == null || moradia.getFracaoIdeal() > maiorFracao.getMoradia().getFracaoIdeal()) {
+					maiorFracao = cobranca;
+				}
+			}
+		}
+		// Os centavos perdidos no arredondamento de cada fração ficam com a Moradia
+		// de maior fração, para que a soma das Cobranças feche com o valor rateado
+		if (maiorFracao != null) {
+			BigDecimal diferenca = valor.multiply(somaFracoes).divide(CEM, 2, RoundingMode.HALF_EVEN)
+					.subtract(somaValores);
+			maiorFracao.setValor(maiorFracao.getValor().add(diferenca));
+			maiorFracao.setTotal(maiorFracao.getValor());
+		}
+		try {
+			gravadorCobrancas.inserir(cobrancas);
+		} catch (DuplicateKeyException e) {
+			// Outra geração do mesmo mês gravou antes desta (chave única de Moradia e
+			// mês): nada desta é gravado, e gerar de novo
+			// completa só as Moradias que faltarem
+			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+			resultado.concorrente();
+			resultado.setMilissegundos(System.currentTimeMillis() - inicio);
+			return resultado;
+		}
+		cobrancas.forEach(cobranca -> resultado.gerada(cobranca.getTotal()));
+		if (!cobrancas.isEmpty() && dataVencimento.isBefore(LocalDate.now())) {
+			inadimplenciaService.recalcular(condominio);
+		}
+		if (!cobrancas.isEmpty()) {
+			publicador.publishEvent(new AlteracaoFinanceira(condominio));
+		}
+		resultado.setMilissegundos(System.currentTimeMillis() - inicio);
+		return resultado;
+	}
+
 }
@@ -0,0 +1,28 @@
+package app.condominio.service;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+public interface ComposicaoRelatorioService {
+
+	/**
+	 * Executa as seções independentes de um relatório ao mesmo tempo, cada uma
+	 * numa transação somente leitura própria, com tempo limite, e com o usuário
+	 * logado, e espera todas terminarem. O tempo do relatório passa a ser o da
+	 * seção mais lenta. Se o pool de conexões não comporta mais uma seção por
+	 * thread, as seções são executadas em sequência na thread atual.
+	 *
+	 * @param relatorio
+	 *            Nome do relatório, usado nas métricas de tempo por seção
+	 * @param secoes
+	 *            As seções, com o nome do atributo do modelo como chave. Não podem
+	 *            depender umas das outras nem das entidades da sessão da
+	 *            requisição.
+	 * @return Retorna um Map com o resultado de cada seção, na ordem recebida.
+	 * @throws IllegalStateException
+	 *             se uma seção falhar ou passar do tempo limite; as que ainda
+	 *             estiverem em execução são interrompidas
+	 */
+	public Map<String, Object> compor(String relatorio, Map<String, Supplier<?>> secoes);
+
+}
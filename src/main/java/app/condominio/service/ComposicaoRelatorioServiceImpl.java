@@ -0,0 +1,186 @@
+package app.condominio.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Service
+public class ComposicaoRelatorioServiceImpl implements ComposicaoRelatorioService {
+
+	private static final Logger log = LoggerFactory.getLogger(ComposicaoRelatorioServiceImpl.class);
+
+	private final AsyncTaskExecutor executor;
+
+	private final TransactionTemplate leitura;
+
+	private final MeterRegistry registro;
+
+	private final Duration limite;
+
+	private final Semaphore conexoes;
+
+	private final Counter sequenciais;
+
+	// O executor propaga o SecurityContext, então o ContextoUsuario de cada seção
+	// resolve o mesmo Condomínio da requisição, e a contagem de comandos SQL, que
+	// inclui os das seções
+	public ComposicaoRelatorioServiceImpl(@Qualifier("relatorioExecutor") AsyncTaskExecutor executor,
+			PlatformTransactionManager transactionManager, MeterRegistry registro,
+			@Value("${condominio.relatorios.timeout:PT15S}") Duration limite,
+			@Value("${condominio.relatorios.conexoes:${spring.datasource.hikari.maximum-pool-size:10}}") int conexoes) {
+		this.executor = executor;
+		this.leitura = new TransactionTemplate(transactionManager);
+		this.leitura.setReadOnly(true);
+		// O tempo limite da transação vira o query timeout de cada comando JDBC da
+		// seção, que assim devolve a thread e a conexão ao passar do limite
+		this.leitura.setTimeout((int) Math.max(1, (limite.toMillis() + 999) / 1000));
+		this.registro = registro;
+		this.limite = limite;
+		this.conexoes = new Semaphore(conexoes);
+		this.sequenciais = registro.counter("condominio.relatorio.sequencial");
+	}
+
+	@Override
+	public Map<String, Object> compor(String relatorio, Map<String, Supplier<?>> secoes) {
+		// A requisição (sob open-in-view) pode estar segurando uma conexão enquanto
+		// espera as seções, que precisam de uma cada: só compõe em paralelo se há
+		// conexões para todas, senão executa as seções em sequência na própria
+		// requisição, sem conexões extras
+		int necessarias = secoes.size() + 1;
+		if (!conexoes.tryAcquire(necessarias)) {
+			sequenciais.increment();
+			return sequencial(relatorio, secoes);
+		}
+		try {
+			return paralelo(relatorio, secoes);
+		} finally {
+			conexoes.release(necessarias);
+		}
+	}
+
+	private Map<String, Object> sequencial(String relatorio, Map<String, Supplier<?>> secoes) {
+		Map<String, Object> resultado = new LinkedHashMap<>();
+		for (Map.Entry<String, Supplier<?>> secao : secoes.entrySet()) {
+			resultado.put(secao.getKey(), new Secao(relatorio, secao.getKey(), secao.getValue()).call());
+		}
+		return resultado;
+	}
+
+	private Map<String, Object> paralelo(String relatorio, Map<String, Supplier<?>> secoes) {
+		Map<String, Secao> execucoes = new LinkedHashMap<>();
+		for (Map.Entry<String, Supplier<?>> secao : secoes.entrySet()) {
+			Secao execucao = new Secao(relatorio, secao.getKey(), secao.getValue());
+			execucao.futuro = executor.submit(execucao);
+			execucoes.put(secao.getKey(), execucao);
+		}
+		Map<String, Object> resultado = new LinkedHashMap<>();
+		Map<String, Long> tempos = new LinkedHashMap<>();
+		try {
+			for (Secao execucao : execucoes.values()) {
+				resultado.put(execucao.nome, execucao.aguardar());
+				tempos.put(execucao.nome, execucao.milissegundos);
+			}
+		} catch (TimeoutException e) {
+			cancelar(execucoes);
+			throw new IllegalStateException("Uma seção do relatório " + relatorio + " passou do tempo limite de "
+					+ limite, e);
+		} catch (ExecutionException e) {
+			cancelar(execucoes);
+			throw new IllegalStateException("Falha ao gerar o relatório " + relatorio, e.getCause());
+		} catch (CancellationException e) {
+			cancelar(execucoes);
+			throw new IllegalStateException("Geração do relatório " + relatorio + " cancelada", e);
+		} catch (InterruptedException e) {
+			cancelar(execucoes);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Geração do relatório " + relatorio + " interrompida", e);
+		}
+		log.debug("Relatório {} composto; tempo por seção (ms): {}", relatorio, tempos);
+		return resultado;
+	}
+
+	private static void cancelar(Map<String, Secao> execucoes) {
+		// Future do executor: cancel(true) interrompe a thread da seção em execução
+		for (Secao execucao : execucoes.values()) {
+			execucao.futuro.cancel(true);
+		}
+	}
+
+	/**
+	 * Uma seção do relatório, executada numa transação somente leitura com tempo
+	 * limite próprio, contado a partir do início da seção e não da requisição: uma
+	 * seção que esperou na fila do executor não perde o seu tempo.
+	 */
+	private class Secao implements Callable<Object> {
+
+		private final String nome;
+
+		private final Supplier<?> calculo;
+
+		private final Timer timer;
+
+		private volatile long inicio;
+
+		private volatile boolean iniciada;
+
+		private volatile long milissegundos;
+
+		private Future<Object> futuro;
+
+		private Secao(String relatorio, String nome, Supplier<?> calculo) {
+			this.nome = nome;
+			this.calculo = calculo;
+			this.timer = registro.timer("condominio.relatorio.secao", "relatorio", relatorio, "secao", nome);
+		}
+
+		@Override
+		public Object call() {
+			inicio = System.nanoTime();
+			iniciada = true;
+			try {
+				return leitura.execute(status -> calculo.get());
+			} finally {
+				long duracao = System.nanoTime() - inicio;
+				timer.record(duracao, TimeUnit.NANOSECONDS);
+				milissegundos = TimeUnit.NANOSECONDS.toMillis(duracao);
+			}
+		}
+
+		private Object aguardar() throws InterruptedException, ExecutionException, TimeoutException {
+			while (true) {
+				long espera = iniciada ? inicio + limite.toNanos() - System.nanoTime() : limite.toNanos();
+				try {
+					return futuro.get(Math.max(0, espera), TimeUnit.NANOSECONDS);
+				} catch (TimeoutException e) {
+					// Ainda na fila: o tempo da seção só começa a contar quando ela inicia
+					if (iniciada && System.nanoTime() - inicio >= limite.toNanos()) {
+						throw e;
+					}
+				}
+			}
+		}
+
+	}
+
+}
@@ -27,6 +27,9 @@ public class CondominioServiceImpl implements CondominioService {
 	@Autowired
 	private UsuarioService usuarioService;
 
+	@Autowired
+	private ContextoUsuario contextoUsuario;
+
 	@Override
 	public void salvar(Condominio condominio) {
 		if (condominio.getIdCondominio() == null) {
@@ -34,16 +37,17 @@ public class CondominioServiceImpl implements CondominioService {
 			condominioDao.save(condominio);
 
 			// Atualizar o ID do condomínio no cadastro do síndico
-			Usuario sindico = usuarioService.lerLogado();
+			Usuario sindico = contextoUsuario.getUsuario();
 			sindico.setCondominio(condominio);
 			usuarioService.editar(sindico);
+			contextoUsuario.invalidar();
 		}
 	}
 
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public Condominio ler() {
-		return usuarioService.lerLogado().getCondominio();
+		return contextoUsuario.getCondominio();
 	}
 
 	@Override
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,15 +25,24 @@ public class ContaServiceImpl implements ContaService {
 	private ContaDao contaDao;
 
 	@Autowired
-	private UsuarioService usuarioService;
+	private ContextoUsuario contextoUsuario;
+
+	@Autowired
+	private SaldoMensalService saldoMensalService;
+
+	@Autowired
+	private SaldoContaService saldoContaService;
+
+	@Autowired
+	private ApplicationEventPublisher publicador;
 
 	@Override
 	public void salvar(Conta entidade) {
 		if (entidade.getIdConta() == null) {
 			padronizar(entidade);
-			// LATER fazer esta alteração com trigger
 			entidade.setSaldoAtual(entidade.getSaldoInicial());
 			contaDao.save(entidade);
+			publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 		}
 	}
 
@@ -45,16 +55,16 @@ public class ContaServiceImpl implements ContaService {
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public List<Conta> listar() {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return new ArrayList<>();
 		}
-		return condominio.getContas();
+		return contaDao.findAllByCondominioOrderBySiglaAsc(condominio);
 	}
 
 	@Override
 	public Page<Conta> listarPagina(Pageable pagina) {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return Page.empty(pagina);
 		}
@@ -64,16 +74,19 @@ public class ContaServiceImpl implements ContaService {
 	@Override
 	public void editar(Conta entidade) {
 		padronizar(entidade);
-		// LATER fazer esta alteração com trigger
-		Conta antiga = ler(entidade.getIdConta());
-		entidade.setSaldoAtual(
-				antiga.getSaldoAtual().subtract(antiga.getSaldoInicial()).add(entidade.getSaldoInicial()));
+		// O saldo atual não é gravado pelo save, a diferença do saldo inicial é
+		// somada a ele pelo SaldoContaService
+		BigDecimal diferenca = entidade.getSaldoInicial().subtract(ler(entidade.getIdConta()).getSaldoInicial());
 		contaDao.save(entidade);
+		saldoContaService.registrar(entidade, diferenca);
+		saldoMensalService.registrarSaldoInicial(entidade, diferenca);
+		publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 	}
 
 	@Override
 	public void excluir(Conta entidade) {
 		contaDao.delete(entidade);
+		publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 
 	}
 
@@ -83,7 +96,7 @@ public class ContaServiceImpl implements ContaService {
 		// VALIDAÇÕES NA INCLUSÃO
 		if (entidade.getIdConta() == null) {
 			// Sigla não pode repetir
-			if (contaDao.existsBySiglaAndCondominio(entidade.getSigla(), usuarioService.lerLogado().getCondominio())) {
+			if (contaDao.existsBySiglaAndCondominio(entidade.getSigla(), contextoUsuario.getCondominio())) {
 				validacao.rejectValue("sigla", "Unique");
 			}
 		}
@@ -91,7 +104,7 @@ public class ContaServiceImpl implements ContaService {
 		else {
 			// Sigla não pode repetir
 			if (contaDao.existsBySiglaAndCondominioAndIdContaNot(entidade.getSigla(),
-					usuarioService.lerLogado().getCondominio(), entidade.getIdConta())) {
+					contextoUsuario.getCondominio(), entidade.getIdConta())) {
 				validacao.rejectValue("sigla", "Unique");
 			}
 		}
@@ -103,7 +116,7 @@ public class ContaServiceImpl implements ContaService {
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public void padronizar(Conta entidade) {
 		if (entidade.getCondominio() == null) {
-			entidade.setCondominio(usuarioService.lerLogado().getCondominio());
+			entidade.setCondominio(contextoUsuario.getCondominio());
 		}
 		if (entidade.getSaldoInicial() == null) {
 			entidade.setSaldoInicial(BigDecimal.ZERO);
@@ -116,8 +129,8 @@ public class ContaServiceImpl implements ContaService {
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public BigDecimal saldoAtual() {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
-		if (condominio == null || condominio.getContas().isEmpty()) {
+		Condominio condominio = contextoUsuario.getCondominio();
+		if (condominio == null || listar().isEmpty()) {
 			return BigDecimal.ZERO.setScale(2);
 		} else {
 			return contaDao.sumSaldoAtualByCondominio(condominio);
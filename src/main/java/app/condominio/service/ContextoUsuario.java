@@ -0,0 +1,84 @@
+package app.condominio.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import app.condominio.dao.UsuarioDao;
+import app.condominio.domain.Condominio;
+import app.condominio.domain.Usuario;
+
+/**
+ * Resolve o Usuario logado e o seu Condominio uma única vez por requisição,
+ * guardando o resultado nos atributos da requisição. Fora de uma requisição
+ * (tarefas agendadas ou assíncronas) consulta o banco a cada chamada.
+ */
+@Component
+public class ContextoUsuario {
+
+	private static final String ATRIBUTO = ContextoUsuario.class.getName() + ".USUARIO";
+
+	@Autowired
+	private UsuarioDao usuarioDao;
+
+	/**
+	 * @return Retorna o Usuario logado ou nulo se não houver usuário autenticado
+	 */
+	public Usuario getUsuario() {
+		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+		if (auth == null || auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ANONYMOUS"))) {
+			return null;
+		}
+		RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+		if (atributos == null) {
+			return ler(auth);
+		}
+		Usuario usuario = (Usuario) atributos.getAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST);
+		// Confere o username para não reaproveitar o usuário após login/logout na
+		// mesma requisição
+		if (usuario == null || !auth.getName().equals(usuario.getUsername())) {
+			usuario = ler(auth);
+			if (usuario != null) {
+				atributos.setAttribute(ATRIBUTO, usuario, RequestAttributes.SCOPE_REQUEST);
+			}
+		}
+		return usuario;
+	}
+
+	private Usuario ler(Authentication auth) {
+		// O principal criado no login já traz o id, que dispensa a busca por username
+		if (auth.getPrincipal() instanceof UsuarioAutenticado) {
+			return usuarioDao.findById(((UsuarioAutenticado) auth.getPrincipal()).getIdUsuario()).orElse(null);
+		}
+		return usuarioDao.findOneByUsername(auth.getName());
+	}
+
+	/**
+	 * @return Retorna o Condominio do Usuario logado ou nulo se não houver usuário
+	 *         autenticado ou se ele ainda não tiver Condominio
+	 */
+	public Condominio getCondominio() {
+		Usuario usuario = getUsuario();
+		if (usuario == null) {
+			return null;
+		}
+		return usuario.getCondominio();
+	}
+
+	/**
+	 * Descarta o Usuario guardado na requisição atual, obrigando a próxima
+	 * leitura a consultar o banco. Deve ser chamado sempre que o cadastro do
+	 * usuário ou o seu vínculo com o Condominio for alterado.
+	 */
+	public void invalidar() {
+		RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+		if (atributos != null) {
+			atributos.removeAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST);
+		}
+	}
+
+}
@@ -1,11 +1,33 @@
 package app.condominio.service;
 
+import java.util.List;
+
 import org.springframework.mail.SimpleMailMessage;
 
+import app.condominio.domain.EmailPendente;
+
 public interface EmailService {
-	
+
+	/**
+	 * Grava o e-mail na caixa de saída, na transação em andamento (ou numa nova),
+	 * para ser enviado pelo EnvioEmailsService. Se a transação for desfeita o
+	 * e-mail não é enviado.
+	 *
+	 * @param email
+	 *            Mensagem com um ou mais destinatários; cada um vira um e-mail na
+	 *            caixa de saída
+	 */
 	public void enviarEmail(SimpleMailMessage email);
-	
+
+	/**
+	 * Grava o e-mail na caixa de saída, como enviarEmail(SimpleMailMessage).
+	 */
 	public void enviarEmail(String para, String assunto, String mensagem);
 
+	/**
+	 * Grava vários e-mails na caixa de saída em lote, na transação em andamento
+	 * (ou numa nova).
+	 */
+	public void enviarEmails(List<EmailPendente> emails);
+
 }
@@ -1,29 +1,43 @@
 package app.condominio.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.condominio.dao.CaixaSaidaEmails;
+import app.condominio.domain.EmailPendente;
 
 @Service
-@Async
+@Transactional
 public class EmailServiceImpl implements EmailService {
+
 	@Autowired
-	private JavaMailSender emailSender;
+	private CaixaSaidaEmails caixaSaidaEmails;
 
 	@Override
 	public void enviarEmail(SimpleMailMessage email) {
-		emailSender.send(email);
+		List<EmailPendente> emails = new ArrayList<>();
+		if (email.getTo() != null) {
+			for (String para : email.getTo()) {
+				emails.add(new EmailPendente(para, email.getSubject(), email.getText()));
+			}
+		}
+		caixaSaidaEmails.inserir(emails);
 	}
 
 	@Override
 	public void enviarEmail(String para, String assunto, String mensagem) {
-		SimpleMailMessage message = new SimpleMailMessage();
-		message.setTo(para);
-		message.setSubject(assunto);
-		message.setText(mensagem);
-		emailSender.send(message);
+		caixaSaidaEmails.inserir(Collections.singletonList(new EmailPendente(para, assunto, mensagem)));
+	}
+
+	@Override
+	public void enviarEmails(List<EmailPendente> emails) {
+		caixaSaidaEmails.inserir(emails);
 	}
 
 }
@@ -0,0 +1,50 @@
+package app.condominio.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import app.condominio.domain.Cobranca;
+import app.condominio.domain.Encargos;
+
+public interface EncargosService {
+
+	/**
+	 * @param cobranca
+	 *            Uma Cobrança para cálculo
+	 * @param data
+	 *            A data do cálculo
+	 * @return Retorna a multa, os juros de mora e o total da Cobrança na data,
+	 *         sem gravar nada. Cobranças recebidas ou ainda não vencidas mantêm os
+	 *         valores gravados.
+	 */
+	public Encargos calcular(Cobranca cobranca, LocalDate data);
+
+	/**
+	 * @param cobrancas
+	 *            As Cobranças a calcular, por exemplo as de uma página da listagem
+	 * @param data
+	 *            A data do cálculo
+	 * @return Retorna um mapa do id de cada Cobrança para os seus encargos na
+	 *         data. Nunca retorna nulo.
+	 */
+	public Map<Long, Encargos> calcular(Iterable<Cobranca> cobrancas, LocalDate data);
+
+	/**
+	 * Recalcula os encargos de todas as Cobranças vencidas e não recebidas, de
+	 * todos os Condomínios, em lotes ordenados por id, cada um em sua transação.
+	 * Só grava as Cobranças cujos valores mudaram. Em seguida recalcula o resumo
+	 * da inadimplência só das Moradias afetadas (encargos alterados ou Cobrança
+	 * vencida desde a última execução), também em lotes por id.
+	 *
+	 * @return Retorna a quantidade de Cobranças alteradas
+	 */
+	public int atualizarVencidas();
+
+	/**
+	 * @return Retorna um mapa com as métricas da última atualização: duração,
+	 *         Cobranças examinadas e alteradas, lotes e defasagem desde a última
+	 *         execução concluída
+	 */
+	public Map<String, Object> estatisticas();
+
+}
@@ -0,0 +1,251 @@
+package app.condominio.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.condominio.dao.CobrancaDao;
+import app.condominio.dao.GravadorCobrancas;
+import app.condominio.dao.ResumoInadimplenciaDao;
+import app.condominio.domain.Cobranca;
+import app.condominio.domain.Encargos;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Service
+@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+public class EncargosServiceImpl implements EncargosService {
+
+	private static final Logger log = LoggerFactory.getLogger(EncargosServiceImpl.class);
+
+	private static final BigDecimal CEM = new BigDecimal(100);
+
+	private static final BigDecimal TRINTA = new BigDecimal(30);
+
+	@Autowired
+	private CobrancaDao cobrancaDao;
+
+	@Autowired
+	private GravadorCobrancas gravadorCobrancas;
+
+	@Autowired
+	private InadimplenciaService inadimplenciaService;
+
+	@Autowired
+	private ResumoInadimplenciaDao resumoInadimplenciaDao;
+
+	@Autowired
+	private ApplicationEventPublisher publicador;
+
+	private final TransactionTemplate transacao;
+
+	private final int tamanhoLote;
+
+	private volatile Instant ultimaExecucao;
+
+	private volatile LocalDate ultimaReferencia;
+
+	private volatile long duracao;
+
+	private volatile long examinadas;
+
+	private volatile long alteradas;
+
+	private volatile long lotes;
+
+	private final Timer tempoExecucao;
+
+	private final Counter conflitos;
+
+	public EncargosServiceImpl(PlatformTransactionManager transactionManager, MeterRegistry registro,
+			@Value("${condominio.encargos.lote:500}") int tamanhoLote) {
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.tamanhoLote = tamanhoLote;
+		// Os mesmos números de estatisticas(), para alertar sobre uma execução que
+		// não ocorreu ou que ficou lenta
+		tempoExecucao = Timer.builder("condominio.encargos.execucao")
+				.description("Tempo da atualização diária de encargos").register(registro);
+		conflitos = Counter.builder("condominio.encargos.conflitos")
+				.description("Cobranças alteradas entre o cálculo e a gravação dos encargos").register(registro);
+		Gauge.builder("condominio.encargos.examinadas", this, servico -> servico.examinadas)
+				.description("Cobranças examinadas na última execução").register(registro);
+		Gauge.builder("condominio.encargos.alteradas", this, servico -> servico.alteradas)
+				.description("Cobranças alteradas na última execução").register(registro);
+		Gauge.builder("condominio.encargos.lotes", this, servico -> servico.lotes)
+				.description("Lotes da última execução").register(registro);
+		Gauge.builder("condominio.encargos.defasagem", this, EncargosServiceImpl::defasagem)
+				.description("Segundos desde a última execução concluída").baseUnit("seconds").register(registro);
+	}
+
+	@Override
+	public Encargos calcular(Cobranca cobranca, LocalDate data) {
+		if (cobranca.getDataRecebimento() != null) {
+			return new Encargos(cobranca.getIdCobranca(), cobranca.getMulta(), cobranca.getJurosMora(),
+					cobranca.getTotal(), false);
+		}
+		return calcular(cobranca.getIdCobranca(), cobranca.getValor(), cobranca.getMulta(), cobranca.getJurosMora(),
+				cobranca.getTotal(), cobranca.getPercentualMulta(), cobranca.getPercentualJurosMes(),
+				cobranca.getDataVencimento(), data);
+	}
+
+	@Override
+	public Map<Long, Encargos> calcular(Iterable<Cobranca> cobrancas, LocalDate data) {
+		Map<Long, Encargos> encargos = new HashMap<>();
+		for (Cobranca cobranca : cobrancas) {
+			encargos.put(cobranca.getIdCobranca(), calcular(cobranca, data));
+		}
+		return encargos;
+	}
+
+	private Encargos calcular(Long idCobranca, BigDecimal valor, BigDecimal multaAtual, BigDecimal jurosAtual,
+			BigDecimal totalAtual, Float percentualMulta, Float percentualJurosMes, LocalDate dataVencimento,
+			LocalDate data) {
+		if (valor == null || dataVencimento == null || !dataVencimento.isBefore(data)) {
+			return new Encargos(idCobranca, multaAtual, jurosAtual, totalAtual, false);
+		}
+		BigDecimal multaAnterior = multaAtual != null ? multaAtual : BigDecimal.ZERO;
+		BigDecimal jurosAnterior = jurosAtual != null ? jurosAtual : BigDecimal.ZERO;
+		// Mesma fórmula do evento: multa fixa sobre o valor e juros simples
+		// proporcionais aos dias de atraso (mês de 30 dias)
+		BigDecimal multa = valor.multiply(percentual(percentualMulta)).divide(CEM, MathContext.DECIMAL64)
+				.setScale(2, RoundingMode.HALF_UP);
+		BigDecimal juros = valor.multiply(percentual(percentualJurosMes))
+				.multiply(new BigDecimal(ChronoUnit.DAYS.between(dataVencimento, data)))
+				.divide(TRINTA, MathContext.DECIMAL64).divide(CEM, MathContext.DECIMAL64)
+				.setScale(2, RoundingMode.HALF_UP);
+		BigDecimal base = (totalAtual != null ? totalAtual : valor).subtract(multaAnterior).subtract(jurosAnterior);
+		BigDecimal total = base.add(multa).add(juros).setScale(2, RoundingMode.HALF_UP);
+		boolean alterado = multaAtual == null || jurosAtual == null || totalAtual == null
+				|| multa.compareTo(multaAtual) != 0 || juros.compareTo(jurosAtual) != 0
+				|| total.compareTo(totalAtual) != 0;
+		return new Encargos(idCobranca, multa, juros, total, multaAtual, jurosAtual, alterado);
+	}
+
+	private static BigDecimal percentual(Float percentual) {
+		return percentual != null ? new BigDecimal(percentual.toString()) : BigDecimal.ZERO;
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@Scheduled(cron = "${condominio.encargos.atualizacao:0 1 0 * * *}")
+	public int atualizarVencidas() {
+		long inicio = System.currentTimeMillis();
+		LocalDate hoje = LocalDate.now();
+		long totalExaminadas = 0;
+		int totalAlteradas = 0;
+		long totalLotes = 0;
+		Long ultimoId = 0L;
+		// Moradias cujo resumo da inadimplência muda com esta execução, em ordem de id
+		TreeSet<Long> moradias = new TreeSet<>();
+		// Paginação por chave: cada lote é uma transação curta, sem OFFSET e sem
+		// manter bloqueios sobre toda a tabela
+		while (true) {
+			List<Object[]> lote = cobrancaDao.findEncargosByDataRecebimentoIsNullAndDataVencimentoBeforeAfter(hoje,
+					ultimoId, PageRequest.of(0, tamanhoLote));
+			if (lote.isEmpty()) {
+				break;
+			}
+			List<Encargos> alterados = new ArrayList<>();
+			for (Object[] linha : lote) {
+				Encargos encargos = calcular((Long) linha[0], (BigDecimal) linha[1], (BigDecimal) linha[2],
+						(BigDecimal) linha[3], (BigDecimal) linha[4], (Float) linha[5], (Float) linha[6],
+						(LocalDate) linha[7], hoje);
+				if (encargos.isAlterado()) {
+					alterados.add(encargos);
+					moradias.add((Long) linha[8]);
+				}
+			}
+			if (!alterados.isEmpty()) {
+				int gravadas = transacao.execute(status -> gravadorCobrancas.atualizarEncargos(alterados));
+				conflitos.increment(alterados.size() - gravadas);
+				totalAlteradas += gravadas;
+			}
+			totalExaminadas += lote.size();
+			totalLotes++;
+			ultimoId = (Long) lote.get(lote.size() - 1)[0];
+			if (lote.size() < tamanhoLote) {
+				break;
+			}
+		}
+		// O resumo muda nas Moradias com novos encargos e nas que tiveram Cobrança
+		// vencida desde a última execução. Na primeira após o início da aplicação
+		// não se sabe quando foi a anterior: entram todas as inadimplentes e as que já
+		// tinham resumo.
+		if (ultimaReferencia != null) {
+			moradias.addAll(
+					cobrancaDao.findIdMoradiaByDataRecebimentoIsNullAndDataVencimentoBetween(ultimaReferencia, hoje));
+		} else {
+			moradias.addAll(cobrancaDao.findIdMoradiaByDataRecebimentoIsNullAndDataVencimentoBefore(hoje));
+			moradias.addAll(resumoInadimplenciaDao.findAllIdMoradia());
+		}
+		List<Long> pendentes = new ArrayList<>(moradias);
+		for (int i = 0; i < pendentes.size(); i += tamanhoLote) {
+			List<Long> lote = pendentes.subList(i, Math.min(i + tamanhoLote, pendentes.size()));
+			transacao.execute(status -> {
+				inadimplenciaService.recalcularMoradias(lote);
+				return null;
+			});
+		}
+		duracao = System.currentTimeMillis() - inicio;
+		tempoExecucao.record(duracao, TimeUnit.MILLISECONDS);
+		examinadas = totalExaminadas;
+		alteradas = totalAlteradas;
+		lotes = totalLotes;
+		ultimaReferencia = hoje;
+		ultimaExecucao = Instant.now();
+		// Afeta vários Condomínios: descarta todos os painéis
+		publicador.publishEvent(new AlteracaoFinanceira(null));
+		log.info("Atualização de encargos concluída: {} cobranças examinadas, {} alteradas, em {} ms",
+				totalExaminadas, totalAlteradas, duracao);
+		return totalAlteradas;
+	}
+
+	@Override
+	public Map<String, Object> estatisticas() {
+		Map<String, Object> estatisticas = new LinkedHashMap<>();
+		estatisticas.put("ultimaExecucao", ultimaExecucao != null ? ultimaExecucao.toString() : null);
+		estatisticas.put("ultimaReferencia", ultimaReferencia != null ? ultimaReferencia.toString() : null);
+		estatisticas.put("duracaoMs", duracao);
+		estatisticas.put("examinadas", examinadas);
+		estatisticas.put("alteradas", alteradas);
+		estatisticas.put("lotes", lotes);
+		estatisticas.put("defasagemSegundos",
+				ultimaExecucao != null ? Duration.between(ultimaExecucao, Instant.now()).getSeconds() : null);
+		estatisticas.put("defasagemDias",
+				ultimaReferencia != null ? ChronoUnit.DAYS.between(ultimaReferencia, LocalDate.now()) : null);
+		return estatisticas;
+	}
+
+	private double defasagem() {
+		Instant ultima = ultimaExecucao;
+		return ultima != null ? Duration.between(ultima, Instant.now()).getSeconds() : Double.NaN;
+	}
+
+}
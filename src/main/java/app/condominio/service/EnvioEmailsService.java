@@ -0,0 +1,31 @@
+package app.condominio.service;
+
+import java.util.Map;
+
+public interface EnvioEmailsService {
+
+	/**
+	 * Envia os e-mails prontos da caixa de saída em lotes, cada lote numa única
+	 * conexão SMTP, respeitando o limite de e-mails por segundo. Os que falham
+	 * são reagendados com espera exponencial até o limite de tentativas. Executado
+	 * periodicamente; a entrega é "ao menos uma vez".
+	 *
+	 * @return Retorna a quantidade de e-mails enviados
+	 */
+	public int despachar();
+
+	/**
+	 * Remove da caixa de saída os e-mails enviados há mais tempo que a retenção
+	 * configurada. Executado diariamente.
+	 *
+	 * @return Retorna a quantidade de e-mails removidos
+	 */
+	public int limpar();
+
+	/**
+	 * @return Retorna um mapa com o tamanho da fila, os e-mails enviados e as
+	 *         falhas desde o início da aplicação e a última execução
+	 */
+	public Map<String, Object> estatisticas();
+
+}
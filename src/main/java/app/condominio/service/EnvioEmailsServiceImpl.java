@@ -0,0 +1,248 @@
+package app.condominio.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.condominio.dao.CaixaSaidaEmails;
+import app.condominio.domain.EmailPendente;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Service
+@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+public class EnvioEmailsServiceImpl implements EnvioEmailsService {
+
+	private static final Logger log = LoggerFactory.getLogger(EnvioEmailsServiceImpl.class);
+
+	@Autowired
+	private CaixaSaidaEmails caixaSaidaEmails;
+
+	@Autowired
+	private JavaMailSender emailSender;
+
+	private final TransactionTemplate transacao;
+
+	private final boolean ativo;
+
+	private final int lote;
+
+	private final double porSegundo;
+
+	private final int maximoTentativas;
+
+	private final Duration esperaInicial;
+
+	private final Duration esperaMaxima;
+
+	private final Duration reserva;
+
+	private final Duration retencao;
+
+	private final Timer tempoLote;
+
+	private final Timer tempoFila;
+
+	private final Counter enviados;
+
+	private final Counter falhas;
+
+	private final Counter falhasDefinitivas;
+
+	// Limite de taxa (balde de fichas): até um lote de uma vez, recarregado à
+	// razão de porSegundo; só usado dentro de despachar(), que é synchronized
+	private double fichas;
+
+	private long ultimaRecarga = System.nanoTime();
+
+	private volatile long pendentes;
+
+	private volatile Instant ultimaExecucao;
+
+	public EnvioEmailsServiceImpl(PlatformTransactionManager transactionManager, MeterRegistry registro,
+			@Value("${condominio.emails.despacho:true}") boolean ativo,
+			@Value("${condominio.emails.lote:50}") int lote,
+			@Value("${condominio.emails.por-segundo:5}") double porSegundo,
+			@Value("${condominio.emails.tentativas:8}") int maximoTentativas,
+			@Value("${condominio.emails.espera-inicial:PT1M}") Duration esperaInicial,
+			@Value("${condominio.emails.espera-maxima:PT6H}") Duration esperaMaxima,
+			@Value("${condominio.emails.reserva:PT5M}") Duration reserva,
+			@Value("${condominio.emails.retencao:P30D}") Duration retencao) {
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.ativo = ativo;
+		this.lote = lote;
+		this.porSegundo = porSegundo;
+		this.maximoTentativas = maximoTentativas;
+		this.esperaInicial = esperaInicial;
+		this.esperaMaxima = esperaMaxima;
+		this.reserva = reserva;
+		this.retencao = retencao;
+		this.fichas = lote;
+		Gauge.builder("condominio.emails.pendentes", this, servico -> servico.pendentes)
+				.description("E-mails na caixa de saída ainda não enviados").register(registro);
+		tempoLote = Timer.builder("condominio.emails.envio").description("Tempo de envio de um lote por SMTP")
+				.register(registro);
+		tempoFila = Timer.builder("condominio.emails.espera")
+				.description("Tempo entre a gravação na caixa de saída e o envio").register(registro);
+		enviados = Counter.builder("condominio.emails.enviados").register(registro);
+		falhas = Counter.builder("condominio.emails.falhas").tag("definitiva", "false").register(registro);
+		falhasDefinitivas = Counter.builder("condominio.emails.falhas").tag("definitiva", "true")
+				.register(registro);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@Scheduled(fixedDelayString = "${condominio.emails.intervalo:PT5S}")
+	public synchronized int despachar() {
+		if (!ativo) {
+			return 0;
+		}
+		int total = 0;
+		while (true) {
+			int quantidade = (int) Math.min(lote, recarregar());
+			if (quantidade == 0) {
+				break;
+			}
+			LocalDateTime agora = LocalDateTime.now();
+			// Transação curta: os bloqueios do SKIP LOCKED não ficam presos durante
+			// a conversa SMTP
+			List<EmailPendente> reservados = transacao
+					.execute(status -> caixaSaidaEmails.reservar(quantidade, agora, agora.plus(reserva)));
+			if (reservados.isEmpty()) {
+				break;
+			}
+			fichas -= reservados.size();
+			total += enviar(reservados);
+			if (reservados.size() < quantidade) {
+				break;
+			}
+		}
+		pendentes = caixaSaidaEmails.contarPendentes();
+		ultimaExecucao = Instant.now();
+		if (total > 0) {
+			log.info("{} e-mails enviados; {} pendentes", total, pendentes);
+		}
+		return total;
+	}
+
+	private double recarregar() {
+		long agora = System.nanoTime();
+		fichas = Math.min(lote, fichas + (agora - ultimaRecarga) / 1e9 * porSegundo);
+		ultimaRecarga = agora;
+		return fichas;
+	}
+
+	private int enviar(List<EmailPendente> emails) {
+		SimpleMailMessage[] mensagens = new SimpleMailMessage[emails.size()];
+		for (int i = 0; i < mensagens.length; i++) {
+			EmailPendente email = emails.get(i);
+			mensagens[i] = new SimpleMailMessage();
+			mensagens[i].setTo(email.getPara());
+			mensagens[i].setSubject(email.getAssunto());
+			mensagens[i].setText(email.getMensagem());
+		}
+		Map<Object, Exception> recusados = Collections.emptyMap();
+		Exception erroGeral = null;
+		long inicio = System.nanoTime();
+		try {
+			// O JavaMailSender envia todas as mensagens de um send() pela mesma conexão
+			emailSender.send(mensagens);
+		} catch (MailSendException e) {
+			recusados = e.getFailedMessages();
+			if (recusados.isEmpty()) {
+				erroGeral = e;
+			}
+		} catch (MailException e) {
+			erroGeral = e;
+		}
+		tempoLote.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
+		LocalDateTime agora = LocalDateTime.now();
+		List<EmailPendente> aceitos = new ArrayList<>();
+		List<EmailPendente> falharam = new ArrayList<>();
+		List<Exception> erros = new ArrayList<>();
+		for (int i = 0; i < mensagens.length; i++) {
+			Exception erro = erroGeral != null ? erroGeral : recusados.get(mensagens[i]);
+			if (erro == null) {
+				aceitos.add(emails.get(i));
+				tempoFila.record(Duration.between(emails.get(i).getCriacao(), agora));
+			} else {
+				falharam.add(emails.get(i));
+				erros.add(erro);
+			}
+		}
+		transacao.execute(status -> {
+			caixaSaidaEmails.marcarEnviados(aceitos, agora);
+			for (int i = 0; i < falharam.size(); i++) {
+				registrarFalha(falharam.get(i), erros.get(i), agora);
+			}
+			return null;
+		});
+		enviados.increment(aceitos.size());
+		return aceitos.size();
+	}
+
+	private void registrarFalha(EmailPendente email, Exception erro, LocalDateTime agora) {
+		email.setTentativas(email.getTentativas() + 1);
+		LocalDateTime proximaTentativa = null;
+		if (email.getTentativas() < maximoTentativas) {
+			// Espera dobrada a cada tentativa, até a espera máxima
+			Duration espera = esperaInicial.multipliedBy(1L << Math.min(email.getTentativas() - 1, 20));
+			proximaTentativa = agora.plus(espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera);
+			falhas.increment();
+		} else {
+			falhasDefinitivas.increment();
+			log.warn("E-mail {} descartado após {} tentativas: {}", email.getIdEmail(), email.getTentativas(),
+					erro.getMessage());
+		}
+		caixaSaidaEmails.marcarFalha(email, proximaTentativa, erro.getMessage());
+	}
+
+	@Override
+	@Transactional
+	@Scheduled(cron = "${condominio.emails.limpeza:0 40 3 * * *}")
+	public int limpar() {
+		int removidos = caixaSaidaEmails.removerEnviados(LocalDateTime.now().minus(retencao));
+		log.info("{} e-mails enviados removidos da caixa de saída", removidos);
+		return removidos;
+	}
+
+	@Override
+	public Map<String, Object> estatisticas() {
+		Map<String, Object> estatisticas = new LinkedHashMap<>();
+		estatisticas.put("ativo", ativo);
+		estatisticas.put("ultimaExecucao", ultimaExecucao != null ? ultimaExecucao.toString() : null);
+		estatisticas.put("pendentes", pendentes);
+		estatisticas.put("enviados", (long) enviados.count());
+		estatisticas.put("falhas", (long) falhas.count());
+		estatisticas.put("falhasDefinitivas", (long) falhasDefinitivas.count());
+		estatisticas.put("porSegundo", porSegundo);
+		estatisticas.put("tempoMedioLoteMs", tempoLote.mean(TimeUnit.MILLISECONDS));
+		estatisticas.put("tempoMedioFilaMs", tempoFila.mean(TimeUnit.MILLISECONDS));
+		return estatisticas;
+	}
+
+}
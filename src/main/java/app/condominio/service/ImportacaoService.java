@@ -0,0 +1,33 @@
+package app.condominio.service;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import app.condominio.domain.Conta;
+import app.condominio.domain.Subcategoria;
+
+public interface ImportacaoService {
+
+	/**
+	 * @param arquivo
+	 *            O conteúdo do extrato bancário, em formato OFX ou CSV
+	 *            (data;descrição;documento;valor). É lido como fluxo, sem carregar
+	 *            o arquivo inteiro em memória.
+	 * @param codificacao
+	 *            A codificação de caracteres do arquivo
+	 * @param conta
+	 *            A Conta que receberá os Lançamentos
+	 * @param receita
+	 *            A Subcategoria aplicada às linhas com valor positivo
+	 * @param despesa
+	 *            A Subcategoria aplicada às linhas com valor negativo
+	 * @return Retorna o resumo da importação. Linhas já existentes na Conta, com
+	 *         mesma data, valor, documento e sentido (entrada ou saída), são
+	 *         descartadas, tantas quantas já existiam; linhas repetidas no próprio
+	 *         arquivo são gravadas. Linhas sem período ou em período encerrado são
+	 *         rejeitadas.
+	 */
+	public ResultadoImportacao importar(InputStream arquivo, Charset codificacao, Conta conta, Subcategoria receita,
+			Subcategoria despesa);
+
+}
@@ -0,0 +1,330 @@
+package app.condominio.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.condominio.dao.GravadorLancamentos;
+import app.condominio.dao.MovimentoDao;
+import app.condominio.domain.Conta;
+import app.condominio.domain.Lancamento;
+import app.condominio.domain.Periodo;
+import app.condominio.domain.Subcategoria;
+import app.condominio.domain.enums.TipoCategoria;
+
+@Service
+@Transactional
+public class ImportacaoServiceImpl implements ImportacaoService {
+
+	private static final int LINHAS_POR_LOTE = 1000;
+
+	private static final Pattern TAG_OFX = Pattern.compile("<(/?)([A-Za-z0-9.]+)>([^<\\r\\n]*)");
+
+	private static final DateTimeFormatter DATA_OFX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+	private static final DateTimeFormatter DATA_CSV = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+	@Autowired
+	private GravadorLancamentos gravadorLancamentos;
+
+	@Autowired
+	private MovimentoDao movimentoDao;
+
+	@Autowired
+	private PeriodoService periodoService;
+
+	@Autowired
+	private SaldoContaService saldoContaService;
+
+	@Autowired
+	private SaldoMensalService saldoMensalService;
+
+	@Autowired
+	private ContextoUsuario contextoUsuario;
+
+	@Autowired
+	private ApplicationEventPublisher publicador;
+
+	@Override
+	public ResultadoImportacao importar(InputStream arquivo, Charset codificacao, Conta conta, Subcategoria receita,
+			Subcategoria despesa) {
+		long inicio = System.currentTimeMillis();
+		Importacao importacao = new Importacao(conta, receita, despesa);
+		try (BufferedReader leitor = new BufferedReader(new InputStreamReader(arquivo, codificacao))) {
+			leitor.mark(1024);
+			char[] cabecalho = new char[1024];
+			int lidos = leitor.read(cabecalho);
+			leitor.reset();
+			String inicioArquivo = lidos > 0 ? new String(cabecalho, 0, lidos).toUpperCase() : "";
+			if (inicioArquivo.contains("OFXHEADER") || inicioArquivo.contains("<OFX>")) {
+				lerOfx(leitor, importacao);
+			} else {
+				lerCsv(leitor, importacao);
+			}
+		} catch (IOException e) {
+			importacao.resultado.erro("Não foi possível ler o arquivo: " + e.getMessage());
+		}
+		importacao.gravarLote();
+		importacao.registrarSaldos();
+		if (importacao.resultado.getImportadas() > 0) {
+			publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
+		}
+		importacao.resultado.setMilissegundos(System.currentTimeMillis() - inicio);
+		return importacao.resultado;
+	}
+
+	private void lerOfx(BufferedReader leitor, Importacao importacao) throws IOException {
+		// SGML ou XML: uma transação é o bloco entre <STMTTRN> e </STMTTRN>, com
+		// ou sem tags de fechamento nos campos
+		Map<String, String> transacao = null;
+		int numero = 0;
+		String linha;
+		while ((linha = leitor.readLine()) != null) {
+			Matcher tag = TAG_OFX.matcher(linha);
+			while (tag.find()) {
+				boolean fechamento = !tag.group(1).isEmpty();
+				String nome = tag.group(2).toUpperCase();
+				if ("STMTTRN".equals(nome)) {
+					if (fechamento && transacao != null) {
+						numero++;
+						importacao.adicionar(numero, lerDataOfx(transacao.get("DTPOSTED")),
+								lerValor(transacao.get("TRNAMT")),
+								transacao.containsKey("CHECKNUM") ? transacao.get("CHECKNUM") : transacao.get("FITID"),
+								transacao.containsKey("MEMO") ? transacao.get("MEMO") : transacao.get("NAME"));
+						transacao = null;
+					} else if (!fechamento) {
+						transacao = new HashMap<>();
+					}
+				} else if (transacao != null && !fechamento && !tag.group(3).trim().isEmpty()) {
+					transacao.put(nome, tag.group(3).trim());
+				}
+			}
+		}
+	}
+
+	private void lerCsv(BufferedReader leitor, Importacao importacao) throws IOException {
+		int numero = 0;
+		String linha;
+		while ((linha = leitor.readLine()) != null) {
+			numero++;
+			if (linha.trim().isEmpty()) {
+				continue;
+			}
+			String[] campos = linha.split(";", -1);
+			for (int i = 0; i < campos.length; i++) {
+				campos[i] = campos[i].trim().replaceAll("^\"|\"$", "");
+			}
+			LocalDate data = campos.length == 4 ? lerDataCsv(campos[0]) : null;
+			// Cabeçalho do arquivo não conta como linha rejeitada
+			if (numero == 1 && data == null) {
+				continue;
+			}
+			if (campos.length != 4) {
+				importacao.resultado.lida();
+				importacao.resultado.rejeitada(numero, "esperados 4 campos separados por ponto e vírgula");
+				continue;
+			}
+			importacao.adicionar(numero, data, lerValor(campos[3]), campos[2], campos[1]);
+		}
+	}
+
+	private LocalDate lerDataOfx(String data) {
+		try {
+			return data != null && data.length() >= 8 ? LocalDate.parse(data.substring(0, 8), DATA_OFX) : null;
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	private LocalDate lerDataCsv(String data) {
+		try {
+			return data.contains("/") ? LocalDate.parse(data, DATA_CSV) : LocalDate.parse(data);
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	private BigDecimal lerValor(String valor) {
+		if (valor == null || valor.isEmpty()) {
+			return null;
+		}
+		String numero = valor.replace("R$", "").replace(" ", "");
+		// Aceita 1.234,56 e 1234.56
+		if (numero.contains(",")) {
+			numero = numero.replace(".", "").replace(',', '.');
+		}
+		try {
+			return new BigDecimal(numero);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static String truncar(String texto, int tamanho) {
+		if (texto == null || texto.isEmpty()) {
+			return null;
+		}
+		return texto.length() > tamanho ? texto.substring(0, tamanho) : texto;
+	}
+
+	private static String chave(LocalDate data, BigDecimal valor, String documento, Boolean reducao) {
+		return data + "|" + valor.stripTrailingZeros().toPlainString() + "|" + (documento == null ? "" : documento)
+				+ "|" + (Boolean.TRUE.equals(reducao) ? "D" : "C");
+	}
+
+	/**
+	 * Estado de uma importação: as linhas do lote atual, os Períodos já
+	 * resolvidos por data e os valores a somar nos saldos da Conta.
+	 */
+	private class Importacao {
+
+		private final Conta conta;
+
+		private final Subcategoria receita;
+
+		private final Subcategoria despesa;
+
+		private final List<Periodo> periodos;
+
+		private final Map<LocalDate, Periodo> periodoPorData = new HashMap<>();
+
+		private final Map<YearMonth, BigDecimal> saldoPorMes = new TreeMap<>();
+
+		private final List<Lancamento> lote = new ArrayList<>();
+
+		// Chaves já gravadas por esta importação, com a quantidade de cada uma
+		private final Map<String, Integer> gravadas = new HashMap<>();
+
+		private final ResultadoImportacao resultado = new ResultadoImportacao();
+
+		private Importacao(Conta conta, Subcategoria receita, Subcategoria despesa) {
+			this.conta = conta;
+			this.receita = receita;
+			this.despesa = despesa;
+			// Os Períodos são lidos uma única vez e resolvidos em memória
+			this.periodos = periodoService.listar();
+		}
+
+		private void adicionar(int numero, LocalDate data, BigDecimal valor, String documento, String descricao) {
+			resultado.lida();
+			if (data == null) {
+				resultado.rejeitada(numero, "data inválida");
+				return;
+			}
+			if (valor == null || valor.signum() == 0) {
+				resultado.rejeitada(numero, "valor inválido");
+				return;
+			}
+			Periodo periodo = periodo(data);
+			if (periodo == null) {
+				resultado.rejeitada(numero, "não há período cadastrado para a data");
+				return;
+			}
+			if (Boolean.TRUE.equals(periodo.getEncerrado())) {
+				resultado.rejeitada(numero, "o período da data está encerrado");
+				return;
+			}
+			Subcategoria subcategoria = valor.signum() > 0 ? receita : despesa;
+			Lancamento lancamento = new Lancamento();
+			lancamento.setData(data);
+			lancamento.setValor(valor.abs());
+			lancamento.setDocumento(truncar(documento, 20));
+			lancamento.setDescricao(truncar(descricao, 255));
+			lancamento.setConta(conta);
+			lancamento.setPeriodo(periodo);
+			lancamento.setSubcategoria(subcategoria);
+			lancamento.setReducao(subcategoria.getCategoriaPai().getTipo().equals(TipoCategoria.D));
+			lote.add(lancamento);
+			if (lote.size() >= LINHAS_POR_LOTE) {
+				gravarLote();
+			}
+		}
+
+		private Periodo periodo(LocalDate data) {
+			if (!periodoPorData.containsKey(data)) {
+				Periodo encontrado = null;
+				for (Periodo periodo : periodos) {
+					if (!data.isBefore(periodo.getInicio()) && !data.isAfter(periodo.getFim())) {
+						encontrado = periodo;
+						break;
+					}
+				}
+				periodoPorData.put(data, encontrado);
+			}
+			return periodoPorData.get(data);
+		}
+
+		private void gravarLote() {
+			if (lote.isEmpty()) {
+				return;
+			}
+			// Uma consulta por lote traz as chaves já gravadas no intervalo de datas
+			LocalDate inicio = lote.get(0).getData();
+			LocalDate fim = inicio;
+			for (Lancamento lancamento : lote) {
+				inicio = lancamento.getData().isBefore(inicio) ? lancamento.getData() : inicio;
+				fim = lancamento.getData().isAfter(fim) ? lancamento.getData() : fim;
+			}
+			// Quantas vezes cada chave já existia na Conta antes desta importação: as
+			// linhas gravadas pelos lotes anteriores do mesmo arquivo não contam, e
+			// linhas iguais no arquivo (duas tarifas no mesmo dia) são todas gravadas
+			Map<String, Integer> existentes = new HashMap<>();
+			for (Object[] movimento : movimentoDao.findDataAndValorAndDocumentoAndReducaoByContaAndDataBetween(conta,
+					inicio, fim)) {
+				existentes.merge(chave((LocalDate) movimento[0], (BigDecimal) movimento[1], (String) movimento[2],
+						(Boolean) movimento[3]), 1, Integer::sum);
+			}
+			existentes.replaceAll((chave, quantidade) -> quantidade - gravadas.getOrDefault(chave, 0));
+			List<Lancamento> novos = new ArrayList<>();
+			for (Lancamento lancamento : lote) {
+				String chave = chave(lancamento.getData(), lancamento.getValor(), lancamento.getDocumento(),
+						lancamento.getReducao());
+				if (existentes.getOrDefault(chave, 0) > 0) {
+					existentes.merge(chave, -1, Integer::sum);
+					resultado.duplicada();
+					continue;
+				}
+				novos.add(lancamento);
+				gravadas.merge(chave, 1, Integer::sum);
+				BigDecimal valor = lancamento.getReducao() ? lancamento.getValor().negate() : lancamento.getValor();
+				saldoPorMes.merge(YearMonth.from(lancamento.getData()), valor, BigDecimal::add);
+			}
+			gravadorLancamentos.inserir(novos);
+			resultado.importadas(novos.size());
+			lote.clear();
+		}
+
+		private void registrarSaldos() {
+			// Um registro por mês em vez de um por linha importada
+			BigDecimal total = BigDecimal.ZERO;
+			for (Map.Entry<YearMonth, BigDecimal> mes : saldoPorMes.entrySet()) {
+				saldoMensalService.registrar(conta, mes.getKey().atDay(1), mes.getValue());
+				total = total.add(mes.getValue());
+			}
+			if (total.signum() != 0) {
+				saldoContaService.registrar(conta, total);
+			}
+		}
+
+	}
+
+}
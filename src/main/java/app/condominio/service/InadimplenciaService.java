@@ -0,0 +1,51 @@
+package app.condominio.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import app.condominio.domain.Condominio;
+import app.condominio.domain.Moradia;
+import app.condominio.domain.ResumoInadimplencia;
+
+public interface InadimplenciaService {
+
+	/**
+	 * @param moradia
+	 *            Uma Moradia que teve Cobrança criada, alterada, recebida ou
+	 *            excluída. Dentro de uma transação as Moradias são acumuladas e
+	 *            recalculadas de uma só vez, imediatamente antes do commit.
+	 */
+	public void registrar(Moradia moradia);
+
+	/**
+	 * @param condominio
+	 *            O Condomínio que terá o resumo de todas as suas Moradias
+	 *            recalculado
+	 */
+	public void recalcular(Condominio condominio);
+
+	/**
+	 * @param moradias
+	 *            Os ids das Moradias, de quaisquer Condomínios, que terão o resumo
+	 *            recalculado na data atual. Usado pela manutenção noturna, que
+	 *            chama em lotes ordenados por id.
+	 */
+	public void recalcularMoradias(Collection<Long> moradias);
+
+	/**
+	 * @return Retorna uma lista com o resumo da inadimplência de cada Moradia do
+	 *         Condomínio, ordenada por Bloco e Moradia. Retorna somente Moradias
+	 *         com Cobranças vencidas. Nunca retorna nulo, se não houver
+	 *         inadimplência, retorna uma lista vazia.
+	 */
+	public List<ResumoInadimplencia> listar();
+
+	/**
+	 * @return Retorna um BigDecimal com o total atual das Cobranças vencidas do
+	 *         Condomínio. Nunca retorna nulo, se não houver inadimplência, retorna
+	 *         BigDecimal.ZERO.
+	 */
+	public BigDecimal total();
+
+}
@@ -0,0 +1,112 @@
+package app.condominio.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import app.condominio.dao.ResumoInadimplenciaDao;
+import app.condominio.domain.Condominio;
+import app.condominio.domain.Moradia;
+import app.condominio.domain.ResumoInadimplencia;
+
+@Service
+@Transactional
+public class InadimplenciaServiceImpl implements InadimplenciaService {
+
+	// Chave das Moradias pendentes da transação atual
+	private static final Object PENDENTES = InadimplenciaServiceImpl.class.getName() + ".PENDENTES";
+
+	@Autowired
+	private ResumoInadimplenciaDao resumoInadimplenciaDao;
+
+	@Autowired
+	private ContextoUsuario contextoUsuario;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void registrar(Moradia moradia) {
+		if (moradia == null || moradia.getIdMoradia() == null) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			Set<Long> unica = new TreeSet<>();
+			unica.add(moradia.getIdMoradia());
+			aplicar(unica);
+			return;
+		}
+		Set<Long> pendentes = (Set<Long>) TransactionSynchronizationManager.getResource(PENDENTES);
+		if (pendentes == null) {
+			// TreeSet para recalcular sempre na ordem do id e evitar deadlock entre
+			// transações que alteram as mesmas Moradias
+			Set<Long> novas = new TreeSet<>();
+			TransactionSynchronizationManager.bindResource(PENDENTES, novas);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void beforeCommit(boolean readOnly) {
+					aplicar(novas);
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(PENDENTES);
+				}
+			});
+			pendentes = novas;
+		}
+		pendentes.add(moradia.getIdMoradia());
+	}
+
+	private void aplicar(Set<Long> moradias) {
+		if (!moradias.isEmpty()) {
+			resumoInadimplenciaDao.deleteByIdMoradiaIn(moradias);
+			resumoInadimplenciaDao.insertByIdMoradiaIn(moradias, LocalDate.now());
+			moradias.clear();
+		}
+	}
+
+	@Override
+	public void recalcular(Condominio condominio) {
+		if (condominio != null) {
+			resumoInadimplenciaDao.deleteByIdCondominio(condominio.getIdCondominio());
+			resumoInadimplenciaDao.insertByIdCondominio(condominio.getIdCondominio(), LocalDate.now());
+		}
+	}
+
+	@Override
+	public void recalcularMoradias(Collection<Long> moradias) {
+		aplicar(new TreeSet<>(moradias));
+	}
+
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public List<ResumoInadimplencia> listar() {
+		Condominio condominio = contextoUsuario.getCondominio();
+		if (condominio == null) {
+			return new ArrayList<>();
+		}
+		return resumoInadimplenciaDao.findAllByCondominioOrderByMoradia(condominio);
+	}
+
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public BigDecimal total() {
+		Condominio condominio = contextoUsuario.getCondominio();
+		BigDecimal total = null;
+		if (condominio != null) {
+			total = resumoInadimplenciaDao.sumTotalByCondominio(condominio);
+		}
+		return total != null ? total : BigDecimal.ZERO.setScale(2);
+	}
+
+}
@@ -0,0 +1,60 @@
+package app.condominio.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modelo de mensagem com campos entre chaves, como {nome}. O texto é dividido
+ * uma única vez em trechos fixos e campos, para preencher milhares de mensagens
+ * sem procurar os campos de novo a cada uma. Chaves que não formam um campo
+ * conhecido ficam no texto como estão.
+ */
+class ModeloMensagem {
+
+	// Trechos fixos e nomes de campo intercalados: fixo, campo, fixo, campo...
+	private final List<String> partes = new ArrayList<>();
+
+	private int tamanhoFixo;
+
+	ModeloMensagem(String modelo, List<String> campos) {
+		StringBuilder fixo = new StringBuilder();
+		int i = 0;
+		while (i < modelo.length()) {
+			int abre = modelo.indexOf('{', i);
+			int fecha = abre < 0 ? -1 : modelo.indexOf('}', abre);
+			if (fecha < 0) {
+				fixo.append(modelo, i, modelo.length());
+				break;
+			}
+			String campo = modelo.substring(abre + 1, fecha);
+			if (campos.contains(campo)) {
+				fixo.append(modelo, i, abre);
+				partes.add(fixo.toString());
+				partes.add(campo);
+				tamanhoFixo += fixo.length();
+				fixo.setLength(0);
+				i = fecha + 1;
+			} else {
+				fixo.append(modelo, i, abre + 1);
+				i = abre + 1;
+			}
+		}
+		partes.add(fixo.toString());
+		tamanhoFixo += fixo.length();
+	}
+
+	String preencher(Map<String, String> valores) {
+		StringBuilder mensagem = new StringBuilder(tamanhoFixo + 256);
+		for (int i = 0; i < partes.size(); i++) {
+			if (i % 2 == 0) {
+				mensagem.append(partes.get(i));
+			} else {
+				String valor = valores.get(partes.get(i));
+				mensagem.append(valor != null ? valor : "");
+			}
+		}
+		return mensagem.toString();
+	}
+
+}
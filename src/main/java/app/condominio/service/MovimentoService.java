@@ -4,6 +4,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Slice;
 
 import app.condominio.domain.Categoria;
 import app.condominio.domain.Conta;
@@ -14,17 +18,38 @@ import app.condominio.domain.Subcategoria;
 
 public interface MovimentoService extends CrudService<Movimento, Long> {
 
+	/**
+	 * @param idMovimento
+	 *            O id do último Movimento da página anterior, ou nulo para a
+	 *            primeira página
+	 * @param tamanho
+	 *            Quantidade de Movimentos por página
+	 * @return Retorna uma fatia com os Movimentos seguintes ao informado, em
+	 *         ordem decrescente de data. Não executa contagem, apenas informa se
+	 *         há próxima página.
+	 */
+	public Slice<Movimento> listarPaginaApos(Long idMovimento, int tamanho);
+
 	public BigDecimal somaLancamentosEntre(Collection<Conta> contas, LocalDate inicio, LocalDate fim, Boolean reducao);
 
 	public BigDecimal somaLancamentosEntre(Collection<Conta> contas, LocalDate inicio, LocalDate fim,
 			Subcategoria subcategoria);
 
+	public Map<Subcategoria, BigDecimal> somaLancamentosEntre(Collection<Conta> contas, LocalDate inicio,
+			LocalDate fim, Collection<Subcategoria> subcategorias);
+
 	public BigDecimal somaLancamentosPeriodo(Collection<Conta> contas, Periodo periodo, Subcategoria subcategoria);
 
 	public BigDecimal somaLancamentosPeriodo(Collection<Conta> contas, Periodo periodo, Categoria categoria);
 
+	public Map<Subcategoria, BigDecimal> somaLancamentosPeriodo(Collection<Conta> contas, Periodo periodo,
+			Collection<Subcategoria> subcategorias);
+
 	public BigDecimal somaLancamentosDesde(Collection<Conta> contas, LocalDate inicio, Boolean reducao);
 
 	public List<Lancamento> listarLancamentosEntre(Collection<Conta> contas, LocalDate inicio, LocalDate fim);
 
+	public void percorrerLancamentosEntre(Collection<Conta> contas, LocalDate inicio, LocalDate fim,
+			Consumer<Lancamento> consumidor);
+
 }
@@ -4,11 +4,22 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +27,7 @@ import org.springframework.validation.BindingResult;
 
 import app.condominio.dao.LancamentoDao;
 import app.condominio.dao.MovimentoDao;
+import app.condominio.dao.SomaSubcategoria;
 import app.condominio.domain.Categoria;
 import app.condominio.domain.Conta;
 import app.condominio.domain.Lancamento;
@@ -25,6 +37,9 @@ import app.condominio.domain.Subcategoria;
 import app.condominio.domain.Transferencia;
 import app.condominio.domain.enums.TipoCategoria;
 
+import io.micrometer.core.annotation.Timed;
+
+@Timed(value = "condominio.servico", description = "Tempo dos métodos de serviço")
 @Service
 @Transactional
 public class MovimentoServiceImpl implements MovimentoService {
@@ -41,6 +56,21 @@ public class MovimentoServiceImpl implements MovimentoService {
 	@Autowired
 	private PeriodoService periodoService;
 
+	@Autowired
+	private SaldoMensalService saldoMensalService;
+
+	@Autowired
+	private SaldoContaService saldoContaService;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ContextoUsuario contextoUsuario;
+
+	@Autowired
+	private ApplicationEventPublisher publicador;
+
 	@Override
 	public void salvar(Movimento entidade) {
 		if (entidade.getIdMovimento() == null) {
@@ -71,6 +101,8 @@ public class MovimentoServiceImpl implements MovimentoService {
 			}
 			listaSalvar.add(entidade);
 			movimentoDao.saveAll(listaSalvar);
+			registrarSaldos(listaSalvar, false);
+			publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 		}
 	}
 
@@ -88,12 +120,58 @@ public class MovimentoServiceImpl implements MovimentoService {
 
 	@Override
 	public Page<Movimento> listarPagina(Pageable pagina) {
-		return movimentoDao.findAllByContaInOrderByDataDesc(contaService.listar(), pagina);
+		Page<Movimento> movimentos = movimentoDao.findAllByContaInOrderByDataDesc(contaService.listar(), pagina);
+		carregarSubcategorias(movimentos);
+		return movimentos;
+	}
+
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public Slice<Movimento> listarPaginaApos(Long idMovimento, int tamanho) {
+		List<Conta> contas = contaService.listar();
+		Pageable pagina = PageRequest.of(0, tamanho);
+		if (contas.isEmpty()) {
+			return new SliceImpl<>(new ArrayList<>(), pagina, false);
+		}
+		Slice<Movimento> movimentos;
+		Movimento ultimo = idMovimento != null ? movimentoDao.findById(idMovimento).orElse(null) : null;
+		// Só aceita como chave um Movimento das Contas do próprio Condomínio
+		if (ultimo == null || contas.stream()
+				.noneMatch(conta -> conta.getIdConta().equals(ultimo.getConta().getIdConta()))) {
+			movimentos = movimentoDao.findAllByContaInOrderByDataDescIdMovimentoDesc(contas, pagina);
+		} else {
+			movimentos = movimentoDao.findAllByContaInAfterOrderByDataDescIdMovimentoDesc(contas, ultimo.getData(),
+					ultimo.getIdMovimento(), pagina);
+		}
+		carregarSubcategorias(movimentos);
+		return movimentos;
+	}
+
+	private void carregarSubcategorias(Iterable<Movimento> movimentos) {
+		// A Subcategoria é do Lançamento e não pode entrar no grafo da consulta de
+		// Movimento, então é buscada numa segunda consulta para toda a página
+		List<Long> lancamentos = new ArrayList<>();
+		for (Movimento movimento : movimentos) {
+			if (movimento instanceof Lancamento) {
+				lancamentos.add(movimento.getIdMovimento());
+			}
+		}
+		if (!lancamentos.isEmpty()) {
+			lancamentoDao.findAllWithSubcategoriaByIdMovimentoIn(lancamentos);
+		}
 	}
 
 	@Override
 	public void editar(Movimento entidade) {
 		padronizar(entidade);
+		// Estorna dos saldos os valores ainda gravados no banco
+		Movimento antigo = movimentoDao.findById(entidade.getIdMovimento()).get();
+		List<Movimento> listaAntiga = new ArrayList<>();
+		listaAntiga.add(antigo);
+		if (antigo instanceof Transferencia && ((Transferencia) antigo).getMovimentoInverso() != null) {
+			listaAntiga.add(((Transferencia) antigo).getMovimentoInverso());
+		}
+		registrarSaldos(listaAntiga, true);
 		List<Movimento> listaSalvar = new ArrayList<>();
 		if (entidade instanceof Lancamento) {
 			((Lancamento) entidade).setPeriodo(periodoService.ler(entidade.getData()));
@@ -115,6 +193,8 @@ public class MovimentoServiceImpl implements MovimentoService {
 		}
 		listaSalvar.add(entidade);
 		movimentoDao.saveAll(listaSalvar);
+		registrarSaldos(listaSalvar, false);
+		publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 	}
 
 	@Override
@@ -125,6 +205,20 @@ public class MovimentoServiceImpl implements MovimentoService {
 		}
 		listaDeletar.add(entidade);
 		movimentoDao.deleteAll(listaDeletar);
+		registrarSaldos(listaDeletar, true);
+		publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
+	}
+
+	private void registrarSaldos(List<Movimento> movimentos, boolean estorno) {
+		for (Movimento movimento : movimentos) {
+			BigDecimal valor = movimento.getValor();
+			// Valor com sinal: negativo para saídas, invertido em caso de estorno
+			if (Boolean.TRUE.equals(movimento.getReducao()) != estorno) {
+				valor = valor.negate();
+			}
+			saldoContaService.registrar(movimento.getConta(), valor);
+			saldoMensalService.registrar(movimento.getConta(), movimento.getData(), valor);
+		}
 	}
 
 	@Override
@@ -183,6 +277,33 @@ public class MovimentoServiceImpl implements MovimentoService {
 		}
 	}
 
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public Map<Subcategoria, BigDecimal> somaLancamentosEntre(Collection<Conta> contas, LocalDate inicio,
+			LocalDate fim, Collection<Subcategoria> subcategorias) {
+		Map<Subcategoria, BigDecimal> mapa = new HashMap<>();
+		if (!contas.isEmpty() && !subcategorias.isEmpty()) {
+			// Uma única consulta agrupada, depois associa cada soma à Subcategoria já
+			// carregada
+			mapa = SomaSubcategoria.porSubcategoria(subcategorias, lancamentoDao
+					.sumValorByContaInAndDataBetweenAndSubcategoriaInGroupBySubcategoria(contas, inicio, fim,
+							subcategorias));
+		}
+		return mapa;
+	}
+
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public Map<Subcategoria, BigDecimal> somaLancamentosPeriodo(Collection<Conta> contas, Periodo periodo,
+			Collection<Subcategoria> subcategorias) {
+		Map<Subcategoria, BigDecimal> mapa = new HashMap<>();
+		if (!contas.isEmpty() && periodo != null && !subcategorias.isEmpty()) {
+			mapa = SomaSubcategoria.porSubcategoria(subcategorias, lancamentoDao
+					.sumValorByContaInAndPeriodoAndSubcategoriaInGroupBySubcategoria(contas, periodo, subcategorias));
+		}
+		return mapa;
+	}
+
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public BigDecimal somaLancamentosDesde(Collection<Conta> contas, LocalDate inicio, Boolean reducao) {
@@ -202,6 +323,23 @@ public class MovimentoServiceImpl implements MovimentoService {
 		return new ArrayList<>();
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public void percorrerLancamentosEntre(Collection<Conta> contas, LocalDate inicio, LocalDate fim,
+			Consumer<Lancamento> consumidor) {
+		if (!contas.isEmpty()) {
+			// O cursor exige uma transação aberta até o fim da leitura
+			try (Stream<Lancamento> lancamentos = lancamentoDao.streamAllByContaInAndDataBetweenOrderByDataAsc(contas,
+					inicio, fim)) {
+				lancamentos.forEach(lancamento -> {
+					consumidor.accept(lancamento);
+					// Libera o Lançamento já processado do contexto de persistência
+					entityManager.detach(lancamento);
+				});
+			}
+		}
+	}
+
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public BigDecimal somaLancamentosPeriodo(Collection<Conta> contas, Periodo periodo, Subcategoria subcategoria) {
@@ -1,6 +1,8 @@
 package app.condominio.service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
 
 import app.condominio.domain.Categoria;
 import app.condominio.domain.Orcamento;
@@ -14,6 +16,8 @@ public interface OrcamentoService extends CrudService<Orcamento, Long> {
 
 	public BigDecimal somaOrcamentos(Periodo periodo, Categoria categoria);
 
+	public Map<Subcategoria, BigDecimal> somaOrcamentos(Periodo periodo, Collection<Subcategoria> subcategorias);
+
 	public Orcamento ler(Periodo periodo, Subcategoria subcategoria);
 
 }
@@ -1,9 +1,13 @@
 package app.condominio.service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -12,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 
 import app.condominio.dao.OrcamentoDao;
+import app.condominio.dao.SomaSubcategoria;
 import app.condominio.domain.Categoria;
 import app.condominio.domain.Orcamento;
 import app.condominio.domain.Periodo;
@@ -28,10 +33,17 @@ public class OrcamentoServiceImpl implements OrcamentoService {
 	@Autowired
 	private PeriodoService periodoService;
 
+	@Autowired
+	private ContextoUsuario contextoUsuario;
+
+	@Autowired
+	private ApplicationEventPublisher publicador;
+
 	@Override
 	public void salvar(Orcamento entidade) {
 		if (entidade.getIdOrcamento() == null) {
 			orcamentoDao.save(entidade);
+			publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 		}
 
 	}
@@ -56,12 +68,14 @@ public class OrcamentoServiceImpl implements OrcamentoService {
 	@Override
 	public void editar(Orcamento entidade) {
 		orcamentoDao.save(entidade);
+		publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 
 	}
 
 	@Override
 	public void excluir(Orcamento entidade) {
 		orcamentoDao.delete(entidade);
+		publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 
 	}
 
@@ -119,6 +133,17 @@ public class OrcamentoServiceImpl implements OrcamentoService {
 		}
 	}
 
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public Map<Subcategoria, BigDecimal> somaOrcamentos(Periodo periodo, Collection<Subcategoria> subcategorias) {
+		if (periodo != null && !subcategorias.isEmpty()) {
+			return SomaSubcategoria.porSubcategoria(subcategorias,
+					orcamentoDao.sumByPeriodoAndSubcategoriaInGroupBySubcategoria(periodo, subcategorias));
+		} else {
+			return new HashMap<>();
+		}
+	}
+
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public Orcamento ler(Periodo periodo, Subcategoria subcategoria) {
@@ -0,0 +1,30 @@
+package app.condominio.service;
+
+import java.util.Map;
+
+public interface PainelService {
+
+	/**
+	 * @return Retorna um Map com os indicadores do painel do síndico (saldo atual,
+	 *         inadimplência, receitas e despesas do mês e receitas e despesas
+	 *         realizadas e orçadas do período atual) do Condomínio do usuário
+	 *         logado, com os nomes dos atributos do modelo como chave. Os valores
+	 *         ficam em cache até expirarem ou até uma AlteracaoFinanceira no
+	 *         Condomínio.
+	 */
+	public Map<String, Object> indicadores();
+
+	/**
+	 * @param evento
+	 *            A alteração que torna desatualizados os indicadores guardados em
+	 *            cache para o Condomínio do evento
+	 */
+	public void descartar(AlteracaoFinanceira evento);
+
+	/**
+	 * @return Retorna um Map com as estatísticas do cache de indicadores
+	 *         (acertos, falhas, taxa de acerto, descartes e tamanho)
+	 */
+	public Map<String, Object> estatisticas();
+
+}
@@ -0,0 +1,85 @@
+package app.condominio.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import app.condominio.domain.Condominio;
+
+@Service
+@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+public class PainelServiceImpl implements PainelService {
+
+	@Autowired
+	private RelatorioService relatorioService;
+
+	@Autowired
+	private ContextoUsuario contextoUsuario;
+
+	@Autowired
+	private ComposicaoRelatorioService composicaoRelatorioService;
+
+	private final Cache<Long, Map<String, Object>> cache;
+
+	public PainelServiceImpl(@Value("${condominio.painel.cache.ttl:PT10M}") Duration ttl,
+			@Value("${condominio.painel.cache.tamanho:500}") long tamanho) {
+		cache = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(tamanho).recordStats().build();
+	}
+
+	@Override
+	public Map<String, Object> indicadores() {
+		Condominio condominio = contextoUsuario.getCondominio();
+		if (condominio == null) {
+			return calcular();
+		}
+		return cache.get(condominio.getIdCondominio(), id -> calcular());
+	}
+
+	private Map<String, Object> calcular() {
+		Map<String, Supplier<?>> secoes = new LinkedHashMap<>();
+		secoes.put("saldoAtual", relatorioService::saldoAtualTodasContas);
+		secoes.put("inadimplencia", relatorioService::inadimplenciaAtual);
+		secoes.put("receitaDespesaMes", relatorioService::receitaDespesaMesAtual);
+		secoes.put("receitaDespesaRealizada", relatorioService::receitaDespesaRealizadaPeriodoAtual);
+		secoes.put("receitaDespesaOrcada", relatorioService::receitaDespesaOrcadaPeriodoAtual);
+		return Collections.unmodifiableMap(composicaoRelatorioService.compor("painel", secoes));
+	}
+
+	@Override
+	// Só descarta depois do commit, para que o próximo cálculo já enxergue os
+	// dados gravados; fora de transação descarta imediatamente
+	@TransactionalEventListener(fallbackExecution = true)
+	public void descartar(AlteracaoFinanceira evento) {
+		if (evento.getIdCondominio() == null) {
+			cache.invalidateAll();
+		} else {
+			cache.invalidate(evento.getIdCondominio());
+		}
+	}
+
+	@Override
+	public Map<String, Object> estatisticas() {
+		CacheStats stats = cache.stats();
+		Map<String, Object> estatisticas = new LinkedHashMap<>();
+		estatisticas.put("acertos", stats.hitCount());
+		estatisticas.put("falhas", stats.missCount());
+		estatisticas.put("taxaAcerto", stats.hitRate());
+		estatisticas.put("expulsoes", stats.evictionCount());
+		estatisticas.put("tamanho", cache.estimatedSize());
+		return estatisticas;
+	}
+
+}
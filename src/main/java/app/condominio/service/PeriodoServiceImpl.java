@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,13 +25,17 @@ public class PeriodoServiceImpl implements PeriodoService {
 	private PeriodoDao periodoDao;
 
 	@Autowired
-	private UsuarioService usuarioService;
+	private ContextoUsuario contextoUsuario;
+
+	@Autowired
+	private ApplicationEventPublisher publicador;
 
 	@Override
 	public void salvar(Periodo entidade) {
 		if (entidade.getIdPeriodo() == null) {
 			padronizar(entidade);
 			periodoDao.save(entidade);
+			publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 		}
 	}
 
@@ -43,16 +48,16 @@ public class PeriodoServiceImpl implements PeriodoService {
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public List<Periodo> listar() {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return new ArrayList<>();
 		}
-		return condominio.getPeriodos();
+		return periodoDao.findAllByCondominioOrderByInicioDesc(condominio);
 	}
 
 	@Override
 	public Page<Periodo> listarPagina(Pageable pagina) {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return Page.empty(pagina);
 		}
@@ -63,25 +68,27 @@ public class PeriodoServiceImpl implements PeriodoService {
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public boolean haPeriodo(LocalDate data) {
 		return periodoDao.existsByCondominioAndInicioLessThanEqualAndFimGreaterThanEqual(
-				usuarioService.lerLogado().getCondominio(), data, data);
+				contextoUsuario.getCondominio(), data, data);
 	}
 
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public Periodo ler(LocalDate data) {
 		return periodoDao.findOneByCondominioAndInicioLessThanEqualAndFimGreaterThanEqual(
-				usuarioService.lerLogado().getCondominio(), data, data);
+				contextoUsuario.getCondominio(), data, data);
 	}
 
 	@Override
 	public void editar(Periodo entidade) {
 		padronizar(entidade);
 		periodoDao.save(entidade);
+		publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 	}
 
 	@Override
 	public void excluir(Periodo entidade) {
 		periodoDao.delete(entidade);
+		publicador.publishEvent(new AlteracaoFinanceira(contextoUsuario.getCondominio()));
 
 	}
 
@@ -92,17 +99,17 @@ public class PeriodoServiceImpl implements PeriodoService {
 		if (entidade.getIdPeriodo() == null) {
 			if (entidade.getInicio() != null && entidade.getFim() != null) {
 				// Não pode repetir período
-				if (periodoDao.existsByCondominioAndInicioAfterAndFimBefore(usuarioService.lerLogado().getCondominio(),
+				if (periodoDao.existsByCondominioAndInicioAfterAndFimBefore(contextoUsuario.getCondominio(),
 						entidade.getInicio(), entidade.getFim())) {
 					validacao.rejectValue("inicio", "Conflito");
 					validacao.rejectValue("fim", "Conflito");
 				} else {
 					if (periodoDao.existsByCondominioAndInicioLessThanEqualAndFimGreaterThanEqual(
-							usuarioService.lerLogado().getCondominio(), entidade.getInicio(), entidade.getInicio())) {
+							contextoUsuario.getCondominio(), entidade.getInicio(), entidade.getInicio())) {
 						validacao.rejectValue("inicio", "Unique");
 					}
 					if (periodoDao.existsByCondominioAndInicioLessThanEqualAndFimGreaterThanEqual(
-							usuarioService.lerLogado().getCondominio(), entidade.getFim(), entidade.getFim())) {
+							contextoUsuario.getCondominio(), entidade.getFim(), entidade.getFim())) {
 						validacao.rejectValue("fim", "Unique");
 					}
 				}
@@ -113,18 +120,18 @@ public class PeriodoServiceImpl implements PeriodoService {
 			if (entidade.getInicio() != null && entidade.getFim() != null) {
 				// Não pode repetir período
 				if (periodoDao.existsByCondominioAndInicioAfterAndFimBeforeAndIdPeriodoNot(
-						usuarioService.lerLogado().getCondominio(), entidade.getInicio(), entidade.getFim(),
+						contextoUsuario.getCondominio(), entidade.getInicio(), entidade.getFim(),
 						entidade.getIdPeriodo())) {
 					validacao.rejectValue("inicio", "Conflito");
 					validacao.rejectValue("fim", "Conflito");
 				} else {
 					if (periodoDao.existsByCondominioAndInicioLessThanEqualAndFimGreaterThanEqualAndIdPeriodoNot(
-							usuarioService.lerLogado().getCondominio(), entidade.getInicio(), entidade.getInicio(),
+							contextoUsuario.getCondominio(), entidade.getInicio(), entidade.getInicio(),
 							entidade.getIdPeriodo())) {
 						validacao.rejectValue("inicio", "Unique");
 					}
 					if (periodoDao.existsByCondominioAndInicioLessThanEqualAndFimGreaterThanEqualAndIdPeriodoNot(
-							usuarioService.lerLogado().getCondominio(), entidade.getFim(), entidade.getFim(),
+							contextoUsuario.getCondominio(), entidade.getFim(), entidade.getFim(),
 							entidade.getIdPeriodo())) {
 						validacao.rejectValue("fim", "Unique");
 					}
@@ -143,7 +150,7 @@ public class PeriodoServiceImpl implements PeriodoService {
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public void padronizar(Periodo entidade) {
 		if (entidade.getCondominio() == null) {
-			entidade.setCondominio(usuarioService.lerLogado().getCondominio());
+			entidade.setCondominio(contextoUsuario.getCondominio());
 		}
 		if (entidade.getEncerrado() == null) {
 			entidade.setEncerrado(Boolean.FALSE);
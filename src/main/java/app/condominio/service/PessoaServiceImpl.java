@@ -39,7 +39,7 @@ public class PessoaServiceImpl implements PessoaService {
 	private PessoaJuridicaDao pessoaJuridicaDao;
 
 	@Autowired
-	private UsuarioService usuarioService;
+	private ContextoUsuario contextoUsuario;
 
 	@Override
 	public void salvar(Pessoa entidade) {
@@ -58,7 +58,7 @@ public class PessoaServiceImpl implements PessoaService {
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public List<Pessoa> listar() {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return new ArrayList<>();
 		}
@@ -67,7 +67,7 @@ public class PessoaServiceImpl implements PessoaService {
 
 	@Override
 	public Page<Pessoa> listarPagina(Pageable pagina) {
-		Condominio condominio = usuarioService.lerLogado().getCondominio();
+		Condominio condominio = contextoUsuario.getCondominio();
 		if (condominio == null) {
 			return Page.empty(pagina);
 		}
@@ -92,12 +92,12 @@ public class PessoaServiceImpl implements PessoaService {
 		if (entidade.getIdPessoa() == null) {
 			if (entidade instanceof PessoaFisica) {
 				if (((PessoaFisica) entidade).getCpf() != null && pessoaFisicaDao.existsByCpfAndCondominio(
-						((PessoaFisica) entidade).getCpf(), usuarioService.lerLogado().getCondominio())) {
+						((PessoaFisica) entidade).getCpf(), contextoUsuario.getCondominio())) {
 					validacao.rejectValue("cpf", "Unique");
 				}
 			} else if (entidade instanceof PessoaJuridica) {
 				if (((PessoaJuridica) entidade).getCnpj() != null && pessoaJuridicaDao.existsByCnpjAndCondominio(
-						((PessoaJuridica) entidade).getCnpj(), usuarioService.lerLogado().getCondominio())) {
+						((PessoaJuridica) entidade).getCnpj(), contextoUsuario.getCondominio())) {
 					validacao.rejectValue("cnpj", "Unique");
 				}
 			}
@@ -107,13 +107,13 @@ public class PessoaServiceImpl implements PessoaService {
 			if (entidade instanceof PessoaFisica) {
 				if (((PessoaFisica) entidade).getCpf() != null
 						&& pessoaFisicaDao.existsByCpfAndCondominioAndIdPessoaNot(((PessoaFisica) entidade).getCpf(),
-								usuarioService.lerLogado().getCondominio(), entidade.getIdPessoa())) {
+								contextoUsuario.getCondominio(), entidade.getIdPessoa())) {
 					validacao.rejectValue("cpf", "Unique");
 				}
 			} else if (entidade instanceof PessoaJuridica) {
 				if (((PessoaJuridica) entidade).getCnpj() != null && pessoaJuridicaDao
 						.existsByCnpjAndCondominioAndIdPessoaNot(((PessoaJuridica) entidade).getCnpj(),
-								usuarioService.lerLogado().getCondominio(), entidade.getIdPessoa())) {
+								contextoUsuario.getCondominio(), entidade.getIdPessoa())) {
 					validacao.rejectValue("cnpj", "Unique");
 				}
 			}
@@ -151,7 +151,7 @@ public class PessoaServiceImpl implements PessoaService {
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public void padronizar(Pessoa entidade) {
 		if (entidade.getCondominio() == null) {
-			entidade.setCondominio(usuarioService.lerLogado().getCondominio());
+			entidade.setCondominio(contextoUsuario.getCondominio());
 		}
 		Iterator<Relacao> it = entidade.getRelacoes().iterator();
 		while (it.hasNext()) {
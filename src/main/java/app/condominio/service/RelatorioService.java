@@ -5,12 +5,15 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
+import java.util.function.BiConsumer;
 
 import app.condominio.domain.Categoria;
 import app.condominio.domain.Cobranca;
+import app.condominio.domain.Lancamento;
 import app.condominio.domain.Moradia;
 import app.condominio.domain.Movimento;
 import app.condominio.domain.Periodo;
+import app.condominio.domain.ResumoInadimplencia;
 import app.condominio.domain.Subcategoria;
 import app.condominio.domain.enums.TipoCategoria;
 
@@ -116,6 +119,24 @@ public interface RelatorioService {
 	 */
 	public BigDecimal[] saldosAposMovimentos(List<Movimento> movimentos, BigDecimal saldoInicial);
 
+	/**
+	 * @param inicio
+	 *            Data inicial para pesquisa
+	 * @param fim
+	 *            Data final para pesquisa
+	 * @param saldoInicial
+	 *            Um BigDecimal para ser considerado como saldo inicial
+	 * @param consumidor
+	 *            Recebe, em ordem de data, cada Lançamento existente em todas as
+	 *            Contas dentro das datas informadas, junto com o saldo após
+	 *            processado aquele Lançamento. Os Lançamentos são lidos do banco
+	 *            sob demanda e não ficam retidos na memória.
+	 * @return Retorna um BigDecimal com o saldo após o último Lançamento. Nunca
+	 *         retorna nulo, se não houver Lançamentos, retorna o saldo inicial.
+	 */
+	public BigDecimal percorrerLancamentosEntre(LocalDate inicio, LocalDate fim, BigDecimal saldoInicial,
+			BiConsumer<Lancamento, BigDecimal> consumidor);
+
 	/**
 	 * @param inicio
 	 *            Data inicial para pesquisa
@@ -144,6 +165,16 @@ public interface RelatorioService {
 	 */
 	public SortedMap<Moradia, List<Cobranca>> inadimplenciaAtualDetalhada();
 
+	/**
+	 * @return Retorna uma lista do tipo List{@literal <}ResumoInadimplencia{@literal
+	 *         >} com uma entrada por Moradia com Cobranças vencidas até a data
+	 *         atual: quantidade, valor original, encargos, total e vencimento mais
+	 *         antigo. Lida do resumo mantido por Moradia, sem percorrer as
+	 *         Cobranças. Nunca retorna nulo, se não houverem entradas, retorna uma
+	 *         lista vazia.
+	 */
+	public List<ResumoInadimplencia> inadimplenciaAtualPorMoradia();
+
 	/**
 	 * @param map
 	 *            Um mapa do tipo Map{@literal <}Moradia,List{@literal
@@ -186,4 +217,18 @@ public interface RelatorioService {
 	 */
 	public Map<Categoria, BigDecimal[]> somaOrcadoRealizadoCategorias(Periodo periodo);
 
+	/**
+	 * @param subcategorias
+	 *            Um mapa do tipo
+	 *            Map{@literal <}Subcategoria,BigDecimal[]{@literal >}, como o
+	 *            retornado por somaOrcadoRealizadoSubcategorias(Periodo)
+	 * @return Retorna um mapa do tipo
+	 *         Map{@literal <}Categoria,BigDecimal[]{@literal >} com os valores do
+	 *         mapa fornecido no parâmetro acumulados em cada Categoria superior da
+	 *         respectiva Subcategoria, seguindo a hierarquia das Categorias. Não
+	 *         executa consultas para somar os valores. Nunca retorna nulo, se não
+	 *         houverem entradas, retorna um mapa vazio.
+	 */
+	public Map<Categoria, BigDecimal[]> somaOrcadoRealizadoCategorias(Map<Subcategoria, BigDecimal[]> subcategorias);
+
 }
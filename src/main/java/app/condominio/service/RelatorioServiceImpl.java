@@ -5,11 +5,13 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.function.BiConsumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -19,13 +21,17 @@ import org.springframework.transaction.annotation.Transactional;
 import app.condominio.domain.Categoria;
 import app.condominio.domain.Cobranca;
 import app.condominio.domain.Conta;
+import app.condominio.domain.Lancamento;
 import app.condominio.domain.Moradia;
 import app.condominio.domain.Movimento;
-import app.condominio.domain.Orcamento;
 import app.condominio.domain.Periodo;
+import app.condominio.domain.ResumoInadimplencia;
 import app.condominio.domain.Subcategoria;
 import app.condominio.domain.enums.TipoCategoria;
 
+import io.micrometer.core.annotation.Timed;
+
+@Timed(value = "condominio.servico", description = "Tempo dos métodos de serviço")
 @Service
 @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 public class RelatorioServiceImpl implements RelatorioService {
@@ -49,7 +55,10 @@ public class RelatorioServiceImpl implements RelatorioService {
 	SubcategoriaService subcategoriaService;
 
 	@Autowired
-	CategoriaService categoriaService;
+	SaldoMensalService saldoMensalService;
+
+	@Autowired
+	InadimplenciaService inadimplenciaService;
 
 	@Override
 	public BigDecimal saldoAtualTodasContas() {
@@ -58,9 +67,13 @@ public class RelatorioServiceImpl implements RelatorioService {
 
 	@Override
 	public BigDecimal saldoInicialTodasContasEm(LocalDate data) {
-		BigDecimal saldo = contaService.saldoAtual();
-		BigDecimal[] lancamentos = receitaDespesaDesde(contaService.listar(), data);
-		return saldo.subtract(lancamentos[0]).add(lancamentos[1]);
+		// Cada Conta parte do saldo mensal fechado mais próximo, sem somar todo o
+		// histórico de lançamentos até hoje
+		BigDecimal saldo = BigDecimal.ZERO.setScale(2);
+		for (Conta conta : contaService.listar()) {
+			saldo = saldo.add(saldoMensalService.saldoInicialEm(conta, data));
+		}
+		return saldo;
 	}
 
 	@Override
@@ -88,21 +101,6 @@ public class RelatorioServiceImpl implements RelatorioService {
 		return resultado;
 	}
 
-	private BigDecimal[] receitaDespesaDesde(Collection<Conta> contas, LocalDate inicio) {
-		BigDecimal[] resultado = new BigDecimal[2];
-		if (!contas.isEmpty()) {
-			resultado[0] = movimentoService.somaLancamentosDesde(contas, inicio, Boolean.FALSE);
-			resultado[1] = movimentoService.somaLancamentosDesde(contas, inicio, Boolean.TRUE);
-		}
-		if (resultado[0] == null) {
-			resultado[0] = BigDecimal.ZERO.setScale(2);
-		}
-		if (resultado[1] == null) {
-			resultado[1] = BigDecimal.ZERO.setScale(2);
-		}
-		return resultado;
-	}
-
 	@Override
 	public BigDecimal[] receitaDespesaMesAtual() {
 		List<Conta> contas = contaService.listar();
@@ -160,6 +158,22 @@ public class RelatorioServiceImpl implements RelatorioService {
 		return new ArrayList<>();
 	}
 
+	@Override
+	public BigDecimal percorrerLancamentosEntre(LocalDate inicio, LocalDate fim, BigDecimal saldoInicial,
+			BiConsumer<Lancamento, BigDecimal> consumidor) {
+		// Vetor de uma posição para o saldo poder ser alterado dentro do lambda
+		BigDecimal[] saldo = { saldoInicial != null ? saldoInicial : BigDecimal.ZERO.setScale(2) };
+		movimentoService.percorrerLancamentosEntre(contaService.listar(), inicio, fim, lancamento -> {
+			if (lancamento.getReducao()) {
+				saldo[0] = saldo[0].subtract(lancamento.getValor());
+			} else {
+				saldo[0] = saldo[0].add(lancamento.getValor());
+			}
+			consumidor.accept(lancamento, saldo[0]);
+		});
+		return saldo[0];
+	}
+
 	@Override
 	public BigDecimal[] saldosAposMovimentos(List<Movimento> movimentos, BigDecimal saldoInicial) {
 		if (saldoInicial == null) {
@@ -205,10 +219,11 @@ public class RelatorioServiceImpl implements RelatorioService {
 			} else {
 				return map;
 			}
-			for (Subcategoria subcategoria : subcategorias) {
-				BigDecimal soma = movimentoService.somaLancamentosEntre(contas, inicio, fim, subcategoria);
-				if (soma != null && soma.compareTo(BigDecimal.ZERO) != 0) {
-					map.put(subcategoria, soma);
+			Map<Subcategoria, BigDecimal> somas = movimentoService.somaLancamentosEntre(contas, inicio, fim,
+					subcategorias);
+			for (Map.Entry<Subcategoria, BigDecimal> soma : somas.entrySet()) {
+				if (soma.getValue() != null && soma.getValue().compareTo(BigDecimal.ZERO) != 0) {
+					map.put(soma.getKey(), soma.getValue());
 				}
 			}
 		}
@@ -232,6 +247,11 @@ public class RelatorioServiceImpl implements RelatorioService {
 		return map;
 	}
 
+	@Override
+	public List<ResumoInadimplencia> inadimplenciaAtualPorMoradia() {
+		return inadimplenciaService.listar();
+	}
+
 	@Override
 	public Map<Moradia, BigDecimal> somaCobrancas(Map<Moradia, List<Cobranca>> map) {
 		Map<Moradia, BigDecimal> mapa = new HashMap<>();
@@ -252,12 +272,17 @@ public class RelatorioServiceImpl implements RelatorioService {
 		Map<Subcategoria, BigDecimal[]> mapa = new HashMap<>();
 		List<Conta> contas = contaService.listar();
 		if (periodo != null && !contas.isEmpty()) {
-			for (Subcategoria subcategoria : subcategoriaService.listar()) {
-				Orcamento orcamento = orcamentoService.ler(periodo, subcategoria);
-				BigDecimal realizado = movimentoService.somaLancamentosPeriodo(contas, periodo, subcategoria);
+			List<Subcategoria> subcategorias = subcategoriaService.listar();
+			// Duas consultas agrupadas para todas as Subcategorias do Período
+			Map<Subcategoria, BigDecimal> orcados = orcamentoService.somaOrcamentos(periodo, subcategorias);
+			Map<Subcategoria, BigDecimal> realizados = movimentoService.somaLancamentosPeriodo(contas, periodo,
+					subcategorias);
+			for (Subcategoria subcategoria : subcategorias) {
+				BigDecimal orcado = orcados.get(subcategoria);
+				BigDecimal realizado = realizados.get(subcategoria);
 				BigDecimal[] valores = new BigDecimal[2];
-				if (orcamento != null) {
-					valores[0] = orcamento.getOrcado();
+				if (orcado != null) {
+					valores[0] = orcado;
 				} else {
 					valores[0] = BigDecimal.ZERO.setScale(2);
 				}
@@ -276,26 +301,26 @@ public class RelatorioServiceImpl implements RelatorioService {
 
 	@Override
 	public Map<Categoria, BigDecimal[]> somaOrcadoRealizadoCategorias(Periodo periodo) {
-		Map<Categoria, BigDecimal[]> mapa = new HashMap<>();
-		List<Conta> contas = contaService.listar();
-		if (periodo != null && !contas.isEmpty()) {
-			for (Categoria categoria : categoriaService.listar()) {
-				BigDecimal orcado = orcamentoService.somaOrcamentos(periodo, categoria);
-				BigDecimal realizado = movimentoService.somaLancamentosPeriodo(contas, periodo, categoria);
-				BigDecimal[] valores = new BigDecimal[2];
-				if (orcado != null) {
-					valores[0] = orcado;
-				} else {
-					valores[0] = BigDecimal.ZERO.setScale(2);
-				}
-				if (realizado != null) {
-					valores[1] = realizado;
-				} else {
-					valores[1] = BigDecimal.ZERO.setScale(2);
-				}
-				if (valores[0].compareTo(BigDecimal.ZERO) != 0 || valores[1].compareTo(BigDecimal.ZERO) != 0) {
+		return somaOrcadoRealizadoCategorias(somaOrcadoRealizadoSubcategorias(periodo));
+	}
+
+	@Override
+	public Map<Categoria, BigDecimal[]> somaOrcadoRealizadoCategorias(Map<Subcategoria, BigDecimal[]> subcategorias) {
+		// Categoria.hashCode() é constante, o que faria de um HashMap uma lista;
+		// a ordem pelo id é a mesma identidade do equals
+		Map<Categoria, BigDecimal[]> mapa = new TreeMap<>(Comparator.comparing(Categoria::getIdCategoria));
+		for (Map.Entry<Subcategoria, BigDecimal[]> entrada : subcategorias.entrySet()) {
+			// Acumula os valores da Subcategoria em todas as Categorias acima dela
+			Categoria categoria = entrada.getKey().getCategoriaPai();
+			while (categoria != null) {
+				BigDecimal[] valores = mapa.get(categoria);
+				if (valores == null) {
+					valores = new BigDecimal[] { BigDecimal.ZERO.setScale(2), BigDecimal.ZERO.setScale(2) };
 					mapa.put(categoria, valores);
 				}
+				valores[0] = valores[0].add(entrada.getValue()[0]);
+				valores[1] = valores[1].add(entrada.getValue()[1]);
+				categoria = categoria.getCategoriaPai();
 			}
 		}
 		return mapa;
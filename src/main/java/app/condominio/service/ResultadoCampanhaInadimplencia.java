@@ -0,0 +1,92 @@
+package app.condominio.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo de uma campanha de lembretes de inadimplência: quantas Moradias
+ * tinham Cobranças vencidas, quantos e-mails foram para a caixa de saída e
+ * quando o envio deve terminar.
+ */
+public class ResultadoCampanhaInadimplencia {
+
+	private String origem;
+
+	private boolean repetida;
+
+	private int moradias;
+
+	private int emails;
+
+	private BigDecimal valorTotal = BigDecimal.ZERO.setScale(2);
+
+	private long milissegundos;
+
+	private LocalDateTime previsaoTermino;
+
+	private List<String> semEmail = new ArrayList<>();
+
+	public ResultadoCampanhaInadimplencia(String origem) {
+		this.origem = origem;
+	}
+
+	public void moradia(BigDecimal valor) {
+		moradias++;
+		valorTotal = valorTotal.add(valor);
+	}
+
+	public void email() {
+		emails++;
+	}
+
+	public void semEmail(String moradia) {
+		semEmail.add(moradia);
+	}
+
+	public String getOrigem() {
+		return origem;
+	}
+
+	public boolean isRepetida() {
+		return repetida;
+	}
+
+	public void setRepetida(boolean repetida) {
+		this.repetida = repetida;
+	}
+
+	public int getMoradias() {
+		return moradias;
+	}
+
+	public int getEmails() {
+		return emails;
+	}
+
+	public BigDecimal getValorTotal() {
+		return valorTotal;
+	}
+
+	public long getMilissegundos() {
+		return milissegundos;
+	}
+
+	public void setMilissegundos(long milissegundos) {
+		this.milissegundos = milissegundos;
+	}
+
+	public LocalDateTime getPrevisaoTermino() {
+		return previsaoTermino;
+	}
+
+	public void setPrevisaoTermino(LocalDateTime previsaoTermino) {
+		this.previsaoTermino = previsaoTermino;
+	}
+
+	public List<String> getSemEmail() {
+		return semEmail;
+	}
+
+}
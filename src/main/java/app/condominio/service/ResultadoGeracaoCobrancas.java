@@ -0,0 +1,100 @@
+package app.condominio.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo de uma geração mensal de Cobranças: quantas Moradias foram
+ * consideradas, quantas Cobranças foram criadas e quantas já existiam para o
+ * mês de referência.
+ */
+public class ResultadoGeracaoCobrancas {
+
+	private String numero;
+
+	private int moradias;
+
+	private int geradas;
+
+	private int existentes;
+
+	private BigDecimal valorTotal = BigDecimal.ZERO.setScale(2);
+
+	private long milissegundos;
+
+	private boolean concorrente;
+
+	private List<String> semFracaoIdeal = new ArrayList<>();
+
+	public ResultadoGeracaoCobrancas(String numero) {
+		this.numero = numero;
+	}
+
+	public void moradia() {
+		moradias++;
+	}
+
+	public void gerada(BigDecimal valor) {
+		geradas++;
+		valorTotal = valorTotal.add(valor);
+	}
+
+	public void existente() {
+		existentes++;
+	}
+
+	/**
+	 * Outra geração do mesmo mês foi gravada ao mesmo tempo; esta é desfeita.
+	 */
+	public void concorrente() {
+		concorrente = true;
+		geradas = 0;
+		valorTotal = BigDecimal.ZERO.setScale(2);
+	}
+
+	public void semFracaoIdeal(String moradia) {
+		semFracaoIdeal.add(moradia);
+	}
+
+	public long getCobrancasPorSegundo() {
+		return milissegundos > 0 ? geradas * 1000L / milissegundos : geradas;
+	}
+
+	public String getNumero() {
+		return numero;
+	}
+
+	public int getMoradias() {
+		return moradias;
+	}
+
+	public int getGeradas() {
+		return geradas;
+	}
+
+	public int getExistentes() {
+		return existentes;
+	}
+
+	public BigDecimal getValorTotal() {
+		return valorTotal;
+	}
+
+	public long getMilissegundos() {
+		return milissegundos;
+	}
+
+	public void setMilissegundos(long milissegundos) {
+		this.milissegundos = milissegundos;
+	}
+
+	public boolean isConcorrente() {
+		return concorrente;
+	}
+
+	public List<String> getSemFracaoIdeal() {
+		return semFracaoIdeal;
+	}
+
+}
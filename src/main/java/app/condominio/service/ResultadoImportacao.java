@@ -0,0 +1,84 @@
+package app.condominio.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo de uma importação de extrato: quantas linhas foram lidas, gravadas,
+ * descartadas por já existirem e rejeitadas, com o motivo de cada rejeição.
+ */
+public class ResultadoImportacao {
+
+	private static final int MAXIMO_MENSAGENS = 100;
+
+	private int lidas;
+
+	private int importadas;
+
+	private int duplicadas;
+
+	private int rejeitadas;
+
+	private long milissegundos;
+
+	private List<String> mensagens = new ArrayList<>();
+
+	public void lida() {
+		lidas++;
+	}
+
+	public void importadas(int quantidade) {
+		importadas += quantidade;
+	}
+
+	public void duplicada() {
+		duplicadas++;
+	}
+
+	public void rejeitada(int linha, String motivo) {
+		rejeitadas++;
+		// Um arquivo inteiro inválido não deve gerar milhares de mensagens na tela
+		if (mensagens.size() < MAXIMO_MENSAGENS) {
+			mensagens.add("Linha " + linha + ": " + motivo);
+		} else if (mensagens.size() == MAXIMO_MENSAGENS) {
+			mensagens.add("Há outras linhas rejeitadas.");
+		}
+	}
+
+	public void erro(String mensagem) {
+		mensagens.add(0, mensagem);
+	}
+
+	public long getLinhasPorSegundo() {
+		return milissegundos > 0 ? lidas * 1000L / milissegundos : lidas;
+	}
+
+	public int getLidas() {
+		return lidas;
+	}
+
+	public int getImportadas() {
+		return importadas;
+	}
+
+	public int getDuplicadas() {
+		return duplicadas;
+	}
+
+	public int getRejeitadas() {
+		return rejeitadas;
+	}
+
+	public long getMilissegundos() {
+		return milissegundos;
+	}
+
+	public void setMilissegundos(long milissegundos) {
+		this.milissegundos = milissegundos;
+	}
+
+	public List<String> getMensagens() {
+		return mensagens;
+	}
+
+}
@@ -0,0 +1,222 @@
+package app.condominio.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resumo do processamento de um arquivo de retorno do banco: quantos títulos
+ * foram lidos, baixados, ignorados (ocorrências que não são liquidação) e
+ * rejeitados, e a conciliação linha a linha, com a Cobrança encontrada ou o
+ * motivo da rejeição.
+ */
+public class ResultadoRetorno {
+
+	private static final int MAXIMO_MENSAGENS = 100;
+
+	private String formato;
+
+	private int lidas;
+
+	private int baixadas;
+
+	private int divergentes;
+
+	private int ignoradas;
+
+	private int rejeitadas;
+
+	private BigDecimal valorRecebido = BigDecimal.ZERO.setScale(2);
+
+	private BigDecimal tarifas = BigDecimal.ZERO.setScale(2);
+
+	private long milissegundos;
+
+	private List<String> mensagens = new ArrayList<>();
+
+	private List<String> erros = new ArrayList<>();
+
+	private List<Linha> linhas = new ArrayList<>();
+
+	public void lida() {
+		lidas++;
+	}
+
+	public void baixada(int linha, String documento, String ocorrencia, String cobranca, BigDecimal valorPago,
+			BigDecimal tarifa, String divergencia) {
+		baixadas++;
+		valorRecebido = valorRecebido.add(valorPago);
+		if (tarifa != null) {
+			tarifas = tarifas.add(tarifa);
+		}
+		if (divergencia != null) {
+			divergentes++;
+			mensagem("Linha " + linha + ": " + divergencia);
+		}
+		linhas.add(new Linha(linha, documento, ocorrencia, "Baixada", cobranca, valorPago, tarifa, divergencia));
+	}
+
+	public void ignorada(int linha, String documento, String ocorrencia) {
+		ignoradas++;
+		linhas.add(new Linha(linha, documento, ocorrencia, "Ignorada", null, null, null,
+				"ocorrência " + ocorrencia + " não é liquidação"));
+	}
+
+	public void rejeitada(int linha, String documento, String ocorrencia, BigDecimal valorPago, String motivo) {
+		rejeitadas++;
+		mensagem("Linha " + linha + ": " + motivo);
+		linhas.add(new Linha(linha, documento, ocorrencia, "Rejeitada", null, valorPago, null, motivo));
+	}
+
+	/**
+	 * Coloca a conciliação na ordem do arquivo: os títulos baixados só entram
+	 * quando o lote é gravado, depois dos ignorados e rejeitados que os seguem.
+	 */
+	public void ordenar() {
+		linhas.sort(Comparator.comparingInt(Linha::getNumero));
+	}
+
+	public void erro(String mensagem) {
+		erros.add(mensagem);
+		mensagens.add(0, mensagem);
+	}
+
+	// Um arquivo inteiro inválido não deve gerar milhares de mensagens na tela; a
+	// conciliação completa fica em getLinhas()
+	private void mensagem(String mensagem) {
+		if (mensagens.size() < MAXIMO_MENSAGENS) {
+			mensagens.add(mensagem);
+		} else if (mensagens.size() == MAXIMO_MENSAGENS) {
+			mensagens.add("Há outras linhas rejeitadas ou divergentes.");
+		}
+	}
+
+	public long getLinhasPorSegundo() {
+		return milissegundos > 0 ? lidas * 1000L / milissegundos : lidas;
+	}
+
+	public String getFormato() {
+		return formato;
+	}
+
+	public void setFormato(String formato) {
+		this.formato = formato;
+	}
+
+	public int getLidas() {
+		return lidas;
+	}
+
+	public int getBaixadas() {
+		return baixadas;
+	}
+
+	public int getDivergentes() {
+		return divergentes;
+	}
+
+	public int getIgnoradas() {
+		return ignoradas;
+	}
+
+	public int getRejeitadas() {
+		return rejeitadas;
+	}
+
+	public BigDecimal getValorRecebido() {
+		return valorRecebido;
+	}
+
+	public BigDecimal getTarifas() {
+		return tarifas;
+	}
+
+	public long getMilissegundos() {
+		return milissegundos;
+	}
+
+	public void setMilissegundos(long milissegundos) {
+		this.milissegundos = milissegundos;
+	}
+
+	public List<String> getMensagens() {
+		return mensagens;
+	}
+
+	public List<String> getErros() {
+		return erros;
+	}
+
+	public List<Linha> getLinhas() {
+		return linhas;
+	}
+
+	/**
+	 * Conciliação de um título do arquivo de retorno.
+	 */
+	public static class Linha {
+
+		private final int numero;
+
+		private final String documento;
+
+		private final String ocorrencia;
+
+		private final String situacao;
+
+		private final String cobranca;
+
+		private final BigDecimal valorPago;
+
+		private final BigDecimal tarifa;
+
+		private final String observacao;
+
+		private Linha(int numero, String documento, String ocorrencia, String situacao, String cobranca,
+				BigDecimal valorPago, BigDecimal tarifa, String observacao) {
+			this.numero = numero;
+			this.documento = documento;
+			this.ocorrencia = ocorrencia;
+			this.situacao = situacao;
+			this.cobranca = cobranca;
+			this.valorPago = valorPago;
+			this.tarifa = tarifa;
+			this.observacao = observacao;
+		}
+
+		public int getNumero() {
+			return numero;
+		}
+
+		public String getDocumento() {
+			return documento;
+		}
+
+		public String getOcorrencia() {
+			return ocorrencia;
+		}
+
+		public String getSituacao() {
+			return situacao;
+		}
+
+		public String getCobranca() {
+			return cobranca;
+		}
+
+		public BigDecimal getValorPago() {
+			return valorPago;
+		}
+
+		public BigDecimal getTarifa() {
+			return tarifa;
+		}
+
+		public String getObservacao() {
+			return observacao;
+		}
+
+	}
+
+}
@@ -0,0 +1,39 @@
+package app.condominio.service;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import app.condominio.domain.Conta;
+import app.condominio.domain.Subcategoria;
+
+public interface RetornoBancarioService {
+
+	/**
+	 * Baixa as Cobranças liquidadas informadas no arquivo de retorno do banco e
+	 * gera os Lançamentos dos recebimentos, tudo em lotes. Cada título é
+	 * localizado entre as Cobranças em aberto do Condomínio pelo número do
+	 * documento ("seu número"), no formato número, número/parcela ou
+	 * número-parcela; havendo mais de uma, desempata pelo valor do título e pelo
+	 * vencimento.
+	 *
+	 * @param arquivo
+	 *            O arquivo de retorno de cobrança, no padrão CNAB 240 (FEBRABAN,
+	 *            segmentos T e U) ou CNAB 400. É lido como fluxo, sem carregar o
+	 *            arquivo inteiro em memória.
+	 * @param codificacao
+	 *            A codificação de caracteres do arquivo
+	 * @param conta
+	 *            A Conta em que o banco credita os recebimentos
+	 * @param receita
+	 *            A Subcategoria dos Lançamentos de recebimento
+	 * @param tarifas
+	 *            A Subcategoria dos Lançamentos das tarifas do banco, somadas por
+	 *            data de crédito, ou nulo para apenas registrá-las nas Cobranças
+	 * @return Retorna o resumo do processamento com a conciliação de cada título.
+	 *         Títulos sem Cobrança em aberto, sem período ou em período encerrado
+	 *         são rejeitados; ocorrências que não são liquidação são ignoradas.
+	 */
+	public ResultadoRetorno processar(InputStream arquivo, Charset codificacao, Conta conta, Subcategoria receita,
+			Subcategoria tarifas);
+
+}
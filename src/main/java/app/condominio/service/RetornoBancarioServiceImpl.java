@@ -0,0 +1,492 @@
+package app.condominio.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.condominio.dao.CobrancaDao;
+import app.condominio.dao.GravadorCobrancas;
+import app.condominio.dao.GravadorLancamentos;
+import app.condominio.domain.Baixa;
+import app.condominio.domain.Condominio;
+import app.condominio.domain.Conta;
+import app.condominio.domain.Lancamento;
+import app.condominio.domain.Periodo;
+import app.condominio.domain.Subcategoria;
+import app.condominio.domain.enums.TipoCategoria;
+
+@Service
+@Transactional
+public class RetornoBancarioServiceImpl implements RetornoBancarioService {
+
+	private static final int LINHAS_POR_LOTE = 1000;
+
+	private static final DateTimeFormatter DATA_CNAB_400 = DateTimeFormatter.ofPattern("ddMMyy");
+
+	private static final DateTimeFormatter DATA_CNAB_240 = DateTimeFormatter.ofPattern("ddMMyyyy");
+
+	// Entrada confirmada, baixa e demais ocorrências não são recebimento
+	private static final Set<String> LIQUIDACAO_400 = new HashSet<>(Arrays.asList("06", "15", "17"));
+
+	private static final Set<String> LIQUIDACAO_240 = new HashSet<>(Arrays.asList("06", "17"));
+
+	@Autowired
+	private CobrancaDao cobrancaDao;
+
+	@Autowired
+	private GravadorCobrancas gravadorCobrancas;
+
+	@Autowired
+	private GravadorLancamentos gravadorLancamentos;
+
+	@Autowired
+	private PeriodoService periodoService;
+
+	@Autowired
+	private SaldoContaService saldoContaService;
+
+	@Autowired
+	private SaldoMensalService saldoMensalService;
+
+	@Autowired
+	private InadimplenciaService inadimplenciaService;
+
+	@Autowired
+	private ContextoUsuario contextoUsuario;
+
+	@Autowired
+	private ApplicationEventPublisher publicador;
+
+	@Override
+	public ResultadoRetorno processar(InputStream arquivo, Charset codificacao, Conta conta, Subcategoria receita,
+			Subcategoria tarifas) {
+		long inicio = System.currentTimeMillis();
+		Condominio condominio = contextoUsuario.getCondominio();
+		Processamento processamento = new Processamento(condominio, conta, receita, tarifas);
+		try (BufferedReader leitor = new BufferedReader(new InputStreamReader(arquivo, codificacao))) {
+			String cabecalho = leitor.readLine();
+			if (cabecalho == null) {
+				processamento.resultado.erro("O arquivo está vazio.");
+			} else if (cabecalho.startsWith("02RETORNO") || cabecalho.length() > 300) {
+				processamento.resultado.setFormato("CNAB 400");
+				lerCnab400(leitor, processamento);
+			} else if (cabecalho.length() > 7 && cabecalho.charAt(7) == '0') {
+				processamento.resultado.setFormato("CNAB 240");
+				lerCnab240(leitor, processamento);
+			} else {
+				processamento.resultado.erro("O arquivo não é um retorno de cobrança CNAB 240 ou CNAB 400.");
+			}
+		} catch (IOException e) {
+			processamento.resultado.erro("Não foi possível ler o arquivo: " + e.getMessage());
+		}
+		processamento.gravarLote();
+		processamento.lancarTarifas();
+		processamento.registrarSaldos();
+		processamento.resultado.ordenar();
+		if (processamento.resultado.getBaixadas() > 0) {
+			inadimplenciaService.recalcular(condominio);
+			publicador.publishEvent(new AlteracaoFinanceira(condominio));
+		}
+		processamento.resultado.setMilissegundos(System.currentTimeMillis() - inicio);
+		return processamento.resultado;
+	}
+
+	private void lerCnab400(BufferedReader leitor, Processamento processamento) throws IOException {
+		// O cabeçalho já foi lido: a primeira linha de detalhe é a segunda do arquivo
+		int numero = 1;
+		String linha;
+		while ((linha = leitor.readLine()) != null) {
+			numero++;
+			if (!linha.startsWith("1")) {
+				continue;
+			}
+			String ocorrencia = campo(linha, 109, 110);
+			String documento = campo(linha, 117, 126);
+			if (!LIQUIDACAO_400.contains(ocorrencia)) {
+				processamento.resultado.lida();
+				processamento.resultado.ignorada(numero, documento, ocorrencia);
+				continue;
+			}
+			processamento.adicionar(numero, documento, ocorrencia, lerData(campo(linha, 147, 152), DATA_CNAB_400),
+					lerValor(campo(linha, 153, 165)), lerValor(campo(linha, 254, 266)),
+					lerValor(campo(linha, 176, 188)), lerData(campo(linha, 111, 116), DATA_CNAB_400),
+					lerData(campo(linha, 296, 301), DATA_CNAB_400));
+		}
+	}
+
+	private void lerCnab240(BufferedReader leitor, Processamento processamento) throws IOException {
+		// Cada título ocupa um segmento T (dados do título) seguido de um segmento U
+		// (valores pagos e datas)
+		int numero = 1;
+		int numeroT = 0;
+		String segmentoT = null;
+		String linha;
+		while ((linha = leitor.readLine()) != null) {
+			numero++;
+			if (linha.length() < 14 || linha.charAt(7) != '3') {
+				continue;
+			}
+			char segmento = linha.charAt(13);
+			if (segmento == 'T') {
+				if (segmentoT != null) {
+					rejeitarSemSegmentoU(numeroT, segmentoT, processamento);
+				}
+				segmentoT = linha;
+				numeroT = numero;
+			} else if (segmento == 'U' && segmentoT != null) {
+				String ocorrencia = campo(segmentoT, 16, 17);
+				String documento = campo(segmentoT, 59, 73);
+				if (!LIQUIDACAO_240.contains(ocorrencia)) {
+					processamento.resultado.lida();
+					processamento.resultado.ignorada(numeroT, documento, ocorrencia);
+				} else {
+					processamento.adicionar(numeroT, documento, ocorrencia,
+							lerData(campo(segmentoT, 74, 81), DATA_CNAB_240), lerValor(campo(segmentoT, 82, 96)),
+							lerValor(campo(linha, 78, 92)), lerValor(campo(segmentoT, 199, 213)),
+							lerData(campo(linha, 138, 145), DATA_CNAB_240),
+							lerData(campo(linha, 146, 153), DATA_CNAB_240));
+				}
+				segmentoT = null;
+			}
+		}
+		if (segmentoT != null) {
+			rejeitarSemSegmentoU(numeroT, segmentoT, processamento);
+		}
+	}
+
+	private void rejeitarSemSegmentoU(int numero, String segmentoT, Processamento processamento) {
+		processamento.resultado.lida();
+		processamento.resultado.rejeitada(numero, campo(segmentoT, 59, 73), campo(segmentoT, 16, 17), null,
+				"segmento T sem o segmento U correspondente");
+	}
+
+	/**
+	 * @return Retorna o conteúdo entre as posições inicial e final, contadas a
+	 *         partir de 1 e inclusivas, como nos leiautes dos bancos, sem os
+	 *         espaços das pontas. Linhas mais curtas que o leiaute (espaços finais
+	 *         removidos) são completadas com vazio.
+	 */
+	private static String campo(String linha, int inicial, int fim) {
+		if (linha.length() < inicial) {
+			return "";
+		}
+		return linha.substring(inicial - 1, Math.min(fim, linha.length())).trim();
+	}
+
+	private static LocalDate lerData(String data, DateTimeFormatter formato) {
+		if (data.isEmpty() || data.chars().allMatch(c -> c == '0')) {
+			return null;
+		}
+		try {
+			return LocalDate.parse(data, formato);
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	// Valores sem separador, com duas casas decimais implícitas
+	private static BigDecimal lerValor(String valor) {
+		if (valor.isEmpty() || !valor.chars().allMatch(Character::isDigit)) {
+			return null;
+		}
+		return new BigDecimal(new BigInteger(valor), 2);
+	}
+
+	private static String semZerosAEsquerda(String texto) {
+		return texto.replaceFirst("^0+(?=.)", "");
+	}
+
+	private static String truncar(String texto, int tamanho) {
+		if (texto == null || texto.isEmpty()) {
+			return null;
+		}
+		return texto.length() > tamanho ? texto.substring(0, tamanho) : texto;
+	}
+
+	/**
+	 * Cobrança em aberto, com o necessário para localizá-la e descrevê-la.
+	 */
+	private static class Aberta {
+
+		private final Long idCobranca;
+
+		private final String parcela;
+
+		private final BigDecimal valor;
+
+		private final BigDecimal total;
+
+		private final LocalDate vencimento;
+
+		private final String descricao;
+
+		private Aberta(Object[] linha) {
+			idCobranca = (Long) linha[0];
+			parcela = linha[2] == null ? "" : semZerosAEsquerda(((String) linha[2]).trim());
+			valor = (BigDecimal) linha[3];
+			total = (BigDecimal) linha[4];
+			vencimento = (LocalDate) linha[5];
+			descricao = linha[1] + (linha[2] == null ? "" : "/" + linha[2]) + " (" + linha[6] + " - " + linha[7]
+					+ ")";
+		}
+
+	}
+
+	/**
+	 * Título liquidado aguardando a baixa do lote, com o Lançamento do
+	 * recebimento a gravar se a Cobrança for de fato baixada.
+	 */
+	private static class Titulo {
+
+		private final int numero;
+
+		private final String documento;
+
+		private final String ocorrencia;
+
+		private final String cobranca;
+
+		private final BigDecimal tarifa;
+
+		private final String divergencia;
+
+		private final Lancamento lancamento;
+
+		private Titulo(int numero, String documento, String ocorrencia, String cobranca, BigDecimal tarifa,
+				String divergencia, Lancamento lancamento) {
+			this.numero = numero;
+			this.documento = documento;
+			this.ocorrencia = ocorrencia;
+			this.cobranca = cobranca;
+			this.tarifa = tarifa;
+			this.divergencia = divergencia;
+			this.lancamento = lancamento;
+		}
+
+	}
+
+	/**
+	 * Estado de um processamento: as Cobranças em aberto indexadas pelo número,
+	 * as baixas e Lançamentos do lote atual, os Períodos já resolvidos por data e
+	 * os valores a somar nos saldos da Conta.
+	 */
+	private class Processamento {
+
+		private final Conta conta;
+
+		private final Subcategoria receita;
+
+		private final Subcategoria tarifas;
+
+		private final List<Periodo> periodos;
+
+		private final Map<LocalDate, Periodo> periodoPorData = new HashMap<>();
+
+		private final Map<String, List<Aberta>> abertasPorNumero = new HashMap<>();
+
+		private final Map<YearMonth, BigDecimal> saldoPorMes = new TreeMap<>();
+
+		private final Map<LocalDate, BigDecimal> tarifaPorData = new TreeMap<>();
+
+		private final List<Baixa> baixas = new ArrayList<>();
+
+		private final List<Titulo> titulos = new ArrayList<>();
+
+		private final ResultadoRetorno resultado = new ResultadoRetorno();
+
+		private Processamento(Condominio condominio, Conta conta, Subcategoria receita, Subcategoria tarifas) {
+			this.conta = conta;
+			this.receita = receita;
+			this.tarifas = tarifas;
+			// As Cobranças em aberto e os Períodos são lidos uma única vez e
+			// resolvidos em memória
+			this.periodos = periodoService.listar();
+			for (Object[] linha : cobrancaDao.findAbertasByCondominio(condominio)) {
+				abertasPorNumero.computeIfAbsent(semZerosAEsquerda(((String) linha[1]).trim()),
+						n -> new ArrayList<>()).add(new Aberta(linha));
+			}
+		}
+
+		private void adicionar(int numero, String documento, String ocorrencia, LocalDate vencimento,
+				BigDecimal valorTitulo, BigDecimal valorPago, BigDecimal tarifa, LocalDate dataOcorrencia,
+				LocalDate dataCredito) {
+			resultado.lida();
+			LocalDate data = dataCredito != null ? dataCredito : dataOcorrencia;
+			if (data == null) {
+				resultado.rejeitada(numero, documento, ocorrencia, valorPago, "data de crédito inválida");
+				return;
+			}
+			if (valorPago == null || valorPago.signum() == 0) {
+				resultado.rejeitada(numero, documento, ocorrencia, valorPago, "valor pago inválido");
+				return;
+			}
+			Periodo periodo = periodo(data);
+			if (periodo == null) {
+				resultado.rejeitada(numero, documento, ocorrencia, valorPago, "não há período cadastrado para a data");
+				return;
+			}
+			if (Boolean.TRUE.equals(periodo.getEncerrado())) {
+				resultado.rejeitada(numero, documento, ocorrencia, valorPago, "o período da data está encerrado");
+				return;
+			}
+			String[] numeroParcela = numeroParcela(documento);
+			List<Aberta> candidatas = abertasPorNumero.get(numeroParcela[0]);
+			Aberta cobranca = localizar(candidatas, numeroParcela[1], valorTitulo, vencimento);
+			if (cobranca == null) {
+				resultado.rejeitada(numero, documento, ocorrencia, valorPago,
+						candidatas == null || candidatas.isEmpty() ? "não há cobrança em aberto com o número"
+								: "não foi possível identificar a cobrança entre as em aberto com o número");
+				return;
+			}
+			// Um título repetido no arquivo não é baixado duas vezes
+			candidatas.remove(cobranca);
+
+			Lancamento lancamento = new Lancamento();
+			lancamento.setData(data);
+			lancamento.setValor(valorPago);
+			lancamento.setDocumento(truncar(documento, 20));
+			lancamento.setDescricao(truncar("Recebimento da cobrança " + cobranca.descricao, 255));
+			lancamento.setConta(conta);
+			lancamento.setPeriodo(periodo);
+			lancamento.setSubcategoria(receita);
+			lancamento.setReducao(false);
+			String divergencia = valorPago.compareTo(cobranca.total) < 0
+					? "valor pago R$ " + valorPago + " menor que o total da cobrança R$ " + cobranca.total
+					: null;
+			baixas.add(new Baixa(cobranca.idCobranca, dataOcorrencia != null ? dataOcorrencia : data, valorPago,
+					tarifa));
+			titulos.add(new Titulo(numero, documento, ocorrencia, cobranca.descricao, tarifa, divergencia,
+					lancamento));
+			if (baixas.size() >= LINHAS_POR_LOTE) {
+				gravarLote();
+			}
+		}
+
+		// Cobranças mensais de um mesmo número diferem pela parcela; sem parcela no
+		// documento, desempata pelo valor do título e depois pelo vencimento
+		private Aberta localizar(List<Aberta> candidatas, String parcela, BigDecimal valorTitulo,
+				LocalDate vencimento) {
+			if (candidatas == null || candidatas.isEmpty()) {
+				return null;
+			}
+			List<Aberta> restantes = new ArrayList<>(candidatas);
+			if (parcela != null) {
+				restantes.removeIf(aberta -> !aberta.parcela.equals(parcela));
+			}
+			if (restantes.size() > 1 && valorTitulo != null) {
+				restantes.removeIf(aberta -> valorTitulo.compareTo(aberta.valor) != 0
+						&& valorTitulo.compareTo(aberta.total) != 0);
+			}
+			if (restantes.size() > 1 && vencimento != null) {
+				restantes.removeIf(aberta -> !vencimento.equals(aberta.vencimento));
+			}
+			return restantes.size() == 1 ? restantes.get(0) : null;
+		}
+
+		private String[] numeroParcela(String documento) {
+			int separador = Math.max(documento.lastIndexOf('/'), documento.lastIndexOf('-'));
+			if (separador > 0 && separador < documento.length() - 1) {
+				return new String[] { semZerosAEsquerda(documento.substring(0, separador).trim()),
+						semZerosAEsquerda(documento.substring(separador + 1).trim()) };
+			}
+			return new String[] { semZerosAEsquerda(documento), null };
+		}
+
+		private Periodo periodo(LocalDate data) {
+			if (!periodoPorData.containsKey(data)) {
+				Periodo encontrado = null;
+				for (Periodo periodo : periodos) {
+					if (!data.isBefore(periodo.getInicio()) && !data.isAfter(periodo.getFim())) {
+						encontrado = periodo;
+						break;
+					}
+				}
+				periodoPorData.put(data, encontrado);
+			}
+			return periodoPorData.get(data);
+		}
+
+		private void gravarLote() {
+			// Só gera o recebimento das Cobranças que o update de fato baixou: uma
+			// recebida depois da leitura das em aberto (o mesmo arquivo enviado duas
+			// vezes ao mesmo tempo, uma baixa manual) não é lançada de novo
+			boolean[] baixadas = gravadorCobrancas.baixar(baixas);
+			List<Lancamento> recebimentos = new ArrayList<>();
+			for (int i = 0; i < titulos.size(); i++) {
+				Titulo titulo = titulos.get(i);
+				Lancamento lancamento = titulo.lancamento;
+				if (!baixadas[i]) {
+					resultado.rejeitada(titulo.numero, titulo.documento, titulo.ocorrencia, lancamento.getValor(),
+							"a cobrança " + titulo.cobranca + " foi recebida durante o processamento");
+					continue;
+				}
+				recebimentos.add(lancamento);
+				saldoPorMes.merge(YearMonth.from(lancamento.getData()), lancamento.getValor(), BigDecimal::add);
+				if (titulo.tarifa != null && titulo.tarifa.signum() > 0 && tarifas != null) {
+					tarifaPorData.merge(lancamento.getData(), titulo.tarifa, BigDecimal::add);
+				}
+				resultado.baixada(titulo.numero, titulo.documento, titulo.ocorrencia, titulo.cobranca,
+						lancamento.getValor(), titulo.tarifa, titulo.divergencia);
+			}
+			gravadorLancamentos.inserir(recebimentos);
+			baixas.clear();
+			titulos.clear();
+		}
+
+		private void lancarTarifas() {
+			// Um Lançamento por data de crédito, como aparece no extrato do banco
+			boolean reducao = tarifas != null && tarifas.getCategoriaPai().getTipo().equals(TipoCategoria.D);
+			List<Lancamento> lancamentos = new ArrayList<>();
+			for (Map.Entry<LocalDate, BigDecimal> tarifa : tarifaPorData.entrySet()) {
+				Lancamento lancamento = new Lancamento();
+				lancamento.setData(tarifa.getKey());
+				lancamento.setValor(tarifa.getValue());
+				lancamento.setDescricao("Tarifas de cobrança do retorno bancário");
+				lancamento.setConta(conta);
+				lancamento.setPeriodo(periodo(tarifa.getKey()));
+				lancamento.setSubcategoria(tarifas);
+				lancamento.setReducao(reducao);
+				lancamentos.add(lancamento);
+				saldoPorMes.merge(YearMonth.from(tarifa.getKey()),
+						reducao ? tarifa.getValue().negate() : tarifa.getValue(), BigDecimal::add);
+			}
+			tarifaPorData.clear();
+			gravadorLancamentos.inserir(lancamentos);
+		}
+
+		private void registrarSaldos() {
+			// Um registro por mês em vez de um por título baixado
+			BigDecimal total = BigDecimal.ZERO;
+			for (Map.Entry<YearMonth, BigDecimal> mes : saldoPorMes.entrySet()) {
+				saldoMensalService.registrar(conta, mes.getKey().atDay(1), mes.getValue());
+				total = total.add(mes.getValue());
+			}
+			if (total.signum() != 0) {
+				saldoContaService.registrar(conta, total);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,27 @@
+package app.condominio.service;
+
+import java.math.BigDecimal;
+
+import app.condominio.domain.Conta;
+
+public interface SaldoContaService {
+
+	/**
+	 * @param conta
+	 *            A Conta que terá o saldo atual alterado
+	 * @param valor
+	 *            O valor com sinal a ser somado ao saldo atual. Dentro de uma
+	 *            transação os valores são acumulados por Conta e gravados de uma
+	 *            só vez, com incremento atômico, imediatamente antes do commit.
+	 */
+	public void registrar(Conta conta, BigDecimal valor);
+
+	/**
+	 * Compara o saldo atual de todas as Contas com o saldo inicial somado aos
+	 * movimentos e corrige as divergências encontradas.
+	 *
+	 * @return Retorna a quantidade de Contas que estavam divergentes
+	 */
+	public int conciliar();
+
+}
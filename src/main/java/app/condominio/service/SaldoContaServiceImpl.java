@@ -0,0 +1,111 @@
+package app.condominio.service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import app.condominio.dao.ContaDao;
+import app.condominio.domain.Conta;
+
+@Service
+@Transactional
+public class SaldoContaServiceImpl implements SaldoContaService {
+
+	private static final Logger log = LoggerFactory.getLogger(SaldoContaServiceImpl.class);
+
+	// Chave dos valores pendentes da transação atual
+	private static final Object PENDENTES = SaldoContaServiceImpl.class.getName() + ".PENDENTES";
+
+	@Autowired
+	private ContaDao contaDao;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void registrar(Conta conta, BigDecimal valor) {
+		if (conta == null || valor == null || valor.compareTo(BigDecimal.ZERO) == 0) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			Map<Long, BigDecimal> unico = new TreeMap<>();
+			unico.put(conta.getIdConta(), valor);
+			aplicar(unico);
+			return;
+		}
+		Map<Long, BigDecimal> pendentes = (Map<Long, BigDecimal>) TransactionSynchronizationManager
+				.getResource(PENDENTES);
+		if (pendentes == null) {
+			// TreeMap para aplicar sempre na ordem do id e evitar deadlock entre
+			// transações que alteram as mesmas Contas
+			Map<Long, BigDecimal> novos = new TreeMap<>();
+			TransactionSynchronizationManager.bindResource(PENDENTES, novos);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void beforeCommit(boolean readOnly) {
+					aplicar(novos);
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(PENDENTES);
+				}
+			});
+			pendentes = novos;
+		}
+		pendentes.merge(conta.getIdConta(), valor, BigDecimal::add);
+	}
+
+	private void aplicar(Map<Long, BigDecimal> pendentes) {
+		for (Map.Entry<Long, BigDecimal> pendente : pendentes.entrySet()) {
+			if (pendente.getValue().compareTo(BigDecimal.ZERO) != 0) {
+				contaDao.addSaldoAtualByIdConta(pendente.getKey(), pendente.getValue());
+				atualizarContexto(pendente.getKey());
+			}
+		}
+		pendentes.clear();
+	}
+
+	// O update em massa não passa pelo contexto de persistência, então a Conta
+	// já carregada nesta sessão é relida para não ficar com saldo antigo
+	private void atualizarContexto(Long idConta) {
+		Conta conta = entityManager.getReference(Conta.class, idConta);
+		if (entityManager.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(conta)) {
+			entityManager.refresh(conta);
+		}
+	}
+
+	@Override
+	@Scheduled(cron = "${condominio.saldos.conciliacao:0 30 3 * * *}")
+	public int conciliar() {
+		int divergentes = 0;
+		for (Object[] saldo : contaDao.findSaldoAtualAndSaldoCalculado()) {
+			Long idConta = (Long) saldo[0];
+			BigDecimal atual = saldo[1] != null ? (BigDecimal) saldo[1] : BigDecimal.ZERO;
+			BigDecimal calculado = (BigDecimal) saldo[2];
+			if (atual.compareTo(calculado) != 0) {
+				divergentes++;
+				log.warn("Saldo da conta {} divergente: atual {}, calculado {}. Corrigindo.", idConta, atual,
+						calculado);
+				contaDao.addSaldoAtualByIdConta(idConta, calculado.subtract(atual));
+				atualizarContexto(idConta);
+			}
+		}
+		log.info("Conciliação de saldos concluída: {} contas divergentes", divergentes);
+		return divergentes;
+	}
+
+}
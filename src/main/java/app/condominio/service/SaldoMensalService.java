@@ -0,0 +1,64 @@
+package app.condominio.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import app.condominio.domain.Conta;
+
+public interface SaldoMensalService {
+
+	/**
+	 * @param conta
+	 *            A Conta que recebeu o movimento
+	 * @param data
+	 *            A data do movimento
+	 * @param valor
+	 *            O valor do movimento com sinal (negativo para saídas e estornos
+	 *            de entradas), que será somado aos saldos mensais a partir do mês
+	 *            da data informada
+	 */
+	public void registrar(Conta conta, LocalDate data, BigDecimal valor);
+
+	/**
+	 * @param conta
+	 *            A Conta que teve o saldo inicial alterado
+	 * @param diferenca
+	 *            A diferença entre o novo e o antigo saldo inicial, que será
+	 *            somada a todos os saldos mensais da Conta
+	 */
+	public void registrarSaldoInicial(Conta conta, BigDecimal diferenca);
+
+	/**
+	 * @param conta
+	 *            Uma Conta para pesquisa
+	 * @param data
+	 *            Um dia para pesquisa
+	 * @return Retorna um BigDecimal com o saldo da Conta no início do dia passado
+	 *         no parâmetro, calculado a partir do saldo mensal mais próximo
+	 *         anterior à data. Nunca retorna nulo.
+	 */
+	public BigDecimal saldoInicialEm(Conta conta, LocalDate data);
+
+	/**
+	 * @param mes
+	 *            O mês a ser fechado. Grava o saldo de fechamento deste mês para
+	 *            todas as Contas que ainda não o possuem, cada Conta numa
+	 *            transação própria que a mantém bloqueada contra movimentos
+	 *            retroativos simultâneos.
+	 */
+	public void fecharMes(YearMonth mes);
+
+	/**
+	 * @param conta
+	 *            A Conta que terá todos os seus saldos mensais recalculados a
+	 *            partir do saldo inicial e dos movimentos existentes
+	 */
+	public void reconstruir(Conta conta);
+
+	/**
+	 * Recalcula os saldos mensais de todas as Contas de todos os Condomínios.
+	 */
+	public void reconstruir();
+
+}
@@ -0,0 +1,176 @@
+package app.condominio.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.condominio.dao.ContaDao;
+import app.condominio.dao.MovimentoDao;
+import app.condominio.dao.SaldoMensalDao;
+import app.condominio.domain.Conta;
+import app.condominio.domain.SaldoMensal;
+
+@Service
+@Transactional
+public class SaldoMensalServiceImpl implements SaldoMensalService {
+
+	private static final Logger log = LoggerFactory.getLogger(SaldoMensalServiceImpl.class);
+
+	@Autowired
+	private SaldoMensalDao saldoMensalDao;
+
+	@Autowired
+	private MovimentoDao movimentoDao;
+
+	@Autowired
+	private ContaDao contaDao;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Override
+	public void registrar(Conta conta, LocalDate data, BigDecimal valor) {
+		if (conta != null && data != null && valor != null && valor.compareTo(BigDecimal.ZERO) != 0) {
+			// Um movimento retroativo pode cair num mês que está sendo fechado: o
+			// bloqueio da Conta, o mesmo do fechamento, garante que o fechamento
+			// ou já inclui o movimento ou é gravado antes desta soma
+			if (YearMonth.from(data).isBefore(YearMonth.now())) {
+				contaDao.findAndLockByIdConta(conta.getIdConta());
+			}
+			saldoMensalDao.addSaldoByContaAndMesGreaterThanEqual(conta, YearMonth.from(data).atDay(1), valor);
+		}
+	}
+
+	@Override
+	public void registrarSaldoInicial(Conta conta, BigDecimal diferenca) {
+		if (conta != null && diferenca != null && diferenca.compareTo(BigDecimal.ZERO) != 0) {
+			saldoMensalDao.addSaldoByConta(conta, diferenca);
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public BigDecimal saldoInicialEm(Conta conta, LocalDate data) {
+		BigDecimal saldo;
+		BigDecimal movimentos;
+		SaldoMensal anterior = saldoMensalDao.findFirstByContaAndMesBeforeOrderByMesDesc(conta,
+				YearMonth.from(data).atDay(1));
+		if (anterior != null) {
+			// Parte do fechamento mais próximo e soma só o que veio depois dele
+			saldo = anterior.getSaldo();
+			movimentos = movimentoDao.sumValorComSinalByContaAndDataGreaterThanEqualAndDataBefore(conta,
+					anterior.getMes().plusMonths(1), data);
+		} else {
+			// Não há fechamento antes da data, então só há movimentos antigos
+			saldo = conta.getSaldoInicial();
+			movimentos = movimentoDao.sumValorComSinalByContaAndDataBefore(conta, data);
+		}
+		if (saldo == null) {
+			saldo = BigDecimal.ZERO.setScale(2);
+		}
+		if (movimentos != null) {
+			saldo = saldo.add(movimentos);
+		}
+		return saldo;
+	}
+
+	@Scheduled(cron = "${condominio.saldos.fechamento:0 10 0 1 * *}")
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void fecharMesAnterior() {
+		fecharMes(YearMonth.now().minusMonths(1));
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void fecharMes(YearMonth mes) {
+		LocalDate inicio = mes.atDay(1);
+		// Uma transação por Conta, que começa bloqueando a Conta (como registrar
+		// faz nos movimentos retroativos) e lê com read committed: a soma feita
+		// depois do bloqueio vê todo movimento já confirmado, e os que ainda não
+		// foram esperam o fechamento para somar o seu valor a ele
+		TransactionTemplate fechamento = new TransactionTemplate(transactionManager);
+		fechamento.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		fechamento.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+		int novos = 0;
+		for (Conta lida : contaDao.findAll()) {
+			Boolean gravado = fechamento.execute(status -> {
+				Conta conta = contaDao.findAndLockByIdConta(lida.getIdConta());
+				if (conta == null || saldoMensalDao.existsByContaAndMes(conta, inicio)) {
+					return false;
+				}
+				SaldoMensal saldoMensal = new SaldoMensal();
+				saldoMensal.setConta(conta);
+				saldoMensal.setMes(inicio);
+				saldoMensal.setSaldo(saldoInicialEm(conta, mes.plusMonths(1).atDay(1)));
+				saldoMensalDao.save(saldoMensal);
+				return true;
+			});
+			if (Boolean.TRUE.equals(gravado)) {
+				novos++;
+			}
+		}
+		log.info("Fechamento de {}: {} saldos mensais gravados", mes, novos);
+	}
+
+	@Override
+	public void reconstruir(Conta conta) {
+		saldoMensalDao.deleteAllByConta(conta);
+		List<Object[]> somas = movimentoDao.sumValorComSinalByContaGroupByMes(conta);
+		if (somas.isEmpty()) {
+			return;
+		}
+		Map<YearMonth, BigDecimal> porMes = new HashMap<>();
+		for (Object[] soma : somas) {
+			porMes.put(YearMonth.of(((Number) soma[0]).intValue(), ((Number) soma[1]).intValue()),
+					(BigDecimal) soma[2]);
+		}
+		YearMonth primeiro = YearMonth.of(((Number) somas.get(0)[0]).intValue(),
+				((Number) somas.get(0)[1]).intValue());
+		YearMonth ultimo = YearMonth.of(((Number) somas.get(somas.size() - 1)[0]).intValue(),
+				((Number) somas.get(somas.size() - 1)[1]).intValue());
+		if (ultimo.isBefore(YearMonth.now())) {
+			ultimo = YearMonth.now();
+		}
+		// Grava um fechamento para cada mês, mesmo os que não tiveram movimento
+		BigDecimal saldo = conta.getSaldoInicial() != null ? conta.getSaldoInicial() : BigDecimal.ZERO.setScale(2);
+		List<SaldoMensal> saldos = new ArrayList<>();
+		for (YearMonth mes = primeiro; !mes.isAfter(ultimo); mes = mes.plusMonths(1)) {
+			BigDecimal movimento = porMes.get(mes);
+			if (movimento != null) {
+				saldo = saldo.add(movimento);
+			}
+			SaldoMensal saldoMensal = new SaldoMensal();
+			saldoMensal.setConta(conta);
+			saldoMensal.setMes(mes.atDay(1));
+			saldoMensal.setSaldo(saldo);
+			saldos.add(saldoMensal);
+		}
+		saldoMensalDao.saveAll(saldos);
+	}
+
+	@Override
+	public void reconstruir() {
+		int contas = 0;
+		for (Conta conta : contaDao.findAll()) {
+			reconstruir(conta);
+			contas++;
+		}
+		log.info("Saldos mensais reconstruídos para {} contas", contas);
+	}
+
+}
@@ -0,0 +1,53 @@
+package app.condominio.service;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Principal guardado no contexto de segurança após o login. Além dos dados do
+ * User do Spring Security, carrega os ids do Usuario e do seu Condominio e o
+ * nome para exibição, evitando consultas ao banco para obtê-los.
+ */
+@SuppressWarnings("serial")
+public class UsuarioAutenticado extends User {
+
+	private final Long idUsuario;
+
+	private final Long idCondominio;
+
+	private final String nomeCompleto;
+
+	public UsuarioAutenticado(String username, String password, boolean ativo,
+			Collection<? extends GrantedAuthority> authorities, Long idUsuario, Long idCondominio,
+			String nomeCompleto) {
+		super(username, password, ativo, true, true, true, authorities);
+		this.idUsuario = idUsuario;
+		this.idCondominio = idCondominio;
+		this.nomeCompleto = nomeCompleto;
+	}
+
+	/**
+	 * @param outro
+	 *            O UsuarioAutenticado a ser copiado. A cópia é necessária porque o
+	 *            Spring Security apaga a senha do principal após a autenticação.
+	 */
+	public UsuarioAutenticado(UsuarioAutenticado outro) {
+		this(outro.getUsername(), outro.getPassword(), outro.isEnabled(), outro.getAuthorities(), outro.idUsuario,
+				outro.idCondominio, outro.nomeCompleto);
+	}
+
+	public Long getIdUsuario() {
+		return idUsuario;
+	}
+
+	public Long getIdCondominio() {
+		return idCondominio;
+	}
+
+	public String getNomeCompleto() {
+		return nomeCompleto;
+	}
+
+}
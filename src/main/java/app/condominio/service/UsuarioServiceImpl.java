@@ -7,9 +7,6 @@ import java.util.TimeZone;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -33,6 +30,12 @@ public class UsuarioServiceImpl implements UsuarioService {
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 
+	@Autowired
+	private ContextoUsuario contextoUsuario;
+
+	@Autowired
+	private AutenticacaoService autenticacaoService;
+
 	@Override
 	public void salvar(Usuario usuario) {
 		if (usuario.getId() == null) {
@@ -56,13 +59,7 @@ public class UsuarioServiceImpl implements UsuarioService {
 	@Override
 	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 	public Usuario lerLogado() {
-		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-		if (auth == null || auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ANONYMOUS"))) {
-			return null;
-		}
-		return usuarioDao.findOneByUsername(auth.getName());
-		// http://www.baeldung.com/get-user-in-spring-security
-		// http://www.baeldung.com/spring-security-thymeleaf
+		return contextoUsuario.getUsuario();
 	}
 
 	@Override
@@ -73,12 +70,20 @@ public class UsuarioServiceImpl implements UsuarioService {
 		if (usuario.getAutorizacoes().isEmpty()) {
 			usuario.setAutorizacoes(ler(usuario.getId()).getAutorizacoes());
 		}
+		String usernameAnterior = usuarioDao.findUsernameById(usuario.getId());
 		usuarioDao.save(usuario);
+		contextoUsuario.invalidar();
+		// Senha, autorizações e Condominio fazem parte do principal; num usuário
+		// renomeado, o username antigo não pode continuar autenticando
+		autenticacaoService.descartar(usernameAnterior);
+		autenticacaoService.descartar(usuario.getUsername());
+		autenticacaoService.atualizarLogado(usuario);
 	}
 
 	@Override
 	public void excluir(Usuario usuario) {
 		usuarioDao.delete(usuario);
+		autenticacaoService.descartar(usuario.getUsername());
 	}
 
 	@Override
@@ -100,7 +105,7 @@ public class UsuarioServiceImpl implements UsuarioService {
 	}
 
 	@Override
-	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	// Grava o e-mail na caixa de saída; o envio fica para o EnvioEmailsService
 	public boolean redefinirSenha(String username) {
 		Usuario usuario = ler(username);
 		if (usuario != null) {
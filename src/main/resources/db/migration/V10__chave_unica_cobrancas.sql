@@ -0,0 +1,14 @@
+-- Uma cobrança mensal por moradia e mês: impede que duas gerações mensais
+-- simultâneas (CobrancaService.gerarMensais) dupliquem o mês. A chave vale só
+-- para as cobranças como as que a geração grava (motivo normal, número aaaaMM e
+-- sem parcela), pela coluna gerada numeroMensal; nas demais ela é nula e o
+-- índice único aceita nulos repetidos, então cobranças avulsas repetidas já
+-- existentes não impedem a migração.
+-- Cobranças mensais já repetidas, que precisam ser corrigidas antes, são
+-- listadas por:
+--   SELECT idMoradia, numero, COUNT(*) FROM cobrancas
+--   WHERE motivoEmissao = 'O' AND parcela IS NULL AND REGEXP_LIKE(numero, '^[0-9]{4}(0[1-9]|1[0-2])$')
+--   GROUP BY idMoradia, numero HAVING COUNT(*) > 1;
+ALTER TABLE cobrancas
+  ADD COLUMN numeroMensal VARCHAR(6) AS (CASE WHEN motivoEmissao = 'O' AND parcela IS NULL AND REGEXP_LIKE(numero, '^[0-9]{4}(0[1-9]|1[0-2])$') THEN numero END) STORED,
+  ADD UNIQUE INDEX ukCobrancasMoradiaNumeroMensal (idMoradia, numeroMensal);
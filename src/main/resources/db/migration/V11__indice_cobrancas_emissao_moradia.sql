@@ -0,0 +1,7 @@
+-- CobrancaService: a listagem paginada ordena por emissão decrescente e, no
+-- mesmo dia, por moradia, número e parcela crescentes. Com as colunas todas
+-- crescentes, o idxCobrancasCondominioEmissao da V2 não servia a essa ordem
+-- (sentidos misturados) e o MySQL ordenava em memória; o índice passa a ter
+-- dataEmissao decrescente. A listagem sequencial usa idxCobrancasCondominioEmissaoId.
+CREATE INDEX idxCobrancasCondominioEmissaoMoradia ON cobrancas (idCondominio, dataEmissao DESC, idMoradia, numero, parcela);
+DROP INDEX idxCobrancasCondominioEmissao ON cobrancas;
@@ -0,0 +1,20 @@
+-- Campanhas de e-mail já disparadas (CampanhaInadimplenciaService): a chave
+-- única garante uma campanha por Condomínio e origem ("inadimplencia:" + dia)
+-- mesmo com dois disparos simultâneos, que a contagem dos e-mails da origem
+-- antes de gravá-los não impedia.
+CREATE TABLE campanhas (
+  idCondominio BIGINT UNSIGNED NOT NULL,
+  origem VARCHAR(50) NOT NULL,
+  criacao DATETIME NOT NULL,
+  PRIMARY KEY(idCondominio, origem),
+  FOREIGN KEY(idCondominio)
+    REFERENCES condominios(idCondominio)
+      ON DELETE CASCADE
+      ON UPDATE CASCADE
+);
+
+-- Campanhas anteriores a esta tabela, para que não se repitam no mesmo dia
+INSERT INTO campanhas (idCondominio, origem, criacao)
+  SELECT idCondominio, origem, MIN(criacao) FROM emailspendentes
+    WHERE idCondominio IS NOT NULL AND origem LIKE 'inadimplencia:%'
+    GROUP BY idCondominio, origem;
@@ -0,0 +1,34 @@
+-- Índices compostos para as consultas dos DAOs (app.condominio.dao).
+-- A versão 1 é o schema.sql original; bases existentes são marcadas como
+-- versão 1 pelo baseline do Flyway e recebem a partir daqui.
+
+-- MovimentoDao / LancamentoDao: filtro por conta e data, ordenação por data e
+-- somas por reducao sem voltar à tabela (o InnoDB inclui idMovimento no índice)
+CREATE INDEX idxMovimentosContaDataReducao ON movimentos (idConta, data, reducao, valor);
+
+-- LancamentoDao: somas por período e subcategoria
+CREATE INDEX idxLancamentosPeriodoSubcategoria ON lancamentos (idPeriodo, idSubcategoria);
+
+-- CobrancaDao: inadimplência, listagem por emissão e unicidade
+CREATE INDEX idxCobrancasCondominioRecebimentoVencimento ON cobrancas (idCondominio, dataRecebimento, dataVencimento, total);
+CREATE INDEX idxCobrancasCondominioEmissao ON cobrancas (idCondominio, dataEmissao, idMoradia, numero, parcela);
+
+-- PeriodoDao: período que contém uma data e listagem por início
+CREATE INDEX idxPeriodosCondominioInicioFim ON periodos (idCondominio, inicio, fim);
+
+-- OrcamentoDao: orçamento por período e subcategoria
+CREATE INDEX idxOrcamentosPeriodoSubcategoria ON orcamentos (idPeriodo, idSubcategoria, orcado);
+
+-- Unicidade validada nos serviços (ContaDao, BlocoDao, CategoriaDao, MoradiaDao, SubcategoriaDao)
+CREATE INDEX idxContasCondominioSigla ON contas (idCondominio, sigla);
+CREATE INDEX idxBlocosCondominioSigla ON blocos (idCondominio, sigla);
+CREATE INDEX idxCategoriasCondominioOrdem ON categorias (idCondominio, ordem);
+CREATE INDEX idxCategoriasCondominioTipo ON categorias (idCondominio, tipo);
+CREATE INDEX idxMoradiasBlocoSigla ON moradias (idBloco, sigla);
+CREATE INDEX idxSubcategoriasCategoriaDescricao ON subcategorias (idCategoria, descricao);
+
+-- PessoaDao, PessoaFisicaDao, PessoaJuridicaDao e CondominioDao
+CREATE INDEX idxPessoasCondominioNome ON pessoas (idCondominio, nome);
+CREATE INDEX idxPessoasFisicasCpf ON pessoasfisicas (cpf);
+CREATE INDEX idxPessoasJuridicasCnpj ON pessoasjuridicas (cnpj);
+CREATE INDEX idxCondominiosCnpj ON condominios (cnpj);
@@ -0,0 +1,5 @@
+-- O saldo atual das contas passa a ser mantido pela aplicação
+-- (SaldoContaService), com incrementos atômicos agrupados por transação.
+DROP TRIGGER IF EXISTS atSaldoOnInsertMovimento;
+DROP TRIGGER IF EXISTS atSaldoOnUpdateMovimento;
+DROP TRIGGER IF EXISTS atSaldoOnDeleteMovimento;
@@ -0,0 +1,7 @@
+-- Multa, juros de mora e total das cobranças vencidas passam a ser
+-- recalculados pela aplicação (EncargosService), em lotes por chave e só nas
+-- linhas que mudaram.
+DROP EVENT IF EXISTS atTotalCobrancaDiariamente;
+
+-- EncargosService: cobranças em aberto percorridas por idCobranca
+CREATE INDEX idxCobrancasRecebimentoId ON cobrancas (dataRecebimento, idCobranca);
@@ -0,0 +1,29 @@
+-- Resumo da inadimplência por moradia (InadimplenciaService): cobranças
+-- vencidas e não recebidas, somadas por moradia. Recalculado a cada alteração
+-- de cobrança e diariamente, após a atualização dos encargos.
+CREATE TABLE resumosinadimplencia (
+  idMoradia BIGINT UNSIGNED NOT NULL,
+  idCondominio BIGINT UNSIGNED NOT NULL,
+  quantidade INT NOT NULL,
+  principal DECIMAL(11,2) NOT NULL,
+  encargos DECIMAL(11,2) NOT NULL,
+  total DECIMAL(11,2) NOT NULL,
+  vencimentoMaisAntigo DATE NOT NULL,
+  atualizacao DATE NOT NULL,
+  PRIMARY KEY(idMoradia),
+  INDEX idxResumosInadimplenciaCondominio (idCondominio, total),
+  FOREIGN KEY(idCondominio)
+    REFERENCES condominios(idCondominio)
+      ON DELETE CASCADE
+      ON UPDATE CASCADE,
+  FOREIGN KEY(idMoradia)
+    REFERENCES moradias(idMoradia)
+      ON DELETE CASCADE
+      ON UPDATE CASCADE
+);
+
+INSERT INTO resumosinadimplencia (idMoradia, idCondominio, quantidade, principal, encargos, total, vencimentoMaisAntigo, atualizacao)
+SELECT idMoradia, idCondominio, COUNT(*), SUM(valor), SUM(COALESCE(multa, 0) + COALESCE(jurosMora, 0)), SUM(COALESCE(total, valor)), MIN(dataVencimento), CURRENT_DATE
+FROM cobrancas
+WHERE dataRecebimento IS NULL AND dataVencimento < CURRENT_DATE
+GROUP BY idMoradia, idCondominio;
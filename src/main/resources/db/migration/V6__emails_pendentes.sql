@@ -0,0 +1,24 @@
+-- Caixa de saída de e-mails (EmailService): gravada na mesma transação da
+-- alteração que gera o e-mail e enviada em lotes pelo EnvioEmailsService.
+-- situacao: P (pendente), E (enviado) ou F (falhou após todas as tentativas).
+CREATE TABLE emailspendentes (
+  idEmail BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  idCondominio BIGINT UNSIGNED NULL,
+  origem VARCHAR(50) NULL,
+  para VARCHAR(254) NOT NULL,
+  assunto VARCHAR(200) NOT NULL,
+  mensagem TEXT NOT NULL,
+  situacao CHAR(1) NOT NULL,
+  tentativas INT NOT NULL DEFAULT 0,
+  criacao DATETIME NOT NULL,
+  proximaTentativa DATETIME NOT NULL,
+  envio DATETIME NULL,
+  ultimoErro VARCHAR(500) NULL,
+  PRIMARY KEY(idEmail),
+  INDEX idxEmailsPendentesSituacaoTentativa (situacao, proximaTentativa),
+  INDEX idxEmailsPendentesCondominioOrigem (idCondominio, origem),
+  FOREIGN KEY(idCondominio)
+    REFERENCES condominios(idCondominio)
+      ON DELETE CASCADE
+      ON UPDATE CASCADE
+);
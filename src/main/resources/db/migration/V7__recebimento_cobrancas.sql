@@ -0,0 +1,5 @@
+-- Valor efetivamente pago e tarifa bancária de cada cobrança, gravados na baixa
+-- pelo arquivo de retorno do banco (RetornoBancarioService).
+ALTER TABLE cobrancas
+  ADD COLUMN valorRecebido DECIMAL(9,2) NULL,
+  ADD COLUMN tarifa DECIMAL(9,2) NULL;
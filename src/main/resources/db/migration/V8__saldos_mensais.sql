@@ -0,0 +1,16 @@
+-- Saldo de cada conta ao fim de cada mês (SaldoMensalService), para o saldo
+-- inicial dos relatórios partir do mês anterior mais próximo em vez de somar
+-- todo o histórico. Bases com movimentos anteriores devem ser iniciadas uma vez
+-- com --reconstruir-saldos para preenchê-la.
+CREATE TABLE IF NOT EXISTS saldosmensais (
+  idSaldoMensal BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  idConta BIGINT UNSIGNED NOT NULL,
+  mes DATE NOT NULL,
+  saldo DECIMAL(9,2) NOT NULL,
+  PRIMARY KEY(idSaldoMensal),
+  UNIQUE(idConta, mes),
+  FOREIGN KEY(idConta)
+    REFERENCES contas(idConta)
+      ON DELETE CASCADE
+      ON UPDATE CASCADE
+);
@@ -0,0 +1,3 @@
+-- CobrancaService: listagem paginada e sequencial das cobranças do condomínio
+-- por emissão e id decrescentes, lida direto do índice nos dois sentidos
+CREATE INDEX idxCobrancasCondominioEmissaoId ON cobrancas (idCondominio, dataEmissao, idCobranca);
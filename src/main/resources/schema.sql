@@ -1,7 +1,7 @@
 START TRANSACTION;
 
 DROP TABLE IF EXISTS
-	lancamentos,transferencias,movimentos,
+	saldosmensais,lancamentos,transferencias,movimentos,
 	contasbancarias,contas,cobrancas,
 	orcamentos,subcategorias,categorias,periodos,
     pessoasjuridicas,pessoasfisicas,pessoa_moradia,pessoas,
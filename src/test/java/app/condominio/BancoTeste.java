@@ -0,0 +1,47 @@
+package app.condominio;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * MySQL dos testes e dos benchmarks, num contêiner do Testcontainers
+ * compartilhado por toda a JVM. O schema.sql é executado na criação do
+ * contêiner, como na instalação descrita no README, e o Flyway aplica as
+ * migrações seguintes ao subir a aplicação: os testes usam o mesmo schema da
+ * produção. O performance_schema guarda o histórico de comandos usado pelo
+ * PlanosConsultasTest.
+ */
+public final class BancoTeste {
+
+	private static MySQLContainer<?> mysql;
+
+	private BancoTeste() {
+	}
+
+	/**
+	 * Inicia o contêiner na primeira chamada.
+	 *
+	 * @return Retorna as propriedades spring.datasource.* do contêiner.
+	 */
+	public static synchronized Map<String, Object> propriedades() {
+		if (mysql == null) {
+			mysql = new MySQLContainer<>("mysql:8.0").withUsername("root")
+					.withUrlParam("rewriteBatchedStatements", "true")
+					.withCopyFileToContainer(MountableFile.forClasspathResource("schema.sql"),
+							"/docker-entrypoint-initdb.d/schema.sql")
+					.withCommand("--performance-schema-consumer-events-statements-history-long=ON",
+							"--performance-schema-events-statements-history-long-size=100000",
+							"--performance-schema-max-sql-text-length=65536");
+			mysql.start();
+		}
+		Map<String, Object> propriedades = new HashMap<>();
+		propriedades.put("spring.datasource.url", mysql.getJdbcUrl());
+		propriedades.put("spring.datasource.username", mysql.getUsername());
+		propriedades.put("spring.datasource.password", mysql.getPassword());
+		return propriedades;
+	}
+
+}
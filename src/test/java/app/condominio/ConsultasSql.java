@@ -0,0 +1,138 @@
+package app.condominio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import app.condominio.controller.MetricasRequisicaoInterceptor;
+import app.condominio.dao.ContadorConsultas.Contagem;
+
+/**
+ * Verificações do número de comandos SQL de uma requisição feita com MockMvc,
+ * para fixar o custo de cada página do síndico:
+ *
+ * <pre>
+ * mockMvc.perform(get("/sindico/moradias")).andExpect(ConsultasSql.exatamente(4));
+ * </pre>
+ *
+ * A falha lista as formas de comando mais repetidas, que apontam o N+1.
+ * <p>
+ * fixado(chave) compara com a contagem medida e gravada para a chave em
+ * src/test/resources/consultas-fixadas.properties. Com
+ * -Dconsultas.registrar=true os testes não comparam: gravam as contagens
+ * medidas em target/consultas-fixadas.properties, para conferir e copiar depois
+ * de uma mudança intencional no custo de uma página.
+ */
+public final class ConsultasSql {
+
+	private static final String FIXADAS = "consultas-fixadas.properties";
+
+	private static final Properties fixadas = carregar();
+
+	private static final Properties medidas = new Properties();
+
+	private ConsultasSql() {
+	}
+
+	public static ResultMatcher exatamente(int quantidade) {
+		return resultado -> {
+			Contagem contagem = contagem(resultado);
+			if (contagem.getTotal() != quantidade) {
+				throw falha(contagem, "exatamente " + quantidade);
+			}
+		};
+	}
+
+	public static ResultMatcher noMaximo(int quantidade) {
+		return resultado -> {
+			Contagem contagem = contagem(resultado);
+			if (contagem.getTotal() > quantidade) {
+				throw falha(contagem, "no máximo " + quantidade);
+			}
+		};
+	}
+
+	public static ResultMatcher fixado(String chave) {
+		return resultado -> {
+			int total = contagem(resultado).getTotal();
+			if (Boolean.getBoolean("consultas.registrar")) {
+				registrar(chave, total);
+				return;
+			}
+			String fixada = fixadas.getProperty(chave);
+			if (fixada == null) {
+				throw new AssertionError("Sem contagem fixada para " + chave + " em " + FIXADAS + "; executados "
+						+ total + " comandos SQL. Meça com -Dconsultas.registrar=true.");
+			}
+			exatamente(Integer.parseInt(fixada.trim())).match(resultado);
+		};
+	}
+
+	/**
+	 * Compara com o limite configurado para a rota em condominio.consultas.
+	 */
+	public static ResultMatcher dentroDoLimite() {
+		return resultado -> {
+			Integer limite = (Integer) resultado.getRequest()
+					.getAttribute(MetricasRequisicaoInterceptor.ATRIBUTO_LIMITE);
+			noMaximo(limite).match(resultado);
+		};
+	}
+
+	/**
+	 * @return Retorna o número de comandos SQL da requisição, para comparar duas
+	 *         requisições que devem custar o mesmo (por exemplo, páginas de
+	 *         tamanhos diferentes).
+	 */
+	public static int contar(MvcResult resultado) {
+		return contagem(resultado).getTotal();
+	}
+
+	/**
+	 * @return Retorna a Contagem da requisição, registrada pelo
+	 *         MetricasRequisicaoInterceptor.
+	 */
+	public static Contagem contagem(MvcResult resultado) {
+		Contagem contagem = (Contagem) resultado.getRequest()
+				.getAttribute(MetricasRequisicaoInterceptor.ATRIBUTO_CONTAGEM);
+		if (contagem == null) {
+			throw new AssertionError("A requisição não passou pelo MetricasRequisicaoInterceptor");
+		}
+		return contagem;
+	}
+
+	private static Properties carregar() {
+		Properties propriedades = new Properties();
+		try (InputStream entrada = ConsultasSql.class.getClassLoader().getResourceAsStream(FIXADAS)) {
+			if (entrada != null) {
+				propriedades.load(entrada);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return propriedades;
+	}
+
+	private static synchronized void registrar(String chave, int total) throws IOException {
+		medidas.setProperty(chave, String.valueOf(total));
+		Path arquivo = Paths.get("target", FIXADAS);
+		Files.createDirectories(arquivo.getParent());
+		try (Writer saida = Files.newBufferedWriter(arquivo)) {
+			medidas.store(saida, "Contagens medidas; confira e copie para src/test/resources/" + FIXADAS);
+		}
+	}
+
+	private static AssertionError falha(Contagem contagem, String esperado) {
+		return new AssertionError("Esperados " + esperado + " comandos SQL, executados " + contagem.getTotal()
+				+ ". Mais repetidos: " + contagem.maisFrequentes(5));
+	}
+
+}
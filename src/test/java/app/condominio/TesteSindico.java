@@ -0,0 +1,117 @@
+package app.condominio;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import app.condominio.dao.GeradorDados;
+import app.condominio.service.EncargosService;
+import app.condominio.service.SaldoMensalService;
+import app.condominio.service.UsuarioAutenticado;
+
+/**
+ * Base dos testes das páginas do síndico: sobe a aplicação com o perfil teste
+ * sobre o MySQL do BancoTeste e gera, uma vez, Condomínios sintéticos pequenos
+ * com o GeradorDados. O síndico do primeiro faz as requisições; os demais
+ * existem para que as consultas tenham de filtrar por Condomínio.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("teste")
+public abstract class TesteSindico {
+
+	// Data em que terminam os dados gerados, base dos períodos dos relatórios
+	protected static final LocalDate REFERENCIA = LocalDate.of(2024, 6, 30);
+
+	private static UsuarioAutenticado sindico;
+
+	@Autowired
+	protected MockMvc mockMvc;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private SaldoMensalService saldoMensalService;
+
+	@Autowired
+	private EncargosService encargosService;
+
+	@DynamicPropertySource
+	static void banco(DynamicPropertyRegistry registro) {
+		BancoTeste.propriedades().forEach((nome, valor) -> registro.add(nome, () -> valor));
+	}
+
+	@BeforeEach
+	public void popular() throws Exception {
+		// O banco é um só para a JVM, compartilhado pelos contextos do Spring e
+		// pelas classes de teste
+		synchronized (TesteSindico.class) {
+			if (sindico != null) {
+				return;
+			}
+			GeradorDados gerador = new GeradorDados(7);
+			gerador.setCondominios(3);
+			gerador.setReferencia(REFERENCIA);
+			gerador.setContas(2);
+			gerador.setBlocos(2);
+			gerador.setMoradiasPorBloco(10);
+			gerador.setGruposPorTipo(2);
+			gerador.setSubcategoriasPorGrupo(3);
+			gerador.setAnos(2);
+			gerador.setLancamentosPorMes(120);
+			gerador.setTransferenciasPorMes(4);
+			Long idCondominio = gerador.gerar(dataSource).get(0);
+			saldoMensalService.reconstruir();
+			encargosService.atualizarVencidas();
+			Long idUsuario = jdbcTemplate.queryForObject("select id from usuarios where username = ?", Long.class,
+					"sindico" + idCondominio);
+			sindico = new UsuarioAutenticado("sindico" + idCondominio, "", true,
+					Collections.singletonList(new SimpleGrantedAuthority("SINDICO")), idUsuario, idCondominio,
+					"Síndico Teste");
+		}
+	}
+
+	/**
+	 * @return Retorna o síndico do Condomínio gerado como usuário da requisição.
+	 */
+	protected RequestPostProcessor sindico() {
+		return user(sindico);
+	}
+
+	/**
+	 * Abre uma página do síndico e confere que ela foi exibida.
+	 */
+	protected MvcResult abrir(String url) throws Exception {
+		return mockMvc.perform(get(url).with(sindico())).andExpect(status().isOk()).andReturn();
+	}
+
+	/**
+	 * @return Retorna o id do Condomínio gerado.
+	 */
+	protected Long idCondominio() {
+		return sindico.getIdCondominio();
+	}
+
+}
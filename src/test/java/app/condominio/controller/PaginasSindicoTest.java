@@ -0,0 +1,92 @@
+package app.condominio.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+
+import app.condominio.ConsultasSql;
+import app.condominio.TesteSindico;
+import app.condominio.service.AlteracaoFinanceira;
+import app.condominio.service.PainelService;
+
+/**
+ * Fixa o número exato de comandos SQL de cada página do síndico, com as
+ * contagens de consultas-fixadas.properties, e confere que as listas paginadas
+ * não crescem com o tamanho da página (N+1). O limite por rota de
+ * condominio.consultas fica só para o aviso em produção.
+ */
+public class PaginasSindicoTest extends TesteSindico {
+
+	@Autowired
+	private PainelService painelService;
+
+	@ParameterizedTest
+	@CsvSource({ "painel, /sindico", "condominio, /sindico/condominio/cadastro", "contas, /sindico/contas",
+			"blocos, /sindico/blocos", "moradias, /sindico/moradias", "pessoas, /sindico/pessoas",
+			"categorias, /sindico/categorias", "subcategorias, /sindico/subcategorias",
+			"periodos, /sindico/periodos", "orcamentos, /sindico/orcamentos", "cobrancas, /sindico/cobrancas",
+			"cobrancas.sequencial, /sindico/cobrancas?apos=", "movimentos, /sindico/movimentos",
+			"movimentos.sequencial, /sindico/movimentos?apos=", "relatorios, /sindico/relatorios",
+			"relatorios.orcamento, /sindico/relatorios/orcamento" })
+	public void pagina(String chave, String url) throws Exception {
+		// A primeira requisição carrega os caches de segundo nível, como numa
+		// aplicação em uso; os indicadores do painel são descartados para medir o
+		// cálculo e não o acerto no cache
+		abrir(url);
+		painelService.descartar(new AlteracaoFinanceira(null));
+		ConsultasSql.fixado(chave).match(abrir(url));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "/sindico/contas", "/sindico/blocos", "/sindico/moradias", "/sindico/pessoas",
+			"/sindico/periodos", "/sindico/orcamentos", "/sindico/cobrancas", "/sindico/cobrancas?apos=",
+			"/sindico/movimentos", "/sindico/movimentos?apos=" })
+	public void listaNaoCresceComOTamanho(String url) throws Exception {
+		String separador = url.contains("?") ? "&" : "?";
+		abrir(url + separador + "tamanho=1");
+
+		MvcResult pequena = abrir(url + separador + "tamanho=1");
+		MvcResult grande = abrir(url + separador + "tamanho=50");
+
+		assertEquals(ConsultasSql.contar(pequena), ConsultasSql.contar(grande),
+				url + " com 50 linhas executou outro número de comandos que com 1");
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "livroCaixa, /sindico/relatorios/livroCaixa", "balancete, /sindico/relatorios/balancete" })
+	public void relatorioPorPeriodo(String chave, String url) throws Exception {
+		LocalDate fim = REFERENCIA.withDayOfMonth(1).minusDays(1);
+		MvcResult mes = relatorio(url, fim.withDayOfMonth(1), fim);
+		MvcResult ano = relatorio(url, fim.minusYears(1), fim);
+
+		ConsultasSql.fixado(chave).match(ano);
+		assertEquals(ConsultasSql.contar(mes), ConsultasSql.contar(ano),
+				url + " de um ano executou outro número de comandos que o de um mês");
+	}
+
+	@Test
+	public void inadimplencia() throws Exception {
+		relatorio("/sindico/relatorios/inadimplencia");
+		ConsultasSql.fixado("inadimplencia").match(relatorio("/sindico/relatorios/inadimplencia"));
+	}
+
+	private MvcResult relatorio(String url) throws Exception {
+		return mockMvc.perform(post(url).with(sindico()).with(csrf())).andExpect(status().isOk()).andReturn();
+	}
+
+	private MvcResult relatorio(String url, LocalDate inicio, LocalDate fim) throws Exception {
+		return mockMvc.perform(post(url).with(sindico()).with(csrf()).param("inicio", inicio.toString()).param("fim",
+				fim.toString())).andExpect(status().isOk()).andReturn();
+	}
+
+}
@@ -0,0 +1,570 @@
+package app.condominio.dao;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+/**
+ * Gera Condomínios sintéticos completos (Blocos, Moradias, Pessoas com suas
+ * Relações, árvore de Categorias, Períodos, Orçamentos, Lançamentos,
+ * Transferências e Cobranças) por JDBC em lote, para testes de carga e
+ * benchmarks. Os dados dependem apenas da semente, das quantidades e da data de
+ * referência (o "hoje" da geração, fixa por padrão); só os ids dependem do que
+ * já houver no banco. Cada Condomínio é gravado em uma transação própria.
+ * <p>
+ * Os ids das tabelas volumosas são atribuídos aqui a partir do maior id
+ * existente, então não deve haver outras gravações nessas tabelas durante a
+ * geração. No MySQL, rewriteBatchedStatements=true (na URL padrão) faz os lotes
+ * virem inserts de múltiplas linhas.
+ * <p>
+ * Não preenche saldosmensais nem resumosinadimplencia: depois de gerar, chame
+ * SaldoMensalService.reconstruir() e EncargosService.atualizarVencidas().
+ */
+public class GeradorDados {
+
+	private static final int LINHAS_POR_LOTE = 1000;
+
+	/**
+	 * Data de referência padrão, para que duas gerações com a mesma semente sejam
+	 * iguais em qualquer dia.
+	 */
+	public static final LocalDate REFERENCIA_PADRAO = LocalDate.of(2024, 12, 31);
+
+	private static final String[] NOMES = { "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Fábio", "Gabriela",
+			"Henrique", "Isabela", "João", "Karina", "Lucas", "Mariana", "Nelson", "Olívia", "Pedro", "Renata",
+			"Sérgio", "Tatiana", "Vinícius" };
+
+	private static final String[] SOBRENOMES = { "Almeida", "Barbosa", "Cardoso", "Dias", "Ferreira", "Gomes",
+			"Lima", "Martins", "Nunes", "Oliveira", "Pereira", "Ribeiro", "Santos", "Souza", "Teixeira" };
+
+	private final Random aleatorio;
+
+	private int condominios = 1;
+
+	private int blocos = 4;
+
+	private int moradiasPorBloco = 40;
+
+	private int contas = 3;
+
+	private int gruposPorTipo = 4;
+
+	private int subcategoriasPorGrupo = 5;
+
+	private int anos = 3;
+
+	private int lancamentosPorMes = 300;
+
+	private int transferenciasPorMes = 10;
+
+	private String senhaSindico = "{noop}sindico";
+
+	private LocalDate referencia = REFERENCIA_PADRAO;
+
+	/**
+	 * @param semente
+	 *            Semente do gerador pseudoaleatório. A mesma semente com as mesmas
+	 *            quantidades produz sempre os mesmos dados.
+	 */
+	public GeradorDados(long semente) {
+		this.aleatorio = new Random(semente);
+	}
+
+	/**
+	 * Gera os Condomínios, cada um com um Usuário síndico chamado "sindico"
+	 * seguido do id do Condomínio.
+	 *
+	 * @return Retorna os ids dos Condomínios gerados, na ordem de geração.
+	 */
+	public List<Long> gerar(DataSource dataSource) throws SQLException {
+		List<Long> ids = new ArrayList<>();
+		try (Connection conexao = dataSource.getConnection()) {
+			boolean autoCommit = conexao.getAutoCommit();
+			conexao.setAutoCommit(false);
+			try {
+				for (int c = 0; c < condominios; c++) {
+					ids.add(new Geracao(conexao).gerar(c + 1));
+					conexao.commit();
+				}
+			} catch (SQLException e) {
+				conexao.rollback();
+				throw e;
+			} finally {
+				conexao.setAutoCommit(autoCommit);
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Estado de um Condomínio em geração: os ids já gravados que as tabelas
+	 * seguintes referenciam.
+	 */
+	private class Geracao {
+
+		private final Connection conexao;
+
+		private final LocalDate inicio = referencia.withDayOfYear(1).minusYears(anos - 1);
+
+		private long idCondominio;
+
+		private final List<Long> idsContas = new ArrayList<>();
+
+		private final List<Long> idsReceitas = new ArrayList<>();
+
+		private final List<Long> idsDespesas = new ArrayList<>();
+
+		private final List<Long> idsMoradias = new ArrayList<>();
+
+		private final List<Float> fracoes = new ArrayList<>();
+
+		private final List<Long> idsPeriodos = new ArrayList<>();
+
+		private Geracao(Connection conexao) {
+			this.conexao = conexao;
+		}
+
+		private long gerar(int numero) throws SQLException {
+			inserirCondominio(numero);
+			inserirContas();
+			inserirCategorias();
+			inserirMoradias();
+			inserirPessoas();
+			inserirPeriodos();
+			inserirMovimentos();
+			inserirCobrancas();
+			return idCondominio;
+		}
+
+		private void inserirCondominio(int numero) throws SQLException {
+			try (PreparedStatement insert = conexao.prepareStatement(
+					"insert into condominios (razaoSocial, cnpj, email, endereco, numeroEnd, bairro, cidade, estado, cep) values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+					Statement.RETURN_GENERATED_KEYS)) {
+				insert.setString(1, "Condomínio Sintético " + numero);
+				insert.setString(2, String.format("%08d0001%02d", numero, numero % 100));
+				insert.setString(3, "condominio" + numero + "@condominio.app");
+				insert.setString(4, "Rua " + SOBRENOMES[numero % SOBRENOMES.length]);
+				insert.setString(5, String.valueOf(1 + aleatorio.nextInt(2000)));
+				insert.setString(6, "Centro");
+				insert.setString(7, "São Paulo");
+				insert.setString(8, "SP");
+				insert.setString(9, String.format("%08d", 1000000 + aleatorio.nextInt(8000000)));
+				idCondominio = executarComChave(insert);
+			}
+			long idUsuario;
+			try (PreparedStatement insert = conexao.prepareStatement(
+					"insert into usuarios (username, password, ativo, nome, sobrenome, email, idCondominio) values (?, ?, true, 'Síndico', ?, ?, ?)",
+					Statement.RETURN_GENERATED_KEYS)) {
+				insert.setString(1, "sindico" + idCondominio);
+				insert.setString(2, senhaSindico);
+				insert.setString(3, "Condomínio " + numero);
+				insert.setString(4, "sindico" + idCondominio + "@condominio.app");
+				insert.setLong(5, idCondominio);
+				idUsuario = executarComChave(insert);
+			}
+			try (PreparedStatement insert = conexao
+					.prepareStatement("insert into autorizacoes (id_usuario, autorizacao) values (?, 'SINDICO')")) {
+				insert.setLong(1, idUsuario);
+				insert.executeUpdate();
+			}
+		}
+
+		private void inserirContas() throws SQLException {
+			try (PreparedStatement insert = conexao.prepareStatement(
+					"insert into contas (sigla, descricao, saldoInicial, saldoAtual, idCondominio) values (?, ?, ?, ?, ?)",
+					Statement.RETURN_GENERATED_KEYS)) {
+				for (int i = 1; i <= contas; i++) {
+					BigDecimal saldoInicial = valor(5000, 50000);
+					insert.setString(1, String.valueOf(i));
+					insert.setString(2, i == 1 ? "Conta corrente" : "Conta " + i);
+					insert.setBigDecimal(3, saldoInicial);
+					insert.setBigDecimal(4, saldoInicial);
+					insert.setLong(5, idCondominio);
+					idsContas.add(executarComChave(insert));
+				}
+			}
+		}
+
+		private void inserirCategorias() throws SQLException {
+			// Uma Categoria raiz por tipo, grupos no segundo nível e as Subcategorias
+			// nos grupos, com a ordem no formato "1.2"
+			try (PreparedStatement categoria = conexao.prepareStatement(
+					"insert into categorias (tipo, descricao, nivel, ordem, idCategoriaPai, idCondominio) values (?, ?, ?, ?, ?, ?)",
+					Statement.RETURN_GENERATED_KEYS);
+					PreparedStatement subcategoria = conexao.prepareStatement(
+							"insert into subcategorias (descricao, idCategoria) values (?, ?)",
+							Statement.RETURN_GENERATED_KEYS)) {
+				String[] tipos = { "R", "D" };
+				for (int t = 0; t < tipos.length; t++) {
+					String ordem = String.valueOf(t + 1);
+					categoria.setString(1, tipos[t]);
+					categoria.setString(2, t == 0 ? "Receitas" : "Despesas");
+					categoria.setInt(3, 1);
+					categoria.setString(4, ordem);
+					categoria.setNull(5, Types.BIGINT);
+					categoria.setLong(6, idCondominio);
+					long idRaiz = executarComChave(categoria);
+					for (int g = 1; g <= gruposPorTipo; g++) {
+						categoria.setString(2, (t == 0 ? "Receitas " : "Despesas ") + g);
+						categoria.setInt(3, 2);
+						categoria.setString(4, ordem + "." + g);
+						categoria.setLong(5, idRaiz);
+						long idGrupo = executarComChave(categoria);
+						for (int s = 1; s <= subcategoriasPorGrupo; s++) {
+							subcategoria.setString(1, (t == 0 ? "Receita " : "Despesa ") + g + "." + s);
+							subcategoria.setLong(2, idGrupo);
+							(t == 0 ? idsReceitas : idsDespesas).add(executarComChave(subcategoria));
+						}
+					}
+				}
+			}
+		}
+
+		private void inserirMoradias() throws SQLException {
+			long proximoId = proximoId("moradias", "idMoradia");
+			float fracao = 100f / (blocos * moradiasPorBloco);
+			try (PreparedStatement bloco = conexao.prepareStatement(
+					"insert into blocos (sigla, descricao, idCondominio) values (?, ?, ?)",
+					Statement.RETURN_GENERATED_KEYS);
+					PreparedStatement moradia = conexao.prepareStatement(
+							"insert into moradias (idMoradia, sigla, tipo, area, fracaoIdeal, vagas, idBloco) values (?, ?, 'AP', ?, ?, ?, ?)")) {
+				for (int b = 1; b <= blocos; b++) {
+					bloco.setString(1, b <= 26 ? String.valueOf((char) ('A' + b - 1)) : String.valueOf(b));
+					bloco.setString(2, "Bloco " + b);
+					bloco.setLong(3, idCondominio);
+					long idBloco = executarComChave(bloco);
+					for (int m = 0; m < moradiasPorBloco; m++) {
+						long id = proximoId++;
+						moradia.setLong(1, id);
+						moradia.setString(2, String.valueOf((m / 4 + 1) * 100 + m % 4 + 1));
+						moradia.setFloat(3, 50 + aleatorio.nextInt(70));
+						moradia.setFloat(4, fracao);
+						moradia.setInt(5, 1 + aleatorio.nextInt(2));
+						moradia.setLong(6, idBloco);
+						moradia.addBatch();
+						idsMoradias.add(id);
+						fracoes.add(fracao);
+					}
+					moradia.executeBatch();
+				}
+			}
+		}
+
+		private void inserirPessoas() throws SQLException {
+			// Um proprietário por Moradia, metade delas alugada a um inquilino; um em
+			// cada vinte proprietários é pessoa jurídica
+			long proximoId = proximoId("pessoas", "idPessoa");
+			try (PreparedStatement pessoa = conexao.prepareStatement(
+					"insert into pessoas (idPessoa, nome, email, celular, idCondominio) values (?, ?, ?, ?, ?)");
+					PreparedStatement fisica = conexao.prepareStatement(
+							"insert into pessoasfisicas (idPessoa, sobrenome, cpf, nascimento, genero) values (?, ?, ?, ?, ?)");
+					PreparedStatement juridica = conexao.prepareStatement(
+							"insert into pessoasjuridicas (idPessoa, razaoSocial, cnpj, nomeRepresentante, sobrenomeRepresentante) values (?, ?, ?, ?, ?)");
+					PreparedStatement relacao = conexao.prepareStatement(
+							"insert into pessoa_moradia (idPessoa, idMoradia, tipo, participacaoDono, dataEntrada) values (?, ?, ?, ?, ?)")) {
+				for (int m = 0; m < idsMoradias.size(); m++) {
+					boolean alugada = aleatorio.nextBoolean();
+					for (int p = 0; p < (alugada ? 2 : 1); p++) {
+						long id = proximoId++;
+						String nome = NOMES[aleatorio.nextInt(NOMES.length)];
+						String sobrenome = SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)];
+						pessoa.setLong(1, id);
+						pessoa.setString(2, nome);
+						pessoa.setString(3, "pessoa" + id + "@condominio.app");
+						pessoa.setString(4, String.format("119%08d", aleatorio.nextInt(100000000)));
+						pessoa.setLong(5, idCondominio);
+						pessoa.addBatch();
+						if (p == 0 && aleatorio.nextInt(20) == 0) {
+							juridica.setLong(1, id);
+							juridica.setString(2, sobrenome + " Participações Ltda");
+							juridica.setString(3, String.format("%08d0001%02d", id % 100000000, id % 100));
+							juridica.setString(4, nome);
+							juridica.setString(5, sobrenome);
+							juridica.addBatch();
+						} else {
+							fisica.setLong(1, id);
+							fisica.setString(2, sobrenome);
+							fisica.setString(3, String.format("%011d", id));
+							fisica.setDate(4, Date.valueOf(LocalDate.of(1940 + aleatorio.nextInt(60), 1, 1)
+									.plusDays(aleatorio.nextInt(365))));
+							fisica.setString(5, aleatorio.nextBoolean() ? "F" : "M");
+							fisica.addBatch();
+						}
+						relacao.setLong(1, id);
+						relacao.setLong(2, idsMoradias.get(m));
+						relacao.setString(3, p == 0 ? "P" : "I");
+						if (p == 0) {
+							relacao.setFloat(4, 100f);
+						} else {
+							relacao.setNull(4, Types.FLOAT);
+						}
+						relacao.setDate(5, Date.valueOf(inicio.minusDays(aleatorio.nextInt(3650))));
+						relacao.addBatch();
+					}
+					if ((m + 1) % LINHAS_POR_LOTE == 0) {
+						executarLotes(pessoa, fisica, juridica, relacao);
+					}
+				}
+				executarLotes(pessoa, fisica, juridica, relacao);
+			}
+		}
+
+		private void inserirPeriodos() throws SQLException {
+			// Um Período por ano civil; só o atual fica aberto
+			try (PreparedStatement periodo = conexao.prepareStatement(
+					"insert into periodos (inicio, fim, encerrado, idCondominio) values (?, ?, ?, ?)",
+					Statement.RETURN_GENERATED_KEYS);
+					PreparedStatement orcamento = conexao.prepareStatement(
+							"insert into orcamentos (idPeriodo, idSubcategoria, orcado) values (?, ?, ?)")) {
+				for (int a = 0; a < anos; a++) {
+					LocalDate ano = inicio.plusYears(a);
+					periodo.setDate(1, Date.valueOf(ano));
+					periodo.setDate(2, Date.valueOf(ano.plusYears(1).minusDays(1)));
+					periodo.setBoolean(3, a < anos - 1);
+					periodo.setLong(4, idCondominio);
+					long idPeriodo = executarComChave(periodo);
+					idsPeriodos.add(idPeriodo);
+					List<Long> subcategorias = new ArrayList<>(idsReceitas);
+					subcategorias.addAll(idsDespesas);
+					for (Long idSubcategoria : subcategorias) {
+						orcamento.setLong(1, idPeriodo);
+						orcamento.setLong(2, idSubcategoria);
+						orcamento.setBigDecimal(3, valor(1000, 60000));
+						orcamento.addBatch();
+					}
+					orcamento.executeBatch();
+				}
+			}
+		}
+
+		private void inserirMovimentos() throws SQLException {
+			long proximoId = proximoId("movimentos", "idMovimento");
+			LocalDate hoje = referencia;
+			try (PreparedStatement movimento = conexao.prepareStatement(
+					"insert into movimentos (idMovimento, data, valor, documento, descricao, reducao, idConta) values (?, ?, ?, ?, ?, ?, ?)");
+					PreparedStatement lancamento = conexao.prepareStatement(
+							"insert into lancamentos (idMovimento, idPeriodo, idSubcategoria) values (?, ?, ?)");
+					PreparedStatement transferencia = conexao.prepareStatement(
+							"insert into transferencias (idMovimento, idContaInversa, idMovimentoInverso) values (?, ?, ?)")) {
+				int pendentes = 0;
+				for (YearMonth mes = YearMonth.from(inicio); !mes.isAfter(YearMonth.from(hoje)); mes = mes.plusMonths(1)) {
+					int dias = mes.equals(YearMonth.from(hoje)) ? hoje.getDayOfMonth() : mes.lengthOfMonth();
+					long idPeriodo = idsPeriodos.get(mes.getYear() - inicio.getYear());
+					for (int i = 0; i < lancamentosPorMes; i++) {
+						LocalDate data = mes.atDay(1 + aleatorio.nextInt(dias));
+						boolean despesa = aleatorio.nextInt(100) < 55;
+						List<Long> subcategorias = despesa ? idsDespesas : idsReceitas;
+						long id = proximoId++;
+						adicionarMovimento(movimento, id, data, valor(10, 5000), despesa,
+								idsContas.get(aleatorio.nextInt(idsContas.size())),
+								despesa ? "Pagamento" : "Recebimento");
+						lancamento.setLong(1, id);
+						lancamento.setLong(2, idPeriodo);
+						lancamento.setLong(3, subcategorias.get(aleatorio.nextInt(subcategorias.size())));
+						lancamento.addBatch();
+						pendentes++;
+					}
+					// Como o MovimentoServiceImpl: débito na origem e crédito espelhado no
+					// destino, um apontando para o outro
+					for (int i = 0; idsContas.size() > 1 && i < transferenciasPorMes; i++) {
+						LocalDate data = mes.atDay(1 + aleatorio.nextInt(dias));
+						BigDecimal valor = valor(100, 20000);
+						int origem = aleatorio.nextInt(idsContas.size());
+						int destino = (origem + 1 + aleatorio.nextInt(idsContas.size() - 1)) % idsContas.size();
+						long idDebito = proximoId++;
+						long idCredito = proximoId++;
+						adicionarMovimento(movimento, idDebito, data, valor, true, idsContas.get(origem),
+								"Transferência");
+						adicionarMovimento(movimento, idCredito, data, valor, false, idsContas.get(destino),
+								"Transferência");
+						transferencia.setLong(1, idDebito);
+						transferencia.setLong(2, idsContas.get(destino));
+						transferencia.setNull(3, Types.BIGINT);
+						transferencia.addBatch();
+						transferencia.setLong(1, idCredito);
+						transferencia.setLong(2, idsContas.get(origem));
+						transferencia.setLong(3, idDebito);
+						transferencia.addBatch();
+						pendentes += 2;
+					}
+					if (pendentes >= LINHAS_POR_LOTE) {
+						executarLotes(movimento, lancamento, transferencia);
+						pendentes = 0;
+					}
+				}
+				executarLotes(movimento, lancamento, transferencia);
+			}
+			try (Statement update = conexao.createStatement()) {
+				// O débito só pode apontar para o crédito depois que este existe
+				update.executeUpdate(
+						"update transferencias set idMovimentoInverso = idMovimento + 1 where idMovimentoInverso is null and idContaInversa in "
+								+ contasSql());
+				// Saldo atual coerente com os movimentos, como a aplicação manteria
+				update.executeUpdate(
+						"update contas c set saldoAtual = saldoInicial + coalesce((select sum(case when m.reducao then -m.valor else m.valor end) from movimentos m where m.idConta = c.idConta), 0) where c.idCondominio = "
+								+ idCondominio);
+			}
+		}
+
+		private void adicionarMovimento(PreparedStatement movimento, long id, LocalDate data, BigDecimal valor,
+				boolean reducao, long idConta, String descricao) throws SQLException {
+			movimento.setLong(1, id);
+			movimento.setDate(2, Date.valueOf(data));
+			movimento.setBigDecimal(3, valor);
+			movimento.setString(4, String.valueOf(id));
+			movimento.setString(5, descricao + " sintético");
+			movimento.setBoolean(6, reducao);
+			movimento.setLong(7, idConta);
+			movimento.addBatch();
+		}
+
+		private void inserirCobrancas() throws SQLException {
+			// Uma Cobrança ordinária por Moradia e por mês, rateada pela fração ideal;
+			// as recentes têm mais chance de estarem em aberto
+			LocalDate hoje = referencia;
+			BigDecimal arrecadacao = valor(20000, 200000);
+			long proximoId = proximoId("cobrancas", "idCobranca");
+			try (PreparedStatement insert = conexao.prepareStatement(
+					"insert into cobrancas (idCobranca, idMoradia, motivoEmissao, numero, dataEmissao, dataVencimento, valor, desconto, abatimento, outrasDeducoes, jurosMora, multa, outrosAcrescimos, total, percentualJurosMes, percentualMulta, situacao, dataRecebimento, motivoBaixa, idCondominio) values (?, ?, 'O', ?, ?, ?, ?, 0, 0, 0, 0, 0, 0, ?, 1, 2, 'N', ?, ?, ?)")) {
+				int pendentes = 0;
+				for (YearMonth mes = YearMonth.from(inicio); !mes.isAfter(YearMonth.from(hoje)); mes = mes.plusMonths(1)) {
+					LocalDate vencimento = mes.atDay(10);
+					long mesesAtras = mes.until(YearMonth.from(hoje), ChronoUnit.MONTHS);
+					for (int m = 0; m < idsMoradias.size(); m++) {
+						BigDecimal valor = arrecadacao.multiply(BigDecimal.valueOf(fracoes.get(m)))
+								.divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_EVEN);
+						boolean aberta = vencimento.isAfter(hoje)
+								|| aleatorio.nextInt(100) < (mesesAtras < 6 ? 12 : 2);
+						insert.setLong(1, proximoId++);
+						insert.setLong(2, idsMoradias.get(m));
+						insert.setString(3, String.format("%d%02d", mes.getYear(), mes.getMonthValue()));
+						insert.setDate(4, Date.valueOf(vencimento.minusDays(10)));
+						insert.setDate(5, Date.valueOf(vencimento));
+						insert.setBigDecimal(6, valor);
+						insert.setBigDecimal(7, valor);
+						if (aberta) {
+							insert.setNull(8, Types.DATE);
+							insert.setNull(9, Types.CHAR);
+						} else {
+							insert.setDate(8, Date.valueOf(vencimento.minusDays(aleatorio.nextInt(8))));
+							insert.setString(9, "N");
+						}
+						insert.setLong(10, idCondominio);
+						insert.addBatch();
+						if (++pendentes == LINHAS_POR_LOTE) {
+							insert.executeBatch();
+							pendentes = 0;
+						}
+					}
+				}
+				insert.executeBatch();
+			}
+		}
+
+		private String contasSql() {
+			StringBuilder sql = new StringBuilder("(");
+			for (Long idConta : idsContas) {
+				sql.append(sql.length() > 1 ? ", " : "").append(idConta);
+			}
+			return sql.append(")").toString();
+		}
+
+		private long proximoId(String tabela, String coluna) throws SQLException {
+			try (Statement consulta = conexao.createStatement();
+					ResultSet resultado = consulta
+							.executeQuery("select coalesce(max(" + coluna + "), 0) from " + tabela)) {
+				resultado.next();
+				return resultado.getLong(1) + 1;
+			}
+		}
+
+	}
+
+	private BigDecimal valor(int minimo, int maximo) {
+		return BigDecimal.valueOf(minimo * 100L + aleatorio.nextInt((maximo - minimo) * 100), 2);
+	}
+
+	private static long executarComChave(PreparedStatement insert) throws SQLException {
+		insert.executeUpdate();
+		try (ResultSet chaves = insert.getGeneratedKeys()) {
+			chaves.next();
+			return chaves.getLong(1);
+		}
+	}
+
+	private static void executarLotes(PreparedStatement... lotes) throws SQLException {
+		for (PreparedStatement lote : lotes) {
+			lote.executeBatch();
+		}
+	}
+
+	public void setCondominios(int condominios) {
+		this.condominios = condominios;
+	}
+
+	public void setBlocos(int blocos) {
+		this.blocos = blocos;
+	}
+
+	public void setMoradiasPorBloco(int moradiasPorBloco) {
+		this.moradiasPorBloco = moradiasPorBloco;
+	}
+
+	public void setContas(int contas) {
+		this.contas = contas;
+	}
+
+	public void setGruposPorTipo(int gruposPorTipo) {
+		this.gruposPorTipo = gruposPorTipo;
+	}
+
+	public void setSubcategoriasPorGrupo(int subcategoriasPorGrupo) {
+		this.subcategoriasPorGrupo = subcategoriasPorGrupo;
+	}
+
+	public void setAnos(int anos) {
+		this.anos = anos;
+	}
+
+	public void setLancamentosPorMes(int lancamentosPorMes) {
+		this.lancamentosPorMes = lancamentosPorMes;
+	}
+
+	public void setTransferenciasPorMes(int transferenciasPorMes) {
+		this.transferenciasPorMes = transferenciasPorMes;
+	}
+
+	/**
+	 * @param senhaSindico
+	 *            Senha já codificada pelo PasswordEncoder da aplicação (por
+	 *            exemplo "{noop}sindico" ou um hash "{bcrypt}...")
+	 */
+	public void setSenhaSindico(String senhaSindico) {
+		this.senhaSindico = senhaSindico;
+	}
+
+	/**
+	 * @param referencia
+	 *            O "hoje" da geração: os anos gerados terminam nele, e as
+	 *            Cobranças que vencem depois dele ficam em aberto. Por padrão,
+	 *            REFERENCIA_PADRAO.
+	 */
+	public void setReferencia(LocalDate referencia) {
+		this.referencia = referencia;
+	}
+
+}
@@ -0,0 +1,255 @@
+package app.condominio.dao;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+
+import app.condominio.ConsultasSql;
+import app.condominio.TesteSindico;
+import app.condominio.dao.ContadorConsultas.Contagem;
+import app.condominio.domain.Bloco;
+import app.condominio.domain.Categoria;
+import app.condominio.domain.Condominio;
+import app.condominio.domain.Conta;
+import app.condominio.domain.Moradia;
+import app.condominio.domain.Periodo;
+import app.condominio.domain.Subcategoria;
+import app.condominio.domain.enums.MotivoEmissao;
+import app.condominio.service.EncargosService;
+import app.condominio.service.SaldoMensalService;
+
+/**
+ * Executa EXPLAIN, no MySQL do BancoTeste, sobre o SQL que o Hibernate realmente gera para as
+ * páginas do síndico, as rotinas agendadas e as validações dos DAOs, e falha
+ * para cada tabela lida por varredura completa (type=ALL).
+ * <p>
+ * O ContadorConsultas dá as formas de comando de cada operação; o comando com
+ * os valores usados vem do histórico do performance_schema (o Connector/J
+ * envia os parâmetros já no texto), localizado pela mesma forma.
+ */
+public class PlanosConsultasTest extends TesteSindico {
+
+	private static final Pattern ONDE = Pattern.compile("\\bwhere\\b", Pattern.CASE_INSENSITIVE);
+
+	private static boolean analisado;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ContadorConsultas contadorConsultas;
+
+	@Autowired
+	private SaldoMensalService saldoMensalService;
+
+	@Autowired
+	private EncargosService encargosService;
+
+	@Autowired
+	private CondominioDao condominioDao;
+
+	@Autowired
+	private ContaDao contaDao;
+
+	@Autowired
+	private BlocoDao blocoDao;
+
+	@Autowired
+	private MoradiaDao moradiaDao;
+
+	@Autowired
+	private CategoriaDao categoriaDao;
+
+	@Autowired
+	private SubcategoriaDao subcategoriaDao;
+
+	@Autowired
+	private PeriodoDao periodoDao;
+
+	@Autowired
+	private OrcamentoDao orcamentoDao;
+
+	@Autowired
+	private SaldoMensalDao saldoMensalDao;
+
+	@Autowired
+	private CobrancaDao cobrancaDao;
+
+	@Autowired
+	private PessoaFisicaDao pessoaFisicaDao;
+
+	@Autowired
+	private PessoaJuridicaDao pessoaJuridicaDao;
+
+	@Autowired
+	private UsuarioDao usuarioDao;
+
+	@BeforeEach
+	public void analisar() throws Exception {
+		synchronized (PlanosConsultasTest.class) {
+			if (analisado) {
+				return;
+			}
+			// Estatísticas atualizadas depois da geração, para que o otimizador veja
+			// a seletividade real dos índices
+			for (String tabela : jdbcTemplate.queryForList(
+					"select table_name from information_schema.tables where table_schema = database() and table_type = 'BASE TABLE'",
+					String.class)) {
+				jdbcTemplate.execute("analyze table " + tabela);
+			}
+			analisado = true;
+		}
+	}
+
+	@Test
+	public void paginasSemVarreduraCompleta() throws Exception {
+		Map<String, List<String>> varreduras = new LinkedHashMap<>();
+		for (String url : new String[] { "/sindico", "/sindico/condominio/cadastro", "/sindico/contas",
+				"/sindico/blocos", "/sindico/moradias", "/sindico/pessoas", "/sindico/categorias",
+				"/sindico/subcategorias", "/sindico/periodos", "/sindico/orcamentos", "/sindico/cobrancas",
+				"/sindico/cobrancas?apos=", "/sindico/movimentos", "/sindico/movimentos?apos=",
+				"/sindico/relatorios/orcamento" }) {
+			limparHistorico();
+			verificar(url, ConsultasSql.contagem(abrir(url)), varreduras);
+		}
+		LocalDate fim = REFERENCIA.withDayOfMonth(1).minusDays(1);
+		for (String url : new String[] { "/sindico/relatorios/livroCaixa", "/sindico/relatorios/balancete",
+				"/sindico/relatorios/inadimplencia" }) {
+			limparHistorico();
+			MvcResult resultado = mockMvc
+					.perform(post(url).with(sindico()).with(csrf()).param("inicio", fim.minusYears(1).toString())
+							.param("fim", fim.toString()))
+					.andExpect(status().isOk()).andReturn();
+			verificar(url, ConsultasSql.contagem(resultado), varreduras);
+		}
+		assertTrue(varreduras.isEmpty(), "Varreduras completas: " + varreduras);
+	}
+
+	@Test
+	public void rotinasSemVarreduraCompleta() throws Exception {
+		Map<String, List<String>> varreduras = new LinkedHashMap<>();
+		executar("EncargosService.atualizarVencidas", encargosService::atualizarVencidas, varreduras);
+		executar("SaldoMensalService.fecharMes", () -> saldoMensalService.fecharMes(YearMonth.from(REFERENCIA)),
+				varreduras);
+		executar("SaldoMensalService.reconstruir", saldoMensalService::reconstruir, varreduras);
+		assertTrue(varreduras.isEmpty(), "Varreduras completas: " + varreduras);
+	}
+
+	@Test
+	public void validacoesSemVarreduraCompleta() throws Exception {
+		Condominio condominio = condominioDao.findById(idCondominio()).get();
+		Conta conta = contaDao.findAllByCondominioOrderBySiglaAsc(condominio).get(0);
+		List<Bloco> blocos = blocoDao.findAllByCondominioOrderBySiglaAsc(condominio);
+		Moradia moradia = moradiaDao.findAllByBlocoInOrderByBlocoAscSiglaAsc(blocos).get(0);
+		List<Categoria> categorias = categoriaDao.findAllByCondominioOrderByOrdemAsc(condominio);
+		Subcategoria subcategoria = subcategoriaDao.findAllByCategoriaPaiInOrderByCategoriaPai_OrdemAscDescricao(categorias)
+				.get(0);
+		Periodo periodo = periodoDao.findAllByCondominioOrderByInicioDesc(condominio).get(0);
+
+		Map<String, List<String>> varreduras = new LinkedHashMap<>();
+		executar("ContaDao.existsBySiglaAndCondominio", () -> contaDao.existsBySiglaAndCondominio("ZZ", condominio),
+				varreduras);
+		executar("BlocoDao.existsBySiglaAndCondominio", () -> blocoDao.existsBySiglaAndCondominio("ZZ", condominio),
+				varreduras);
+		executar("MoradiaDao.existsBySiglaAndBloco", () -> moradiaDao.existsBySiglaAndBloco("ZZ", blocos.get(0)),
+				varreduras);
+		executar("CategoriaDao.existsByOrdemAndCondominio",
+				() -> categoriaDao.existsByOrdemAndCondominio("9", condominio), varreduras);
+		executar("SubcategoriaDao.existsByDescricaoAndCategoriaPai",
+				() -> subcategoriaDao.existsByDescricaoAndCategoriaPai("ZZ", categorias.get(0)), varreduras);
+		executar("PeriodoDao.findOneByCondominioAndInicioLessThanEqualAndFimGreaterThanEqual",
+				() -> periodoDao.findOneByCondominioAndInicioLessThanEqualAndFimGreaterThanEqual(condominio,
+						REFERENCIA, REFERENCIA),
+				varreduras);
+		executar("OrcamentoDao.findOneByPeriodoAndSubcategoria",
+				() -> orcamentoDao.findOneByPeriodoAndSubcategoria(periodo, subcategoria), varreduras);
+		executar("SaldoMensalDao.findFirstByContaAndMesBeforeOrderByMesDesc",
+				() -> saldoMensalDao.findFirstByContaAndMesBeforeOrderByMesDesc(conta, REFERENCIA), varreduras);
+		executar("CobrancaDao.existsByMoradiaAndMotivoEmissaoAndNumeroAndParcela",
+				() -> cobrancaDao.existsByMoradiaAndMotivoEmissaoAndNumeroAndParcela(moradia, MotivoEmissao.O,
+						"000000", null),
+				varreduras);
+		executar("PessoaFisicaDao.existsByCpfAndCondominio",
+				() -> pessoaFisicaDao.existsByCpfAndCondominio("00000000000", condominio), varreduras);
+		executar("PessoaJuridicaDao.existsByCnpjAndCondominio",
+				() -> pessoaJuridicaDao.existsByCnpjAndCondominio("00000000000000", condominio), varreduras);
+		executar("CondominioDao.existsByCnpj", () -> condominioDao.existsByCnpj("00000000000000"), varreduras);
+		executar("UsuarioDao.findOneByUsername", () -> usuarioDao.findOneByUsername("ninguem"), varreduras);
+		assertTrue(varreduras.isEmpty(), "Varreduras completas: " + varreduras);
+	}
+
+	private void executar(String nome, Runnable operacao, Map<String, List<String>> varreduras) {
+		limparHistorico();
+		contadorConsultas.iniciar();
+		Contagem contagem;
+		try {
+			operacao.run();
+		} finally {
+			contagem = contadorConsultas.encerrar();
+		}
+		verificar(nome, contagem, varreduras);
+	}
+
+	private void limparHistorico() {
+		jdbcTemplate.execute("truncate table performance_schema.events_statements_history_long");
+	}
+
+	/**
+	 * Localiza no histórico o comando executado de cada forma contada e registra
+	 * as tabelas que o seu plano lê por inteiro, nos comandos com where. Uma
+	 * forma sem comando no histórico também é registrada: não pôde ser
+	 * verificada.
+	 */
+	private void verificar(String nome, Contagem contagem, Map<String, List<String>> varreduras) {
+		Set<String> pendentes = new TreeSet<>();
+		for (String forma : contagem.getFormas()) {
+			if (forma.regionMatches(true, 0, "select", 0, 6) || forma.regionMatches(true, 0, "update", 0, 6)
+					|| forma.regionMatches(true, 0, "delete", 0, 6)) {
+				pendentes.add(comparavel(forma));
+			}
+		}
+		List<String> executados = jdbcTemplate.queryForList(
+				"select sql_text from performance_schema.events_statements_history_long where sql_text is not null order by event_id desc",
+				String.class);
+		for (String sql : executados) {
+			String forma = comparavel(ContadorConsultas.forma(sql));
+			// Sem where, a leitura da tabela inteira é a intenção (como o findAll
+			// das Contas no fechamento mensal)
+			if (!pendentes.remove(forma) || !ONDE.matcher(sql).find()) {
+				continue;
+			}
+			for (Map<String, Object> linha : jdbcTemplate.queryForList("explain " + sql)) {
+				if ("ALL".equals(linha.get("type"))) {
+					varreduras.computeIfAbsent(nome, chave -> new ArrayList<>())
+							.add(linha.get("table") + " (" + linha.get("rows") + " linhas) em " + sql);
+				}
+			}
+		}
+		for (String forma : pendentes) {
+			varreduras.computeIfAbsent(nome, chave -> new ArrayList<>()).add("não encontrado no histórico: " + forma);
+		}
+	}
+
+	// O Connector/J escreve um parâmetro nulo como null, e o Hibernate como ?
+	private static String comparavel(String forma) {
+		return forma.replaceAll("(?i)\\bnull\\b", "?");
+	}
+
+}